@@ -0,0 +1,86 @@
+package com.skillfive.backend.benchmark;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.service.AiSearchMetrics;
+import com.skillfive.backend.service.AiSessionManager;
+import com.skillfive.backend.service.ai.SearchFeatures;
+import com.skillfive.backend.service.ai.SearchPipeline;
+import com.skillfive.backend.service.impl.EnhancedAiServiceImpl;
+import com.skillfive.backend.utils.GameUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnhancedAiServiceImpl.getBestMove 各难度基准测试
+ * 不启动Spring容器，按application.yml的默认配置手工装配服务；不依赖数据库的getBestMove路径
+ * 每次调用使用临时会话，置换表从空开始、不使用跨对局局面缓存，测得的是单步的冷启动耗时
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiServiceBenchmark {
+
+    private static final int CORPUS_SIZE = 16;
+
+    @Param({"1", "2", "3"})
+    public int difficulty;
+
+    @Param({"20"})
+    public int stones;
+
+    // 困难难度的时间预算，固定深度对比时可调大
+    @Param({"1000"})
+    public long hardTimeBudgetMs;
+
+    private ForkJoinPool searchPool;
+    private EnhancedAiServiceImpl aiService;
+    private String[] boards;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        // 默认配置，去掉技能规划，困难难度使用参数给定的时间预算
+        AiProperties properties = new AiProperties();
+        properties.setDefaultDifficulty(difficulty);
+        properties.getSkillSearch().setEnabled(false);
+        properties.getDifficulty().getHard().setTimeBudgetMs(hardTimeBudgetMs);
+        // 不使用开局库和局面缓存，测的是完整搜索
+        SearchPipeline pipeline = new SearchPipeline(searchPool, SearchFeatures.DEFAULT, new Random(1));
+        aiService = new EnhancedAiServiceImpl(null, null, new AiSessionManager(properties),
+                new AiSearchMetrics(new SimpleMeterRegistry()), properties.getDifficulty().toProfiles(), pipeline,
+                Runnable::run, null, null, properties);
+        boards = BenchmarkBoards.generate(CORPUS_SIZE, stones, 20240601L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        searchPool.shutdownNow();
+    }
+
+    @Benchmark
+    public int[] getBestMove() {
+        index = (index + 1) % CORPUS_SIZE;
+        // 语料中轮到黑方，AI执黑
+        return aiService.getBestMove(boards[index], GameUtil.PLAYER1, GameUtil.PLAYER2);
+    }
+}
@@ -0,0 +1,88 @@
+package com.skillfive.backend.benchmark;
+
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.PatternTable;
+import com.skillfive.backend.service.ai.SearchBoard;
+import com.skillfive.backend.utils.GameUtil;
+
+import java.util.Random;
+
+/**
+ * 基准测试用的中局棋盘语料
+ * 由固定种子的对弈生成：每步在候选点中按攻防棋型得分取前几名随机选一个，
+ * 得到的局面接近真实对局（棋子成片、有活三冲四），且没有任何一方已经成五
+ */
+public final class BenchmarkBoards {
+
+    private static final int TOP_MOVES = 3;
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * 生成count个恰好有stones颗棋子、轮到黑方（X）行棋的棋盘字符串
+     */
+    public static String[] generate(int count, int stones, long seed) {
+        if (stones % 2 != 0) {
+            throw new IllegalArgumentException("棋子数须为偶数，保证轮到黑方行棋");
+        }
+        Random random = new Random(seed);
+        String[] boards = new String[count];
+        for (int i = 0; i < count; ) {
+            String board = play(stones, random);
+            if (board != null) {
+                boards[i++] = board;
+            }
+        }
+        return boards;
+    }
+
+    private static String play(int stones, Random random) {
+        SearchBoard board = new SearchBoard();
+        int[] moves = new int[BitBoard.CELLS];
+        int[] best = new int[TOP_MOVES];
+        int[] bestScores = new int[TOP_MOVES];
+        int colour = BitBoard.BLACK;
+        board.make(BitBoard.toPosition(BitBoard.SIZE / 2, BitBoard.SIZE / 2), colour);
+        for (int placed = 1; placed < stones; placed++) {
+            colour = BitBoard.opponent(colour);
+            int count = board.generateMoves(moves);
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int pos = moves[i];
+                int score = PatternTable.scoreAt(board.getBoard(), pos, colour)
+                        + PatternTable.scoreAt(board.getBoard(), pos, BitBoard.opponent(colour));
+                // 插入排序保留得分最高的TOP_MOVES个
+                int j = Math.min(kept, TOP_MOVES - 1);
+                if (kept < TOP_MOVES) {
+                    kept++;
+                } else if (score <= bestScores[j]) {
+                    continue;
+                }
+                while (j > 0 && bestScores[j - 1] < score) {
+                    best[j] = best[j - 1];
+                    bestScores[j] = bestScores[j - 1];
+                    j--;
+                }
+                best[j] = pos;
+                bestScores[j] = score;
+            }
+            int pos = best[random.nextInt(kept)];
+            board.make(pos, colour);
+            if (board.checkWinAt(pos)) {
+                return null;
+            }
+        }
+        return toBoardString(board);
+    }
+
+    private static String toBoardString(SearchBoard board) {
+        char[] cells = new char[BitBoard.CELLS];
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            int colour = board.get(pos);
+            cells[pos] = colour == BitBoard.BLACK ? GameUtil.PLAYER1
+                    : colour == BitBoard.WHITE ? GameUtil.PLAYER2 : GameUtil.EMPTY;
+        }
+        return new String(cells);
+    }
+}
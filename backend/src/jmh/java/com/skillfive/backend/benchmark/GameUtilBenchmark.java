@@ -0,0 +1,75 @@
+package com.skillfive.backend.benchmark;
+
+import com.skillfive.backend.service.ai.BoardRules;
+import com.skillfive.backend.utils.GameUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字符串棋盘工具基准测试（GameUtil和BoardRules）
+ * 每次调用轮换语料中的下一个棋盘，避免只测到单一局面的分支预测结果
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameUtilBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"10", "30", "60"})
+    public int stones;
+
+    private String[] boards;
+    private int[] emptyCells;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        boards = BenchmarkBoards.generate(CORPUS_SIZE, stones, 20240601L);
+        emptyCells = new int[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            emptyCells[i] = boards[i].indexOf(GameUtil.EMPTY);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (CORPUS_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public boolean hasWinner() {
+        return BoardRules.hasWinner(boards[next()], GameUtil.PLAYER1);
+    }
+
+    @Benchmark
+    public int evaluateBoard() {
+        return BoardRules.evaluate(boards[next()], GameUtil.PLAYER2);
+    }
+
+    @Benchmark
+    public String makeMove() {
+        int i = next();
+        int pos = emptyCells[i];
+        return GameUtil.makeMove(boards[i], pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE, GameUtil.PLAYER1);
+    }
+
+    @Benchmark
+    public boolean isBoardFull() {
+        return GameUtil.isBoardFull(boards[next()]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.skillfive.backend.benchmark;
+
+import com.skillfive.backend.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket游戏更新消息的JSON编码基准测试
+ * 消息结构与GameServiceImpl.broadcastGameUpdate一致
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private Map<String, Object> message;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> gameData = new HashMap<>();
+        gameData.put("gameId", 12345L);
+        gameData.put("status", "IN_PROGRESS");
+        gameData.put("currentPlayer", 1);
+        gameData.put("boardState", BenchmarkBoards.generate(1, 30, 20240601L)[0]);
+        gameData.put("player1Id", 1001L);
+        gameData.put("player1Nickname", "玩家1001");
+        gameData.put("player1AvatarUrl", "https://via.placeholder.com/40");
+        gameData.put("player2Id", null);
+        gameData.put("player2Nickname", "AI");
+        gameData.put("player2AvatarUrl", "https://via.placeholder.com/40");
+
+        message = new ConcurrentHashMap<>();
+        message.put("type", "game_update");
+        message.put("data", gameData);
+    }
+
+    @Benchmark
+    public String encodeGameUpdate() {
+        return JsonUtil.toJson(message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.skillfive.backend.benchmark;
+
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.LineScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连线扫描基准测试：标量实现与Vector API实现对比
+ * vector参数需要同时启用vector profile（-P benchmark,vector）编译向量实现，fork的JVM加上
+ * --add-modules=jdk.incubator.vector（benchmark profile已默认追加），否则会在准备阶段失败
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineScannerBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"scalar", "vector"})
+    public String scanner;
+
+    @Param({"10", "60"})
+    public int stones;
+
+    private LineScanner lineScanner;
+    private int[][] own;
+    private int[][] empty;
+    private int[] points;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        lineScanner = "vector".equals(scanner) ? LineScanner.vector() : LineScanner.scalar();
+        if (lineScanner == null) {
+            throw new IllegalStateException("jdk.incubator.vector模块不可用");
+        }
+        String[] boards = BenchmarkBoards.generate(CORPUS_SIZE, stones, 20240601L);
+        own = new int[CORPUS_SIZE][];
+        empty = new int[CORPUS_SIZE][];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            own[i] = LineScanner.newRows();
+            empty[i] = LineScanner.newRows();
+            LineScanner.load(BitBoard.fromBoardString(boards[i]), BitBoard.BLACK, own[i], empty[i]);
+        }
+        points = LineScanner.newRows();
+    }
+
+    private int next() {
+        index = (index + 1) & (CORPUS_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public boolean hasFive() {
+        return lineScanner.hasFive(own[next()]);
+    }
+
+    @Benchmark
+    public int[] fivePoints() {
+        int i = next();
+        lineScanner.fivePoints(own[i], empty[i], points);
+        return points;
+    }
+}
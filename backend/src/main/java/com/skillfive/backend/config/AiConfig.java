@@ -0,0 +1,106 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.service.ai.DifficultyProfiles;
+import com.skillfive.backend.service.ai.OpeningBook;
+import com.skillfive.backend.service.ai.PositionCache;
+import com.skillfive.backend.service.ai.SearchPipeline;
+import com.skillfive.backend.service.ai.SearchFeatures;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * AI引擎配置
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AiProperties.class)
+public class AiConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiConfig.class);
+
+    /**
+     * 启动时从classpath加载开局库，资源不存在或格式错误时使用空开局库
+     */
+    @Bean
+    public OpeningBook openingBook(AiProperties properties) {
+        String resource = properties.getOpeningBook().getResource();
+        InputStream stream = AiConfig.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) {
+            logger.info("未找到开局库资源 {}，开局阶段将直接搜索", resource);
+            return OpeningBook.empty();
+        }
+        try (InputStream in = new BufferedInputStream(stream)) {
+            OpeningBook book = OpeningBook.read(in);
+            logger.info("开局库加载完成: {} 个局面", book.size());
+            return book;
+        } catch (IOException e) {
+            logger.warn("开局库加载失败: {}", e.getMessage());
+            return OpeningBook.empty();
+        }
+    }
+
+    /**
+     * 所有对局共享的局面结果缓存，命中/未命中次数发布为 ai.position-cache.hits / misses
+     */
+    @Bean
+    public PositionCache positionCache(AiProperties properties, MeterRegistry registry) {
+        PositionCache cache = new PositionCache(properties.getPositionCache().getSizeMb());
+        FunctionCounter.builder("ai.position-cache.hits", cache, PositionCache::getHits)
+                .description("局面缓存命中次数").register(registry);
+        FunctionCounter.builder("ai.position-cache.misses", cache, PositionCache::getMisses)
+                .description("局面缓存未命中次数").register(registry);
+        return cache;
+    }
+
+    /**
+     * 各难度的搜索配置，从 ai.difficulty.{easy|medium|hard}.* 读取，缺省项使用DifficultyProfiles.defaults()
+     */
+    @Bean
+    public DifficultyProfiles difficultyProfiles(AiProperties properties) {
+        DifficultyProfiles profiles = properties.getDifficulty().toProfiles();
+        for (int level = 1; level <= DifficultyProfiles.TIERS.length; level++) {
+            logger.info("难度{}（{}）搜索配置: {}", level, DifficultyProfiles.TIERS[level - 1], profiles.get(level));
+        }
+        return profiles;
+    }
+
+    /**
+     * Alpha-Beta选择性搜索开关，各项可单独关闭做A/B对比
+     */
+    @Bean
+    public SearchFeatures searchFeatures(AiProperties properties) {
+        AiProperties.Selective selective = properties.getSearch().getSelective();
+        SearchFeatures features = new SearchFeatures(selective.isPvs(), selective.isLateMoveReductions(),
+                selective.isNullMove(), selective.isThreatExtensions());
+        logger.info("选择性搜索配置: {}", features);
+        return features;
+    }
+
+    /**
+     * Alpha-Beta引擎的选点流程，正式对局使用；局面缓存关闭时不传入缓存
+     */
+    @Bean
+    public SearchPipeline searchPipeline(@Qualifier("aiSearchPool") ForkJoinPool searchPool,
+                                         SearchFeatures searchFeatures, OpeningBook openingBook,
+                                         PositionCache positionCache, AiProperties properties) {
+        AiProperties.Cache cache = properties.getPositionCache();
+        SearchPipeline pipeline = new SearchPipeline(searchPool, searchFeatures, new Random());
+        pipeline.setOpeningBook(openingBook, properties.getOpeningBook().getMaxStones());
+        pipeline.setPositionCache(cache.isEnabled() ? positionCache : null, cache.getMinDepth());
+        pipeline.setPonderMinDepth(properties.getPonder().getMinDepth());
+        return pipeline;
+    }
+}
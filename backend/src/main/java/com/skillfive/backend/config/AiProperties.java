@@ -0,0 +1,200 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.service.ai.DifficultyProfile;
+import com.skillfive.backend.service.ai.DifficultyProfiles;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * AI引擎配置（application.yml 中的 ai.*），各项含义见 application.yml
+ * 引擎选择（ai.engine）由 @ConditionalOnProperty 读取；自对弈比赛和开局库构建工具只在各自的profile下使用，
+ * 它们的 ai.tournament.* / ai.opening-book.build.* 不在此处
+ */
+@Data
+@ConfigurationProperties(prefix = "ai")
+public class AiProperties {
+
+    // 新对局的默认难度（1-3）
+    private int defaultDifficulty = 2;
+
+    private Debug debug = new Debug();
+    private Async async = new Async();
+    private Table transpositionTable = new Table();
+    private Session session = new Session();
+    private Difficulty difficulty = new Difficulty();
+    private Search search = new Search();
+    private ThreatSolver threatSolver = new ThreatSolver();
+    private Book openingBook = new Book();
+    private Cache positionCache = new Cache();
+    private Ponder ponder = new Ponder();
+    private SkillSearch skillSearch = new SkillSearch();
+    private Analysis analysis = new Analysis();
+    private Mcts mcts = new Mcts();
+    private ThinkDelay thinkDelay = new ThinkDelay();
+
+    @Data
+    public static class Debug {
+        private boolean searchStats = false;
+    }
+
+    @Data
+    public static class Async {
+        private int corePoolSize = 2;
+        private int maxPoolSize = 5;
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Table {
+        private int sizeMb = 4;
+        private int shallowSizeKb = 256;
+    }
+
+    @Data
+    public static class Session {
+        private long idleTimeoutMs = 1_800_000L;
+        private int maxSessions = 1000;
+    }
+
+    /**
+     * 各难度的搜索配置，未配置的项使用DifficultyProfiles.defaults()
+     */
+    @Data
+    public static class Difficulty {
+        private Tier easy = Tier.of(DifficultyProfiles.defaults().get(1));
+        private Tier medium = Tier.of(DifficultyProfiles.defaults().get(2));
+        private Tier hard = Tier.of(DifficultyProfiles.defaults().get(3));
+
+        public DifficultyProfiles toProfiles() {
+            return new DifficultyProfiles(easy.toProfile(1), medium.toProfile(2), hard.toProfile(3));
+        }
+    }
+
+    @Data
+    public static class Tier {
+        private int maxDepth;
+        private long nodeBudget;
+        private long timeBudgetMs;
+        private int candidateWidth;
+        private int randomness;
+        private int threads;
+        private boolean threatSearch;
+
+        static Tier of(DifficultyProfile profile) {
+            Tier tier = new Tier();
+            tier.setMaxDepth(profile.getMaxDepth());
+            tier.setNodeBudget(profile.getNodeBudget());
+            tier.setTimeBudgetMs(profile.getTimeBudgetMs());
+            tier.setCandidateWidth(profile.getCandidateWidth());
+            tier.setRandomness(profile.getRandomness());
+            tier.setThreads(profile.getThreads());
+            tier.setThreatSearch(profile.isThreatSearch());
+            return tier;
+        }
+
+        DifficultyProfile toProfile(int level) {
+            return new DifficultyProfile(level, maxDepth, nodeBudget, timeBudgetMs, candidateWidth, randomness,
+                    threads, threatSearch);
+        }
+    }
+
+    @Data
+    public static class Search {
+        private Parallel parallel = new Parallel();
+        private Selective selective = new Selective();
+    }
+
+    @Data
+    public static class Parallel {
+        // 0表示使用全部CPU核心
+        private int poolSize = 0;
+    }
+
+    @Data
+    public static class Selective {
+        private boolean pvs = true;
+        private boolean lateMoveReductions = true;
+        private boolean nullMove = true;
+        private boolean threatExtensions = false;
+    }
+
+    @Data
+    public static class ThreatSolver {
+        private int nodeLimit = 20000;
+        private int maxDepth = 12;
+    }
+
+    @Data
+    public static class Book {
+        private String resource = "ai/opening-book.bin";
+        private int maxStones = 8;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private int sizeMb = 16;
+        private int minDepth = 4;
+        // 为空时不读写磁盘文件
+        private String file = "";
+        private boolean saveOnShutdown = false;
+    }
+
+    @Data
+    public static class Ponder {
+        private boolean enabled = false;
+        private int threads = 1;
+        private int queueCapacity = 16;
+        private long maxMs = 30000;
+        private int minDepth = 4;
+    }
+
+    @Data
+    public static class SkillSearch {
+        private boolean enabled = true;
+        private int targetLimit = 4;
+        private int depth = 4;
+        private long timeBudgetMs = 1000;
+    }
+
+    @Data
+    public static class Analysis {
+        private int threads = 1;
+        private int queueCapacity = 4;
+        private long minIntervalMs = 1000;
+        private int maxLines = 5;
+        private int defaultLines = 3;
+        private int maxDepth = 10;
+        private long timeBudgetMs = 5000;
+        private long nodeBudget = 0;
+        private int tableSizeMb = 4;
+    }
+
+    @Data
+    public static class Mcts {
+        private Iterations iterations = new Iterations();
+        private long timeBudgetMs = 1000;
+        private int threads = 4;
+        private long maxNodes = 200000;
+        private double exploration = 1.4;
+        private int maxChildren = 20;
+        private int expandThreshold = 1;
+        private int maxPlayoutPlies = 60;
+    }
+
+    /**
+     * MCTS各难度每步的模拟次数，0表示只受时间预算限制
+     */
+    @Data
+    public static class Iterations {
+        private long easy = 500;
+        private long medium = 5000;
+        private long hard = 0;
+    }
+
+    @Data
+    public static class ThinkDelay {
+        private long minMs = 500;
+        private long maxMs = 1500;
+    }
+}
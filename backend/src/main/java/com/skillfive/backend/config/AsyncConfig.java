@@ -6,18 +6,76 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.task.TaskExecutor;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * AI回合线程池，队列有界，已满时拒绝新的AI回合
+     */
     @Bean("aiTaskExecutor")
-    public TaskExecutor aiTaskExecutor() {
+    public ThreadPoolTaskExecutor aiTaskExecutor(AiProperties properties) {
+        AiProperties.Async async = properties.getAsync();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(async.getCorePoolSize());
+        executor.setMaxPoolSize(async.getMaxPoolSize());
+        executor.setQueueCapacity(async.getQueueCapacity());
         executor.setThreadNamePrefix("AI-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 后台思考（Pondering）线程池，最低优先级，只使用空闲CPU
+     * 队列已满时新的思考直接放弃
+     */
+    @Bean("aiPonderExecutor")
+    public TaskExecutor aiPonderExecutor(AiProperties properties) {
+        AiProperties.Ponder ponder = properties.getPonder();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ponder.getThreads());
+        executor.setMaxPoolSize(ponder.getThreads());
+        executor.setQueueCapacity(ponder.getQueueCapacity());
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setDaemon(true);
+        executor.setThreadNamePrefix("AI-Ponder-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 提示/复盘分析线程池，最低优先级，与AI回合和并行搜索隔离，分析再多也不占用人机对战的线程
+     * 队列已满时拒绝新的分析
+     */
+    @Bean("aiAnalysisExecutor")
+    public ThreadPoolTaskExecutor aiAnalysisExecutor(AiProperties properties) {
+        AiProperties.Analysis analysis = properties.getAnalysis();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysis.getThreads());
+        executor.setMaxPoolSize(analysis.getThreads());
+        executor.setQueueCapacity(analysis.getQueueCapacity());
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setDaemon(true);
+        executor.setThreadNamePrefix("AI-Analysis-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 困难难度并行搜索专用线程池，与处理请求的线程池隔离
+     * pool-size为0时使用全部CPU核心
+     */
+    @Bean(name = "aiSearchPool", destroyMethod = "shutdown")
+    public ForkJoinPool aiSearchPool(AiProperties properties) {
+        int poolSize = properties.getSearch().getParallel().getPoolSize();
+        int parallelism = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("AI-Search-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
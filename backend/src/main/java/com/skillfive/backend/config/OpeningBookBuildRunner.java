@@ -0,0 +1,96 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.entity.GameRecord;
+import com.skillfive.backend.enums.GameMode;
+import com.skillfive.backend.repository.GameRecordRepository;
+import com.skillfive.backend.repository.GameRepository;
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.OpeningBook;
+import com.skillfive.backend.service.ai.OpeningBookBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 开局库构建工具
+ * 以 --spring.profiles.active=book-builder 启动时，读取所有对局记录的落子顺序（由GameRecordService在落子时写入），
+ * 统计获胜方的开局着法并写出二进制开局库，放入 src/main/resources/ai/ 后即可随应用加载。
+ * 技能模式的对局会被技能改动棋盘，落子顺序不能还原局面，不参与统计
+ */
+@Component
+@Profile("book-builder")
+public class OpeningBookBuildRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBookBuildRunner.class);
+
+    private final GameRecordRepository gameRecordRepository;
+    private final GameRepository gameRepository;
+    private final int maxPlies;
+    private final int minCount;
+    private final String output;
+
+    public OpeningBookBuildRunner(GameRecordRepository gameRecordRepository, GameRepository gameRepository,
+                                  @Value("${ai.opening-book.build.max-plies:8}") int maxPlies,
+                                  @Value("${ai.opening-book.build.min-count:2}") int minCount,
+                                  @Value("${ai.opening-book.build.output:opening-book.bin}") String output) {
+        this.gameRecordRepository = gameRecordRepository;
+        this.gameRepository = gameRepository;
+        this.maxPlies = maxPlies;
+        this.minCount = minCount;
+        this.output = output;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies, minCount);
+        for (GameRecord record : gameRecordRepository.findAll()) {
+            Game game = record.getGameId() != null ? gameRepository.findById(record.getGameId()).orElse(null) : null;
+            if (game != null && game.getMode() == GameMode.SKILL) {
+                continue;
+            }
+            int[] moves = OpeningBookBuilder.parseMoveRecords(record.getMoveRecords());
+            if (moves.length > 0) {
+                builder.addGame(moves, winnerColour(record, game));
+            }
+        }
+        OpeningBook book = builder.build();
+
+        Path path = Paths.get(output);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            book.write(out);
+        }
+        logger.info("开局库构建完成: {} 局对局, {} 个局面, 输出到 {}", builder.getGames(), book.size(),
+                path.toAbsolutePath());
+    }
+
+    /**
+     * 获胜方颜色：优先使用记录中的获胜者ID，人机对局中AI获胜时没有ID，再查对应Game的winner字段
+     */
+    private static int winnerColour(GameRecord record, Game game) {
+        if (record.getWinnerId() != null) {
+            if (record.getWinnerId().equals(record.getPlayer1Id())) {
+                return BitBoard.BLACK;
+            }
+            if (record.getWinnerId().equals(record.getPlayer2Id())) {
+                return BitBoard.WHITE;
+            }
+        }
+        if (game != null && "player1".equals(game.getWinner())) {
+            return BitBoard.BLACK;
+        }
+        if (game != null && "player2".equals(game.getWinner())) {
+            return BitBoard.WHITE;
+        }
+        return BitBoard.NONE;
+    }
+}
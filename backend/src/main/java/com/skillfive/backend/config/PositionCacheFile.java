@@ -0,0 +1,69 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.service.ai.PositionCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 局面缓存的磁盘文件
+ * 配置了 ai.position-cache.file 时，启动时从该文件预热缓存，关闭时（save-on-shutdown为true）写回，
+ * 重启后开局阶段和重置棋盘后的常见局面无需重新搜索
+ */
+@Component
+public class PositionCacheFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(PositionCacheFile.class);
+
+    private final PositionCache cache;
+    private final String file;
+    private final boolean saveOnShutdown;
+
+    public PositionCacheFile(PositionCache cache, AiProperties properties) {
+        this.cache = cache;
+        this.file = properties.getPositionCache().getFile() != null ? properties.getPositionCache().getFile() : "";
+        this.saveOnShutdown = properties.getPositionCache().isSaveOnShutdown();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (file.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(file);
+        if (!Files.exists(path)) {
+            logger.info("局面缓存文件 {} 不存在，从空缓存开始", path.toAbsolutePath());
+            return;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            logger.info("局面缓存预热完成: {} 个局面", cache.read(in));
+        } catch (IOException e) {
+            logger.warn("局面缓存预热失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (file.isBlank() || !saveOnShutdown) {
+            return;
+        }
+        Path path = Paths.get(file);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            cache.write(out);
+            logger.info("局面缓存已写出到 {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("局面缓存写出失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.service.ai.EngineSpec;
+import com.skillfive.backend.service.ai.OpeningBook;
+import com.skillfive.backend.service.ai.Tournament;
+import com.skillfive.backend.service.ai.TournamentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 自对弈比赛工具
+ * 以 --spring.profiles.active=tournament 启动时，按 ai.tournament.* 配置让两个引擎对弈并输出胜率和速度统计，
+ * 例如 --ai.tournament.first=alphabeta:depth=8 --ai.tournament.second=mcts:iterations=20000，
+ * alphabeta引擎加上book=true时使用应用加载的开局库。
+ * 引擎改动合入前用同一种子分别对比改动前后的配置
+ */
+@Component
+@Profile("tournament")
+public class TournamentRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TournamentRunner.class);
+
+    private final ForkJoinPool searchPool;
+    private final OpeningBook openingBook;
+    private final int bookMaxStones;
+    private final String first;
+    private final String second;
+    private final int games;
+    private final long moveTimeMs;
+    private final int parallelism;
+    private final long seed;
+    private final int openingStones;
+
+    public TournamentRunner(@Qualifier("aiSearchPool") ForkJoinPool searchPool, OpeningBook openingBook,
+                            AiProperties properties,
+                            @Value("${ai.tournament.first:alphabeta}") String first,
+                            @Value("${ai.tournament.second:mcts}") String second,
+                            @Value("${ai.tournament.games:100}") int games,
+                            @Value("${ai.tournament.move-time-ms:1000}") long moveTimeMs,
+                            @Value("${ai.tournament.parallelism:2}") int parallelism,
+                            @Value("${ai.tournament.seed:1}") long seed,
+                            @Value("${ai.tournament.opening-stones:2}") int openingStones) {
+        this.searchPool = searchPool;
+        this.openingBook = openingBook;
+        this.bookMaxStones = properties.getOpeningBook().getMaxStones();
+        this.first = first;
+        this.second = second;
+        this.games = games;
+        this.moveTimeMs = moveTimeMs;
+        this.parallelism = parallelism;
+        this.seed = seed;
+        this.openingStones = openingStones;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Tournament tournament = new Tournament(EngineSpec.parse(first), EngineSpec.parse(second), games, moveTimeMs,
+                parallelism, seed, openingStones, searchPool);
+        tournament.setOpeningBook(openingBook, bookMaxStones);
+        long start = System.currentTimeMillis();
+        TournamentResult result = tournament.run();
+        logger.info("自对弈比赛完成 - 用时: {} ms, 种子: {}, 每步: {} ms\n{}", System.currentTimeMillis() - start, seed,
+                moveTimeMs, result);
+    }
+}
@@ -3,6 +3,7 @@ package com.skillfive.backend.controller;
 import com.skillfive.backend.entity.Game;
 import com.skillfive.backend.enums.GameMode;
 import com.skillfive.backend.enums.GameType;
+import com.skillfive.backend.service.AiMoveDispatcher;
 import com.skillfive.backend.service.AiService;
 import com.skillfive.backend.service.GameService;
 import com.skillfive.backend.service.GameFlowService;
@@ -23,11 +24,14 @@ public class GameController {
     private final GameService gameService;
     private final AiService aiService;
     private final GameFlowService gameFlowService;
+    private final AiMoveDispatcher aiMoveDispatcher;
 
-    public GameController(GameService gameService, AiService aiService, GameFlowService gameFlowService) {
+    public GameController(GameService gameService, AiService aiService, GameFlowService gameFlowService,
+                          AiMoveDispatcher aiMoveDispatcher) {
         this.gameService = gameService;
         this.aiService = aiService;
         this.gameFlowService = gameFlowService;
+        this.aiMoveDispatcher = aiMoveDispatcher;
     }
 
     /**
@@ -183,7 +187,7 @@ public class GameController {
     }
 
     /**
-     * 获取AI移动（用于人机对战）
+     * 请求AI移动（用于人机对战），异步执行
      */
     @PostMapping("/ai-move")
     public ResponseEntity<Game> makeAiMove(@RequestBody Map<String, Object> request) {
@@ -199,24 +203,38 @@ public class GameController {
             return ResponseEntity.badRequest().body(null);
         }
         
-        // 执行AI移动
-        Game game = aiService.makeAiMove(gameId);
-        return ResponseEntity.ok(game);
+        // 在AI线程池中执行AI移动，完成后通过广播推送；这里返回当前局面
+        aiMoveDispatcher.dispatch(gameId);
+        return ResponseEntity.accepted().body(gameService.findById(gameId).orElse(null));
     }
     
     /**
-     * 设置AI难度
+     * 设置指定人机对局的AI难度，只影响该局；新对局的默认难度由 ai.default-difficulty 配置
      */
     @PostMapping("/ai-difficulty")
     public ResponseEntity<String> setAiDifficulty(@RequestBody Map<String, Object> request) {
         // 添加空值检查
-        if (request == null || request.get("difficulty") == null) {
-            return ResponseEntity.badRequest().body("缺少difficulty参数");
+        if (request == null || request.get("gameId") == null || request.get("difficulty") == null) {
+            return ResponseEntity.badRequest().body("缺少gameId或difficulty参数");
         }
-        
-        int difficulty = Integer.parseInt(request.get("difficulty").toString());
-        aiService.setDifficulty(difficulty);
-        return ResponseEntity.ok("AI难度已设置为: " + difficulty);
+
+        Long gameId;
+        int difficulty;
+        try {
+            gameId = Long.valueOf(request.get("gameId").toString());
+            difficulty = Integer.parseInt(request.get("difficulty").toString());
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("gameId或difficulty格式错误");
+        }
+        if (difficulty < 1 || difficulty > 3) {
+            return ResponseEntity.badRequest().body("difficulty必须在1到3之间");
+        }
+        Game game = gameService.findById(gameId).orElse(null);
+        if (game == null || game.getType() != GameType.VS_AI) {
+            return ResponseEntity.badRequest().body("游戏不存在或不是人机对战");
+        }
+        aiService.setDifficulty(gameId, difficulty);
+        return ResponseEntity.ok("游戏" + gameId + "的AI难度已设置为: " + difficulty);
     }
 
     /**
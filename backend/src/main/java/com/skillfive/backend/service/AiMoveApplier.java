@@ -0,0 +1,107 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.enums.GameStatus;
+import com.skillfive.backend.repository.GameRepository;
+import com.skillfive.backend.utils.GameUtil;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI着法落盘服务
+ * 两种AI引擎共用：把选出的着法落到对局上、判断胜负或平局、保存对局和棋谱，再广播游戏更新
+ */
+@Service
+public class AiMoveApplier {
+
+    private final GameRepository gameRepository;
+    private final GameService gameService;
+    private final GameRecordService gameRecordService;
+    private final AiSessionManager sessionManager;
+    private final Random random = new Random();
+
+    // 模拟思考的最短/最长展示时间
+    private final long minThinkMs;
+    private final long maxThinkMs;
+
+    public AiMoveApplier(GameRepository gameRepository, GameService gameService,
+                         GameRecordService gameRecordService, AiSessionManager sessionManager,
+                         AiProperties properties) {
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
+        this.gameRecordService = gameRecordService;
+        this.sessionManager = sessionManager;
+        this.minThinkMs = properties.getThinkDelay().getMinMs();
+        this.maxThinkMs = Math.max(minThinkMs, properties.getThinkDelay().getMaxMs());
+    }
+
+    /**
+     * AI（玩家2）在boardState上落子move，保存对局并记入棋谱；之后由调用方调用broadcast
+     *
+     * @param move AI选出的着法{行, 列}，为null表示没有空位可走，按平局结束对局
+     * @return 保存后的对局
+     */
+    public Game apply(Game game, String boardState, int[] move) {
+        Game savedGame;
+        if (move == null) {
+            finish(game, "draw");
+            savedGame = gameRepository.save(game);
+            gameRecordService.recordResult(savedGame);
+        } else {
+            char[] board = boardState.toCharArray();
+            board[move[0] * GameUtil.BOARD_SIZE + move[1]] = GameUtil.PLAYER2;
+            String newBoardState = new String(board);
+            game.setBoardState(newBoardState);
+
+            // 检查获胜条件
+            if (GameUtil.checkWinAt(newBoardState, move[0], move[1])) {
+                finish(game, "player2");
+            } else if (newBoardState.indexOf(GameUtil.EMPTY) == -1) {
+                finish(game, "draw");
+            } else {
+                game.setCurrentPlayer(1); // 切换回玩家1
+            }
+            savedGame = gameRepository.save(game);
+            gameRecordService.recordMove(savedGame, move[0], move[1]);
+        }
+        return savedGame;
+    }
+
+    /**
+     * 广播AI落子后的游戏更新
+     * 搜索用时不足模拟思考时间的部分延迟广播，不阻塞当前线程；
+     * 对局结束时广播之后再移除AI会话，调试模式的最后一次广播仍带本步统计
+     *
+     * @param startTime 开始计算的时间（System.currentTimeMillis()）
+     */
+    public void broadcast(Game savedGame, long startTime) {
+        boolean finished = savedGame.getStatus() == GameStatus.FINISHED;
+        long thinkMs = minThinkMs + (long) (random.nextDouble() * (maxThinkMs - minThinkMs));
+        long remainingMs = thinkMs - (System.currentTimeMillis() - startTime);
+        Runnable broadcast = () -> {
+            try {
+                gameService.broadcastGameUpdate(savedGame);
+            } finally {
+                if (finished) {
+                    sessionManager.evict(savedGame.getId());
+                }
+            }
+        };
+        if (remainingMs > 0) {
+            CompletableFuture.runAsync(broadcast, CompletableFuture.delayedExecutor(remainingMs, TimeUnit.MILLISECONDS));
+        } else {
+            broadcast.run();
+        }
+    }
+
+    private static void finish(Game game, String winner) {
+        game.setWinner(winner);
+        game.setStatus(GameStatus.FINISHED);
+        game.setEndTime(LocalDateTime.now());
+    }
+}
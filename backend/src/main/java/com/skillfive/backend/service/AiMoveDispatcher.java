@@ -0,0 +1,138 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.utils.JsonUtil;
+import com.skillfive.backend.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI走子调度服务
+ * 把人机对战中的AI回合交给aiTaskExecutor执行，不占用处理玩家请求的线程和数据库事务。
+ * 在事务中调用时等事务提交后再提交任务，保证AI线程读到玩家刚落的子；
+ * AI走子完成后由AiService广播游戏更新。
+ * 同一局同时只排队一个AI回合。线程池队列已满时稍后重试，重试仍被拒绝或AI走子失败时
+ * 向对局内的玩家推送错误消息，对局停在AI回合，客户端可通过 /ai-move 重新请求
+ */
+@Service
+public class AiMoveDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(AiMoveDispatcher.class);
+
+    // 被拒绝后的重试次数和间隔
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_DELAY_MS = 500;
+
+    private final AiService aiService;
+    private final WebSocketSessionManager webSocketSessionManager;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter dispatched;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Timer latency;
+
+    public AiMoveDispatcher(AiService aiService, WebSocketSessionManager webSocketSessionManager,
+                            @Qualifier("aiTaskExecutor") ThreadPoolTaskExecutor executor,
+                            MeterRegistry registry) {
+        this.aiService = aiService;
+        this.webSocketSessionManager = webSocketSessionManager;
+        this.executor = executor;
+        this.dispatched = Counter.builder("ai.moves.dispatched").description("提交的AI回合数").register(registry);
+        this.rejected = Counter.builder("ai.moves.rejected").description("线程池已满被拒绝的AI回合数").register(registry);
+        this.failed = Counter.builder("ai.moves.failed").description("执行失败的AI回合数").register(registry);
+        this.latency = Timer.builder("ai.moves.latency").description("从提交到AI落子完成的时间").register(registry);
+        Gauge.builder("ai.moves.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("等待执行的AI回合数").register(registry);
+    }
+
+    /**
+     * 调度一局的AI回合；当前线程有活动事务时在提交后调度
+     */
+    public void dispatch(Long gameId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(gameId);
+                }
+            });
+        } else {
+            submit(gameId);
+        }
+    }
+
+    private void submit(Long gameId) {
+        if (!pending.add(gameId)) {
+            log.debug("AI回合已在队列中 - 游戏ID: {}", gameId);
+            return;
+        }
+        execute(gameId, System.nanoTime(), 0);
+    }
+
+    /**
+     * 提交到线程池；被拒绝时保留排队标记，延迟后重试，超过重试次数时通知玩家
+     */
+    private void execute(Long gameId, long queuedAt, int attempt) {
+        try {
+            executor.execute(() -> run(gameId, queuedAt));
+            dispatched.increment();
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            if (attempt < MAX_RETRIES) {
+                log.warn("AI线程池已满，{} ms后重试AI回合 - 游戏ID: {}, 第{}次", RETRY_DELAY_MS, gameId, attempt + 1);
+                CompletableFuture.runAsync(() -> execute(gameId, queuedAt, attempt + 1),
+                        CompletableFuture.delayedExecutor(RETRY_DELAY_MS, TimeUnit.MILLISECONDS));
+            } else {
+                pending.remove(gameId);
+                log.error("AI线程池已满，放弃AI回合 - 游戏ID: {}", gameId);
+                notifyFailure(gameId, "AI繁忙，请稍后重新请求AI落子");
+            }
+        }
+    }
+
+    private void run(Long gameId, long queuedAt) {
+        try {
+            if (aiService.shouldAiMove(gameId)) {
+                aiService.makeAiMove(gameId);
+                log.info("AI移动执行完成 - 游戏ID: {}", gameId);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.error("AI移动执行失败 - 游戏ID: {}, 错误: {}", gameId, e.getMessage(), e);
+            notifyFailure(gameId, "AI落子失败，请重新请求AI落子");
+        } finally {
+            pending.remove(gameId);
+            latency.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 告知对局内的玩家AI回合没有完成，避免客户端一直等待
+     */
+    private void notifyFailure(Long gameId, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("type", "error");
+        error.put("gameId", gameId);
+        error.put("message", message);
+        error.put("timestamp", System.currentTimeMillis());
+        webSocketSessionManager.sendMessageToGame(String.valueOf(gameId), JsonUtil.toJson(error));
+    }
+}
@@ -0,0 +1,68 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.service.ai.SearchStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI搜索指标
+ * 把每步计算的统计发布为Micrometer指标，按引擎、难度和着法来源打标签：
+ * ai.search.time（思考时间）、ai.search.nodes、ai.search.depth、ai.search.cutoffs、
+ * ai.search.tt.hit.ratio（置换表命中率）和ai.search.candidates；
+ * 另外按搜索结束原因（depth/nodes/time/stopped）计数ai.search.limit，用于观察各难度预算是否够用。
+ * 可通过 /actuator/metrics 查看
+ */
+@Service
+public class AiSearchMetrics {
+
+    private final MeterRegistry registry;
+
+    public AiSearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 记录一步计算
+     */
+    public void record(SearchStats stats) {
+        String engine = stats.getEngine();
+        String difficulty = String.valueOf(stats.getDifficulty());
+        String source = stats.getSource().name().toLowerCase(Locale.ROOT);
+
+        // 同名同标签的指标由注册表缓存，重复builder.register只做一次查找
+        Timer.builder("ai.search.time")
+                .description("单步AI计算的墙钟时间")
+                .tags("engine", engine, "difficulty", difficulty, "source", source)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getWallNanos(), TimeUnit.NANOSECONDS);
+        summary("ai.search.nodes", "单步搜索的节点数", engine, difficulty, source).record(stats.getNodes());
+        summary("ai.search.depth", "单步搜索的完成深度", engine, difficulty, source).record(stats.getDepth());
+        summary("ai.search.cutoffs", "单步搜索的beta截断次数", engine, difficulty, source).record(stats.getCutoffs());
+        summary("ai.search.candidates", "根节点候选着法数", engine, difficulty, source).record(stats.getCandidates());
+        if (stats.getTtProbes() > 0) {
+            summary("ai.search.tt.hit.ratio", "置换表命中率", engine, difficulty, source).record(stats.getTtHitRate());
+        }
+        if (stats.getLimit() != null) {
+            Counter.builder("ai.search.limit")
+                    .description("按结束原因统计的Alpha-Beta搜索次数")
+                    .tags("engine", engine, "difficulty", difficulty, "limit", stats.getLimit().name().toLowerCase(Locale.ROOT))
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String engine, String difficulty,
+                                        String source) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags("engine", engine, "difficulty", difficulty, "source", source)
+                .register(registry);
+    }
+}
@@ -33,9 +33,17 @@ public interface AiService {
     boolean shouldAiMove(Long gameId);
     
     /**
-     * 设置AI难度
+     * 设置新对局的默认AI难度
      * 
      * @param difficulty 难度等级 (1-3)
      */
     void setDifficulty(int difficulty);
+    
+    /**
+     * 设置指定对局的AI难度
+     * 
+     * @param gameId 游戏ID
+     * @param difficulty 难度等级 (1-3)
+     */
+    void setDifficulty(Long gameId, int difficulty);
 }
\ No newline at end of file
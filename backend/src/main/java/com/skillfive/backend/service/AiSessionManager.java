@@ -0,0 +1,156 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.service.ai.AiSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * AI会话管理服务
+ * 按游戏ID保存每局的AI会话，对局结束时移除，长时间无访问的会话定期清理；
+ * 会话数达到上限时先移除最久未访问的会话。置换表按难度分配：困难难度用完整大小，简单/中等难度搜索浅、
+ * 节点预算小，只用小表。不关联对局的单次计算使用用完即弃的临时会话，不计入会话上限
+ */
+@Service
+public class AiSessionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AiSessionManager.class);
+
+    private final Map<Long, AiSession> sessions = new ConcurrentHashMap<>();
+
+    private volatile int defaultDifficulty;
+    private final IntUnaryOperator tableSizeKb;
+    private final long idleTimeoutMs;
+    private final int maxSessions;
+    private final int threatNodeLimit;
+    private final int threatMaxDepth;
+
+    public AiSessionManager(AiProperties properties) {
+        int tableSizeMb = properties.getTranspositionTable().getSizeMb();
+        int shallowTableSizeKb = properties.getTranspositionTable().getShallowSizeKb();
+        this.defaultDifficulty = properties.getDefaultDifficulty();
+        this.tableSizeKb = level -> level >= 3 ? tableSizeMb * 1024 : shallowTableSizeKb;
+        this.idleTimeoutMs = properties.getSession().getIdleTimeoutMs();
+        this.maxSessions = Math.max(1, properties.getSession().getMaxSessions());
+        this.threatNodeLimit = properties.getThreatSolver().getNodeLimit();
+        this.threatMaxDepth = properties.getThreatSolver().getMaxDepth();
+    }
+
+    /**
+     * 获取对局的AI会话，不存在时以默认难度创建
+     */
+    public AiSession getOrCreate(Long gameId) {
+        AiSession session = sessions.get(gameId);
+        if (session != null) {
+            return session;
+        }
+        if (sessions.size() >= maxSessions) {
+            evictOldest();
+        }
+        return sessions.computeIfAbsent(gameId, id -> createSession(id, defaultDifficulty));
+    }
+
+    /**
+     * 新建临时会话，用于没有游戏ID的单次计算，按默认难度计算；
+     * 会话不保存在管理器中，计算结束后随调用方一起回收，不会在线程池线程上长期占用置换表
+     */
+    public AiSession detached() {
+        return createSession(null, defaultDifficulty);
+    }
+
+    public AiSession find(Long gameId) {
+        return sessions.get(gameId);
+    }
+
+    /**
+     * 设置指定对局的AI难度
+     */
+    public void setDifficulty(Long gameId, int difficulty) {
+        if (isValidDifficulty(difficulty)) {
+            getOrCreate(gameId).setDifficulty(difficulty);
+        }
+    }
+
+    /**
+     * 设置新对局的默认难度，不影响已有会话
+     */
+    public void setDefaultDifficulty(int difficulty) {
+        if (isValidDifficulty(difficulty)) {
+            this.defaultDifficulty = difficulty;
+        }
+    }
+
+    public int getDefaultDifficulty() {
+        return defaultDifficulty;
+    }
+
+    /**
+     * 对局结束时移除会话
+     */
+    public void evict(Long gameId) {
+        AiSession session = gameId != null ? sessions.remove(gameId) : null;
+        if (session != null) {
+            session.stopPonder();
+            log.debug("移除AI会话 - 游戏ID: {}", gameId);
+        }
+    }
+
+    /**
+     * 对手落子时停止该局的后台思考，结果保留给接下来的AI走子
+     */
+    public void stopPondering(Long gameId) {
+        AiSession session = gameId != null ? sessions.get(gameId) : null;
+        if (session != null) {
+            session.stopPonder();
+        }
+    }
+
+    /**
+     * 定期清理长时间无访问的会话（对局被放弃或异常中断时）
+     */
+    @Scheduled(fixedDelayString = "${ai.session.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMs;
+        sessions.values().removeIf(session -> {
+            if (session.getLastAccess() >= threshold) {
+                return false;
+            }
+            session.stopPonder();
+            return true;
+        });
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 会话数达到上限时移除最久未访问的会话
+     */
+    private void evictOldest() {
+        Map.Entry<Long, AiSession> oldest = null;
+        for (Map.Entry<Long, AiSession> entry : sessions.entrySet()) {
+            if (oldest == null || entry.getValue().getLastAccess() < oldest.getValue().getLastAccess()) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null && sessions.remove(oldest.getKey(), oldest.getValue())) {
+            oldest.getValue().stopPonder();
+            log.info("AI会话数达到上限{}，移除最久未访问的会话 - 游戏ID: {}", maxSessions, oldest.getKey());
+        }
+    }
+
+    private AiSession createSession(Long gameId, int difficulty) {
+        return new AiSession(gameId, difficulty, tableSizeKb, threatNodeLimit, threatMaxDepth);
+    }
+
+    private boolean isValidDifficulty(int difficulty) {
+        return difficulty >= 1 && difficulty <= 3;
+    }
+}
@@ -0,0 +1,288 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.exception.BusinessException;
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.MultiPvSearch;
+import com.skillfive.backend.service.ai.SearchBoard;
+import com.skillfive.backend.service.ai.SearchFeatures;
+import com.skillfive.backend.utils.GameUtil;
+import com.skillfive.backend.utils.JsonUtil;
+import com.skillfive.backend.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 局面分析服务（提示/复盘）
+ * 对任意棋盘做多主要变例搜索，开始时推送开始消息，每完成一层把前N个着法、分数和主要变例
+ * 通过WebSocket推送给请求的用户，结束时再推送一条结束消息。分析在aiAnalysisExecutor上执行，与AI回合和并行搜索的线程池隔离。
+ * 每个用户同时只保留一个分析，新的分析取消旧的；两次开始之间有最小间隔，线程池队列已满时拒绝并计数
+ */
+@Service
+public class AnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisService.class);
+
+    private final WebSocketSessionManager webSocketSessionManager;
+    private final ThreadPoolTaskExecutor executor;
+    private final SearchFeatures searchFeatures;
+
+    // 用户ID到正在进行（或排队）的分析
+    private final Map<String, Analysis> running = new ConcurrentHashMap<>();
+    // 用户ID到最近一次开始分析的时间，超过最小间隔的记录定期清理
+    private final Map<String, Long> lastStarted = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final long minIntervalMs;
+    private final int maxLines;
+    private final int defaultLines;
+    private final int maxDepth;
+    private final long timeBudgetMs;
+    private final long nodeBudget;
+    private final int tableSizeMb;
+
+    private final Counter started;
+    private final Counter rejected;
+    private final Counter cancelled;
+    private final Timer duration;
+
+    public AnalysisService(WebSocketSessionManager webSocketSessionManager,
+                           @Qualifier("aiAnalysisExecutor") ThreadPoolTaskExecutor executor,
+                           SearchFeatures searchFeatures, MeterRegistry registry, AiProperties properties) {
+        AiProperties.Analysis analysis = properties.getAnalysis();
+        this.webSocketSessionManager = webSocketSessionManager;
+        this.executor = executor;
+        this.searchFeatures = searchFeatures;
+        this.minIntervalMs = analysis.getMinIntervalMs();
+        this.maxLines = Math.max(1, analysis.getMaxLines());
+        this.defaultLines = Math.max(1, Math.min(this.maxLines, analysis.getDefaultLines()));
+        this.maxDepth = analysis.getMaxDepth();
+        this.timeBudgetMs = analysis.getTimeBudgetMs();
+        this.nodeBudget = analysis.getNodeBudget();
+        this.tableSizeMb = analysis.getTableSizeMb();
+        this.started = Counter.builder("ai.analysis.started").description("开始的分析数").register(registry);
+        this.rejected = Counter.builder("ai.analysis.rejected").description("因频率限制或线程池已满被拒绝的分析数").register(registry);
+        this.cancelled = Counter.builder("ai.analysis.cancelled").description("被取消或被新分析替换的分析数").register(registry);
+        this.duration = Timer.builder("ai.analysis.duration").description("从提交到分析结束的时间").register(registry);
+        Gauge.builder("ai.analysis.running", running, Map::size).description("进行中和排队的分析数").register(registry);
+    }
+
+    /**
+     * 开始分析，结果异步推送给该用户
+     *
+     * @param boardState Game.boardState格式的棋盘
+     * @param player 行棋方符号，为null时按双方棋子数推断（黑先）
+     * @param lines 每层给出的着法数，为null时使用默认值，超过上限时截断
+     * @return 分析ID，推送的消息中带有该ID
+     */
+    public String start(String userId, String boardState, Character player, Integer lines) {
+        if (userId == null) {
+            throw new BusinessException("缺少用户ID");
+        }
+        if (boardState == null || boardState.length() != BitBoard.CELLS) {
+            throw new BusinessException("棋盘格式错误");
+        }
+        SearchBoard board = SearchBoard.fromBoardString(boardState);
+        if (board.getBoard().hasFive(BitBoard.BLACK) || board.getBoard().hasFive(BitBoard.WHITE) || board.isFull()) {
+            throw new BusinessException("对局已结束，无法分析");
+        }
+        int colour = player != null ? BitBoard.colourOf(player) : sideToMove(boardState);
+        if (colour == BitBoard.NONE) {
+            throw new BusinessException("行棋方错误: " + player);
+        }
+        int lineCount = lines == null ? defaultLines : Math.max(1, Math.min(maxLines, lines));
+
+        if (!tryAcquire(userId)) {
+            rejected.increment();
+            throw new BusinessException("分析请求过于频繁，请稍后再试");
+        }
+
+        Analysis analysis = new Analysis(userId, String.valueOf(sequence.incrementAndGet()));
+        analysis.search = new MultiPvSearch(board, colour, lineCount, maxDepth, timeBudgetMs, tableSizeMb,
+                iteration -> publish(analysis, iteration));
+        analysis.search.setFeatures(searchFeatures);
+        analysis.search.setNodeLimit(nodeBudget);
+
+        Analysis previous = running.put(userId, analysis);
+        if (previous != null) {
+            previous.search.cancel();
+            cancelled.increment();
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(analysis, queuedAt));
+        } catch (TaskRejectedException e) {
+            running.remove(userId, analysis);
+            rejected.increment();
+            log.warn("分析线程池已满，拒绝分析 - userId: {}", userId);
+            throw new BusinessException("分析服务繁忙，请稍后再试");
+        }
+        started.increment();
+        log.debug("开始分析 - userId: {}, analysisId: {}, 行棋方: {}, 着法数: {}",
+                userId, analysis.id, BitBoard.symbolOf(colour), lineCount);
+        return analysis.id;
+    }
+
+    /**
+     * 取消该用户正在进行的分析
+     *
+     * @return 是否有分析被取消
+     */
+    public boolean cancel(String userId) {
+        Analysis analysis = userId != null ? running.remove(userId) : null;
+        if (analysis == null) {
+            return false;
+        }
+        analysis.search.cancel();
+        cancelled.increment();
+        return true;
+    }
+
+    /**
+     * 用户断开连接时取消分析并清理频率限制记录
+     */
+    public void onDisconnect(String userId) {
+        if (userId != null) {
+            cancel(userId);
+            lastStarted.remove(userId);
+        }
+    }
+
+    /**
+     * 清理已超过最小间隔的频率限制记录，长时间保持连接的用户不必等到断开时才清理
+     */
+    @Scheduled(fixedDelayString = "${ai.session.sweep-interval-ms:60000}")
+    public void expireRateLimits() {
+        long now = System.currentTimeMillis();
+        lastStarted.forEach((userId, last) -> {
+            if (now - last >= minIntervalMs) {
+                lastStarted.remove(userId, last);
+            }
+        });
+    }
+
+    /**
+     * 距上次开始分析已超过最小间隔时占用本次机会
+     */
+    private boolean tryAcquire(String userId) {
+        long now = System.currentTimeMillis();
+        boolean[] acquired = new boolean[1];
+        lastStarted.compute(userId, (id, last) -> {
+            acquired[0] = last == null || now - last >= minIntervalMs;
+            return acquired[0] ? now : last;
+        });
+        return acquired[0];
+    }
+
+    int rateLimitEntries() {
+        return lastStarted.size();
+    }
+
+    /**
+     * 黑棋先行，双方棋子数相等时轮到黑棋
+     */
+    private static int sideToMove(String boardState) {
+        int black = 0;
+        int white = 0;
+        for (int i = 0; i < boardState.length(); i++) {
+            char c = boardState.charAt(i);
+            if (c == GameUtil.PLAYER1) {
+                black++;
+            } else if (c == GameUtil.PLAYER2) {
+                white++;
+            }
+        }
+        return black > white ? BitBoard.WHITE : BitBoard.BLACK;
+    }
+
+    private void run(Analysis analysis, long queuedAt) {
+        MultiPvSearch search = analysis.search;
+        try {
+            // 开始消息与之后的逐层结果在同一线程上依次发送，客户端总是先收到开始消息
+            Map<String, Object> startedData = new HashMap<>();
+            startedData.put("analysisId", analysis.id);
+            send(analysis.userId, "analysis_started", startedData);
+            search.run();
+        } catch (Exception e) {
+            log.error("分析失败 - userId: {}, analysisId: {}", analysis.userId, analysis.id, e);
+        } finally {
+            running.remove(analysis.userId, analysis);
+            duration.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("analysisId", analysis.id);
+            data.put("depth", search.getCompletedDepth());
+            data.put("nodes", search.getNodes());
+            data.put("reason", search.getLimit().name()); // DEPTH/NODES/TIME，被取消时为STOPPED
+            send(analysis.userId, "analysis_finished", data);
+            log.debug("分析结束 - userId: {}, analysisId: {}, 深度: {}, 原因: {}",
+                    analysis.userId, analysis.id, search.getCompletedDepth(), search.getLimit());
+        }
+    }
+
+    /**
+     * 推送一层的结果；用户已离线时取消分析
+     */
+    private void publish(Analysis analysis, MultiPvSearch.Iteration iteration) {
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (MultiPvSearch.Line line : iteration.getLines()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("position", line.getPos());
+            item.put("row", line.getPos() / GameUtil.BOARD_SIZE);
+            item.put("col", line.getPos() % GameUtil.BOARD_SIZE);
+            item.put("score", line.getScore());
+            item.put("pv", line.getPv());
+            lines.add(item);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("analysisId", analysis.id);
+        data.put("player", String.valueOf(BitBoard.symbolOf(analysis.search.getColour())));
+        data.put("depth", iteration.getDepth());
+        data.put("nodes", iteration.getNodes());
+        data.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(iteration.getElapsedNanos()));
+        data.put("lines", lines);
+        if (!send(analysis.userId, "analysis", data)) {
+            analysis.search.cancel();
+        }
+    }
+
+    private boolean send(String userId, String type, Map<String, Object> data) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", type);
+        message.put("data", data);
+        message.put("timestamp", System.currentTimeMillis());
+        return webSocketSessionManager.sendMessageToUser(userId, JsonUtil.toJson(message));
+    }
+
+    /**
+     * 一次分析；搜索的监听器要引用分析本身，搜索对象在创建后赋值
+     */
+    private static final class Analysis {
+
+        private final String userId;
+        private final String id;
+        private MultiPvSearch search;
+
+        Analysis(String userId, String id) {
+            this.userId = userId;
+            this.id = id;
+        }
+    }
+}
@@ -32,11 +32,17 @@ public class GameFlowService {
     private UserRepository userRepository;
 
     @Autowired
-    private AiService aiService;
+    private AiMoveDispatcher aiMoveDispatcher;
 
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private AiSessionManager aiSessionManager;
+
+    @Autowired
+    private GameRecordService gameRecordService;
+
     /**
      * 创建新游戏
      */
@@ -114,6 +120,9 @@ public class GameFlowService {
             throw new RuntimeException("非法移动");
         }
 
+        // 对手已落子，停止AI的后台思考，命中的结果留给接下来的AI走子
+        aiSessionManager.stopPondering(gameId);
+
         // 执行移动
         String boardState = game.getBoardState();
         char[] board = boardState.toCharArray();
@@ -125,7 +134,7 @@ public class GameFlowService {
         game.setBoardState(newBoardState);
 
         // 检查获胜条件
-        if (GameUtil.hasWinner(newBoardState, playerSymbol)) {
+        if (GameUtil.checkWinAt(newBoardState, row, col)) {
             game.setWinner(getWinnerKey(game, playerId));
             game.setStatus(GameStatus.FINISHED);
             game.setEndTime(LocalDateTime.now());
@@ -144,9 +153,12 @@ public class GameFlowService {
 
         game.setUpdatedTime(LocalDateTime.now());
         Game savedGame = gameRepository.save(game);
-
-        // 广播游戏状态更新
+        gameRecordService.recordMove(savedGame, row, col);
+        // 广播游戏状态更新，之后再移除已结束对局的AI会话
         gameService.broadcastGameUpdate(savedGame);
+        if (savedGame.getStatus() == GameStatus.FINISHED) {
+            aiSessionManager.evict(savedGame.getId());
+        }
 
         // 如果是人机对战且轮到AI，触发AI移动
         log.info("检查AI移动条件 - 游戏类型: {}, 状态: {}, 当前玩家: {}", 
@@ -160,14 +172,8 @@ public class GameFlowService {
             savedGame.getCurrentPlayer() == 2) {
             
             log.info("触发AI移动 - 游戏ID: {}", savedGame.getId());
-            try {
-                // 同步执行AI移动，便于调试
-                Game aiMovedGame = aiService.makeAiMove(savedGame.getId());
-                log.info("AI移动执行完成 - 游戏ID: {}, 新状态: {}", aiMovedGame.getId(), aiMovedGame.getStatus());
-                return aiMovedGame;
-            } catch (Exception e) {
-                log.error("AI移动执行失败 - 游戏ID: {}, 错误: {}", savedGame.getId(), e.getMessage(), e);
-            }
+            // 玩家落子提交后在AI线程池中执行，AI落子完成后通过广播推送
+            aiMoveDispatcher.dispatch(savedGame.getId());
         } else {
             log.info("不触发AI移动 - 条件不满足");
         }
@@ -192,6 +198,7 @@ public class GameFlowService {
         game.setUpdatedTime(LocalDateTime.now());
 
         Game savedGame = gameRepository.save(game);
+        gameRecordService.reset(savedGame);
         
         // 广播游戏重置事件
         gameService.broadcastGameUpdate(savedGame);
@@ -0,0 +1,125 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.entity.GameRecord;
+import com.skillfive.backend.enums.GameStatus;
+import com.skillfive.backend.repository.GameRecordRepository;
+import com.skillfive.backend.utils.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 对局记录服务
+ * 每次落子保存后把落子追加到GameRecord.moveRecords（[{"x":行,"y":列}, ...]），对局结束时写入获胜者和用时，
+ * 开局库构建工具从这里读取落子顺序
+ */
+@Service
+public class GameRecordService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRecordService.class);
+
+    private final GameRecordRepository gameRecordRepository;
+
+    public GameRecordService(GameRecordRepository gameRecordRepository) {
+        this.gameRecordRepository = gameRecordRepository;
+    }
+
+    /**
+     * 记录一步落子，game为落子保存后的对局
+     */
+    @Transactional
+    public void recordMove(Game game, int row, int col) {
+        GameRecord record = findOrCreate(game);
+        List<Map<String, Object>> moves = readMoves(record);
+        Map<String, Object> move = new LinkedHashMap<>();
+        move.put("x", row);
+        move.put("y", col);
+        moves.add(move);
+        record.setMoveRecords(JsonUtil.toJson(moves));
+        applyResult(record, game);
+        gameRecordRepository.save(record);
+    }
+
+    /**
+     * 对局不经落子结束（认输、结束接口）时写入结果
+     */
+    @Transactional
+    public void recordResult(Game game) {
+        GameRecord record = findOrCreate(game);
+        applyResult(record, game);
+        gameRecordRepository.save(record);
+    }
+
+    /**
+     * 重置棋盘后清空落子记录，重新开始计时
+     */
+    @Transactional
+    public void reset(Game game) {
+        GameRecord record = gameRecordRepository.findByGameId(game.getId());
+        if (record == null) {
+            return;
+        }
+        record.setMoveRecords(null);
+        record.setWinnerId(null);
+        record.setStartTime(game.getStartTime());
+        record.setEndTime(null);
+        record.setDuration(null);
+        record.setStatus(game.getStatus() != null ? game.getStatus().name() : null);
+        gameRecordRepository.save(record);
+    }
+
+    private GameRecord findOrCreate(Game game) {
+        GameRecord record = gameRecordRepository.findByGameId(game.getId());
+        if (record == null) {
+            record = new GameRecord();
+            record.setGameId(game.getId());
+            record.setPlayer1Id(game.getPlayer1() != null ? game.getPlayer1().getId() : null);
+            record.setPlayer2Id(game.getPlayer2() != null ? game.getPlayer2().getId() : null);
+            record.setStartTime(game.getStartTime());
+        }
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readMoves(GameRecord record) {
+        String json = record.getMoveRecords();
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(JsonUtil.fromJson(json, List.class));
+        } catch (RuntimeException e) {
+            log.warn("落子记录无法解析，重新开始记录 - gameId: {}", record.getGameId());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * 对局结束时写入获胜者ID（AI和平局为null）、结束时间和用时
+     */
+    private static void applyResult(GameRecord record, Game game) {
+        record.setStatus(game.getStatus() != null ? game.getStatus().name() : null);
+        if (game.getStatus() != GameStatus.FINISHED) {
+            return;
+        }
+        if ("player1".equals(game.getWinner()) && game.getPlayer1() != null) {
+            record.setWinnerId(game.getPlayer1().getId());
+        } else if ("player2".equals(game.getWinner()) && game.getPlayer2() != null) {
+            record.setWinnerId(game.getPlayer2().getId());
+        }
+        LocalDateTime endTime = game.getEndTime() != null ? game.getEndTime() : LocalDateTime.now();
+        record.setEndTime(endTime);
+        if (record.getStartTime() != null) {
+            record.setDuration((int) Duration.between(record.getStartTime(), endTime).getSeconds());
+        }
+    }
+}
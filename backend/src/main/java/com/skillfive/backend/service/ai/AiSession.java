@@ -0,0 +1,198 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 单局AI会话
+ * 每局人机对战一个实例，保存该局的难度、置换表、搜索棋盘（含候选集合和增量评估）、
+ * 威胁空间搜索的证明缓存以及上一回合的主要变例，下一回合在此基础上继续而不是从零开始。
+ * 同一局的走子计算须在会话上同步执行；后台思考可从任意线程启动和停止。
+ * 置换表和威胁空间搜索的缓冲区在第一次使用时才分配，置换表大小随难度决定，难度改变后按新大小重新分配
+ */
+public class AiSession {
+
+    public static final int MAX_PV = 16;
+
+    private final Long gameId;
+    private final SearchBoard board = new SearchBoard();
+    private final IntUnaryOperator tableSizeKb; // 难度 -> 置换表大小（KB）
+    private final int threatNodeLimit;
+    private final int threatMaxDepth;
+
+    private TranspositionTable table;
+    private int tableKb;
+    private ThreatSolver threatSolver;
+
+    private volatile int difficulty;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    // 上一回合的主要变例：pv[0]为AI着法，pv[1]为预计的对手应对，pv[2]为AI的后续着法
+    private final int[] principalVariation = new int[MAX_PV];
+    private int principalLength;
+
+    // 蒙特卡洛引擎的搜索树，回合之间复用，使用Alpha-Beta引擎时为null
+    private MctsSearch mcts;
+
+    // 对手思考期间的后台思考，停止后保留结果直到被取走
+    private final AtomicReference<Ponder> ponder = new AtomicReference<>();
+
+    // 最近一步的计算统计，调试模式下随游戏更新下发
+    private volatile SearchStats lastStats;
+
+    public AiSession(Long gameId, int difficulty, int tableSizeMb, int threatNodeLimit, int threatMaxDepth) {
+        this(gameId, difficulty, level -> tableSizeMb * 1024, threatNodeLimit, threatMaxDepth);
+    }
+
+    /**
+     * @param tableSizeKb 各难度的置换表大小（KB）
+     */
+    public AiSession(Long gameId, int difficulty, IntUnaryOperator tableSizeKb, int threatNodeLimit,
+                     int threatMaxDepth) {
+        this.gameId = gameId;
+        this.difficulty = difficulty;
+        this.tableSizeKb = tableSizeKb;
+        this.threatNodeLimit = threatNodeLimit;
+        this.threatMaxDepth = threatMaxDepth;
+    }
+
+    /**
+     * 把会话棋盘同步到当前对局局面，并记录访问时间
+     */
+    public SearchBoard sync(String boardState) {
+        lastAccess = System.currentTimeMillis();
+        board.syncTo(boardState);
+        return board;
+    }
+
+    /**
+     * 若对手按上一回合主要变例应对，返回预计的后续着法，否则返回-1
+     */
+    public int predictedMove() {
+        if (principalLength < 3) {
+            return -1;
+        }
+        int ownMove = principalVariation[0];
+        int reply = principalVariation[1];
+        int next = principalVariation[2];
+        if (board.get(ownMove) == BitBoard.NONE || board.get(reply) == BitBoard.NONE
+                || board.get(ownMove) == board.get(reply) || !board.isEmpty(next)) {
+            return -1;
+        }
+        return next;
+    }
+
+    /**
+     * 记录本回合的主要变例
+     */
+    public void setPrincipalVariation(int[] moves, int length) {
+        principalLength = Math.min(length, MAX_PV);
+        System.arraycopy(moves, 0, principalVariation, 0, principalLength);
+    }
+
+    /**
+     * 开始新的后台思考，之前的思考被停止
+     */
+    public void startPonder(Ponder next) {
+        Ponder previous = ponder.getAndSet(next);
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * 停止后台思考并保留结果，可重复调用
+     */
+    public void stopPonder() {
+        Ponder current = ponder.get();
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    /**
+     * 取走后台思考的结果：当前局面与预测一致时返回思考得到的着法，否则返回-1
+     *
+     * @param hash 当前局面的哈希
+     * @param minDepth 采用结果所需的最小完成深度
+     */
+    public int takePonderedMove(long hash, int minDepth) {
+        Ponder current = ponder.getAndSet(null);
+        if (current == null) {
+            return -1;
+        }
+        current.stop();
+        return current.moveFor(hash, minDepth);
+    }
+
+    public int[] getPrincipalVariation() {
+        int[] copy = new int[principalLength];
+        System.arraycopy(principalVariation, 0, copy, 0, principalLength);
+        return copy;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(int difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * 当前难度对应大小的置换表，首次调用或难度改变了表大小时重新分配；须在会话上同步调用
+     */
+    public TranspositionTable getTable() {
+        int sizeKb = tableSizeKb.applyAsInt(difficulty);
+        if (table == null || tableKb != sizeKb) {
+            table = TranspositionTable.ofKilobytes(sizeKb);
+            tableKb = sizeKb;
+        }
+        return table;
+    }
+
+    public SearchBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * 威胁空间搜索器，首次调用时分配；须在会话上同步调用
+     */
+    public ThreatSolver getThreatSolver() {
+        if (threatSolver == null) {
+            threatSolver = new ThreatSolver(threatNodeLimit, threatMaxDepth);
+        }
+        return threatSolver;
+    }
+
+    /**
+     * 是否已分配置换表
+     */
+    public boolean hasTable() {
+        return table != null;
+    }
+
+    public MctsSearch getMcts() {
+        return mcts;
+    }
+
+    public void setMcts(MctsSearch mcts) {
+        this.mcts = mcts;
+    }
+
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+
+    public void setLastStats(SearchStats lastStats) {
+        this.lastStats = lastStats;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+}
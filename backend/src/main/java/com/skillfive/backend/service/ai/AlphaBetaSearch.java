@@ -0,0 +1,532 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * Alpha-Beta搜索
+ * 基于搜索棋盘的Negamax实现，通过置换表复用不同着法顺序到达的相同局面，
+ * 只在候选生成器给出的邻域空位中展开并按杀手/历史启发排序，叶节点评估由增量评估器在落子/提子时维护。
+ * 选择性搜索（PVS零窗口、LMR减深、空着裁剪、威胁延伸）由SearchFeatures控制。
+ * 所有缓冲区在构造时分配，搜索过程中不再分配堆内存。
+ * 每次搜索使用独立实例（置换表可共享），实例本身不是线程安全的
+ */
+public class AlphaBetaSearch {
+
+    public static final int WIN_SCORE = 10000;
+    public static final int INFINITY = 1_000_000;
+    public static final int MAX_PLY = 32;
+    // 胜负分数为WIN_SCORE减去距根节点的层数，越快取胜分数越高；绝对值不小于该值即为已分出胜负
+    public static final int WIN_THRESHOLD = WIN_SCORE - MAX_PLY - 1;
+
+    /**
+     * 搜索结束的原因
+     */
+    public enum Limit {
+        DEPTH,  // 完成最大深度，或已分出胜负
+        NODES,  // 达到节点预算
+        TIME,   // 达到截止时间
+        STOPPED // 被其他线程请求停止
+    }
+
+    // 选择性搜索参数：LMR从第LMR_FULL_MOVES个着法、剩余深度LMR_MIN_DEPTH起减一层；空着少搜NULL_MOVE_REDUCTION层
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_FULL_MOVES = 3;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+
+    private final TranspositionTable table;
+    private final MoveOrderer orderer = new MoveOrderer(MAX_PLY);
+    private SearchFeatures features = SearchFeatures.DEFAULT;
+
+    // 空着裁剪前检查对手成五点用的行掩码缓冲区
+    private final int[] ownRows = LineScanner.newRows();
+    private final int[] emptyRows = LineScanner.newRows();
+    private final int[] fiveRows = LineScanner.newRows();
+
+    // 每层复用的候选缓冲区
+    private final int[][] moveBuffers = new int[MAX_PLY][BitBoard.CELLS];
+    private int ply;
+
+    // 超时控制：每搜索CHECK_INTERVAL个节点检查一次时间和节点预算
+    private static final int CHECK_INTERVAL = 1024;
+    private long deadline = Long.MAX_VALUE;
+    private long nodeLimit = Long.MAX_VALUE;
+    private Limit limit = Limit.DEPTH;
+    private volatile boolean stopRequested; // 由其他线程请求停止（并行搜索中主线程完成后通知辅助线程）
+    private boolean aborted;
+    private long nodes;
+    private long cutoffs;  // 产生beta截断的节点数
+    private long ttProbes; // 置换表查询次数
+    private long ttHits;   // 查到条目的次数
+    private int completedDepth;
+    private int bestScore; // 最后一次完整迭代中最佳着法的搜索分数（不含静态加分）
+
+    public AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Negamax搜索
+     *
+     * @param board 当前棋盘（搜索过程中落子/提子，返回时保持原状）
+     * @param colour 当前行棋方
+     * @param depth 剩余深度
+     * @param alpha 下界
+     * @param beta 上界
+     * @param lastPos 上一步落子位置，没有则为-1
+     * @return 站在行棋方角度的分数
+     */
+    public int search(SearchBoard board, int colour, int depth, int alpha, int beta, int lastPos) {
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && reachedLimit()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        // 上一步由对手落子，若已成五则当前行棋方已输，输得越早分数越低
+        if (lastPos >= 0 && board.checkWinAt(lastPos)) {
+            return -(WIN_SCORE - ply);
+        }
+        if (board.isFull()) {
+            return 0; // 平局
+        }
+        if (depth == 0 || ply >= MAX_PLY) {
+            return evaluate(board, colour);
+        }
+
+        long key = Zobrist.withSideToMove(board.getHash(), colour);
+        long entry = table.probe(key);
+        ttProbes++;
+        int hashMove = -1;
+        if (entry != 0L) {
+            ttHits++;
+            hashMove = TranspositionTable.moveOf(entry);
+            if (TranspositionTable.depthOf(entry) >= depth) {
+                int score = fromTable(TranspositionTable.scoreOf(entry), ply);
+                int flag = TranspositionTable.flagOf(entry);
+                if (flag == TranspositionTable.EXACT) {
+                    return score;
+                } else if (flag == TranspositionTable.LOWER) {
+                    alpha = Math.max(alpha, score);
+                } else {
+                    beta = Math.min(beta, score);
+                }
+                if (alpha >= beta) {
+                    return score;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = -1;
+        int opponent = BitBoard.opponent(colour);
+
+        // 空着裁剪：让对手连走一步仍不低于beta时直接截断；
+        // 对手已有成五点时让步必输，不做空着；上一层是空着（lastPos为-1）时不连续让步
+        if (features.isNullMove() && lastPos >= 0 && depth >= NULL_MOVE_MIN_DEPTH && beta < WIN_THRESHOLD
+                && board.evaluate(colour) >= beta && !hasFivePoint(board, opponent)) {
+            ply++;
+            int score = -search(board, opponent, depth - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, -1);
+            ply--;
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return Math.min(score, WIN_THRESHOLD - 1); // 空着下的胜负未经证实，不当作必胜返回
+            }
+        }
+
+        // 置换表中的最佳着法优先搜索
+        int searched = 0;
+        if (hashMove >= 0 && board.isEmpty(hashMove)) {
+            bestScore = searchChild(board, colour, hashMove, depth, alpha, beta, searched++, true);
+            if (aborted) {
+                return 0;
+            }
+            bestMove = hashMove;
+            alpha = Math.max(alpha, bestScore);
+        }
+
+        int[] moves = moveBuffers[ply];
+        int moveCount = board.generateMoves(moves);
+        orderer.order(board, colour, ply, moves, moveCount);
+        for (int i = 0; i < moveCount && alpha < beta; i++) {
+            int pos = moves[i];
+            if (pos == hashMove) {
+                continue;
+            }
+            int score = searchChild(board, colour, pos, depth, alpha, beta, searched++, true);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = pos;
+            }
+            alpha = Math.max(alpha, score);
+        }
+
+        if (bestScore >= beta) {
+            cutoffs++;
+            orderer.recordCutoff(colour, ply, bestMove, depth);
+        }
+
+        int flag;
+        if (bestScore <= originalAlpha) {
+            flag = TranspositionTable.UPPER;
+        } else if (bestScore >= beta) {
+            flag = TranspositionTable.LOWER;
+        } else {
+            flag = TranspositionTable.EXACT;
+        }
+        table.store(key, depth, flag, toTable(bestScore, ply), bestMove);
+        return bestScore;
+    }
+
+    /**
+     * 是否为已分出胜负的分数
+     */
+    public static boolean isWinScore(int score) {
+        return Math.abs(score) >= WIN_THRESHOLD;
+    }
+
+    /**
+     * 存入置换表前把胜负分数换算为距当前节点的层数，同一局面从不同深度到达时仍然正确
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * 从置换表取出时把胜负分数换回距根节点的层数
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * 走pos并搜索子节点，返回站在colour方角度的分数
+     * 第一个着法用完整窗口；之后的着法开启PVS时先用零窗口证明不优于alpha，
+     * 开启LMR时排序靠后、且不形成活三或冲四的着法先少搜一层，结果超出alpha时依次按原深度、完整窗口重搜
+     *
+     * @param index 该着法在本节点的搜索序号
+     * @param reducible 是否允许LMR（根节点不减深）
+     */
+    private int searchChild(SearchBoard board, int colour, int pos, int depth, int alpha, int beta, int index,
+                            boolean reducible) {
+        make(board, pos, colour);
+        int opponent = BitBoard.opponent(colour);
+        int newDepth = depth - 1;
+        int threat = features.isThreatExtensions() || features.isLateMoveReductions()
+                ? threatLevel(board, pos, colour) : 0;
+        // 在搜索边界上冲四时延伸一层，看到对手的应对，避免把被挡住的冲四误判为得分
+        if (threat >= PatternTable.FOUR && features.isThreatExtensions() && newDepth == 0) {
+            newDepth++;
+        }
+        int score;
+        if (index == 0) {
+            score = -search(board, opponent, newDepth, -beta, -alpha, pos);
+        } else {
+            int windowBeta = features.isPrincipalVariation() ? alpha + 1 : beta;
+            int reduction = reducible && features.isLateMoveReductions() && depth >= LMR_MIN_DEPTH
+                    && index >= LMR_FULL_MOVES && threat < PatternTable.OPEN_THREE ? 1 : 0;
+            score = -search(board, opponent, newDepth - reduction, -windowBeta, -alpha, pos);
+            if (!aborted && reduction > 0 && score > alpha) {
+                score = -search(board, opponent, newDepth, -windowBeta, -alpha, pos);
+            }
+            if (!aborted && windowBeta < beta && score > alpha && score < beta) {
+                score = -search(board, opponent, newDepth, -beta, -alpha, pos);
+            }
+        }
+        unmake(board, pos);
+        return score;
+    }
+
+    /**
+     * pos处colour方的棋子在四个方向上最强的棋型得分
+     */
+    private static int threatLevel(SearchBoard board, int pos, int colour) {
+        BitBoard bits = board.getBoard();
+        int level = 0;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            level = Math.max(level, PatternTable.score(colour, PatternTable.keyOf(bits, dir, pos)));
+        }
+        return level;
+    }
+
+    /**
+     * colour方是否有成五点
+     */
+    private boolean hasFivePoint(SearchBoard board, int colour) {
+        LineScanner.load(board.getBoard(), colour, ownRows, emptyRows);
+        LineScanner scanner = LineScanner.getDefault();
+        scanner.fivePoints(ownRows, emptyRows, fiveRows);
+        for (int row = 0; row < BitBoard.SIZE; row++) {
+            if (fiveRows[row] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 迭代加深搜索
+     * 从1层开始逐层加深，直到达到最大深度或超过截止时间，
+     * 返回最后一次完整迭代的最佳着法；被打断的那一轮结果直接丢弃。
+     * 每轮结束后把最佳着法移到根节点列表最前面，作为下一轮的首选
+     *
+     * @param board 当前棋盘
+     * @param colour 行棋方
+     * @param rootMoves 根节点候选着法（会被重新排序）
+     * @param rootCount 候选数量
+     * @param rootBonus 按格子编号索引的根节点静态加分，可为null
+     * @param maxDepth 最大深度
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 最佳着法位置
+     */
+    public int searchRoot(SearchBoard board, int colour, int[] rootMoves, int rootCount, int[] rootBonus,
+                          int maxDepth, long deadlineNanos) {
+        deadline = deadlineNanos;
+        aborted = false;
+        limit = Limit.DEPTH;
+        completedDepth = 0;
+        bestScore = 0;
+        int bestMove = rootMoves[0];
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int iterationBest = -1;
+            int iterationScore = -INFINITY;
+            int iterationRaw = 0; // 最佳着法不含静态加分的搜索分数
+            for (int i = 0; i < rootCount; i++) {
+                int pos = rootMoves[i];
+                int bonus = rootBonus != null ? rootBonus[pos] : 0;
+                // 只需判断该着法加上静态加分后能否超过当前最佳，用当前最佳减去加分作为下界
+                int alpha = iterationBest < 0 ? -INFINITY : iterationScore - bonus;
+                int raw = searchChild(board, colour, pos, depth, alpha, INFINITY, iterationBest < 0 ? 0 : 1, false);
+                if (aborted) {
+                    break;
+                }
+                if (iterationBest < 0 || raw + bonus > iterationScore) {
+                    iterationScore = raw + bonus;
+                    iterationRaw = raw;
+                    iterationBest = i;
+                }
+            }
+            if (aborted || iterationBest < 0) {
+                break;
+            }
+
+            bestMove = rootMoves[iterationBest];
+            System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+            rootMoves[0] = bestMove;
+            completedDepth = depth;
+            bestScore = iterationRaw;
+
+            // 已找到必胜或必败，无需继续加深
+            if (isWinScore(iterationRaw)) {
+                break;
+            }
+            if (reachedLimit()) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * 多主要变例（Multi-PV）搜索的一轮迭代
+     * 求出根节点前lines个着法的精确分数：先搜的lines个着法用完整窗口，之后的着法以当前第lines名的分数为下界，
+     * 没有超过下界的着法只得到上界，不进入结果。结果按分数降序排在rootMoves前面，其余着法保持原有顺序，
+     * 所以逐层调用时上一层的结果就是下一层的搜索顺序
+     *
+     * @param lines 需要的着法数
+     * @param depth 本轮深度
+     * @param scores 输出前lines个着法的分数，站在根节点行棋方角度
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 本轮得到的着法数；被打断时返回0，rootMoves保持不变。两种情况下getLimit()都给出是否该停止
+     */
+    public int searchMultiPv(SearchBoard board, int colour, int[] rootMoves, int rootCount, int lines, int depth,
+                             int[] scores, long deadlineNanos) {
+        deadline = deadlineNanos;
+        aborted = false;
+        limit = Limit.DEPTH;
+        lines = Math.min(lines, rootCount);
+        int[] best = new int[lines]; // 前lines名在rootMoves中的下标
+        int found = 0;
+
+        for (int i = 0; i < rootCount; i++) {
+            int pos = rootMoves[i];
+            int alpha = found < lines ? -INFINITY : scores[lines - 1];
+            int raw = searchChild(board, colour, pos, depth, alpha, INFINITY, found < lines ? 0 : 1, false);
+            if (aborted) {
+                return 0;
+            }
+            if (found < lines || raw > alpha) {
+                // 插入排序；已满时挤掉最后一名
+                int j = found < lines ? found++ : lines - 1;
+                while (j > 0 && scores[j - 1] < raw) {
+                    scores[j] = scores[j - 1];
+                    best[j] = best[j - 1];
+                    j--;
+                }
+                scores[j] = raw;
+                best[j] = i;
+            }
+        }
+
+        // 根节点不使用第0层的候选缓冲区，借来重排
+        int[] ordered = moveBuffers[0];
+        int count = 0;
+        for (int k = 0; k < found; k++) {
+            ordered[count++] = rootMoves[best[k]];
+        }
+        for (int i = 0; i < rootCount; i++) {
+            boolean listed = false;
+            for (int k = 0; k < found && !listed; k++) {
+                listed = best[k] == i;
+            }
+            if (!listed) {
+                ordered[count++] = rootMoves[i];
+            }
+        }
+        System.arraycopy(ordered, 0, rootMoves, 0, rootCount);
+        completedDepth = depth;
+        bestScore = found > 0 ? scores[0] : 0;
+        reachedLimit(); // 预算已用完时记录原因，调用方据getLimit()不再加深
+        return found;
+    }
+
+    /**
+     * 检查是否需要停止，需要时记录原因
+     */
+    private boolean reachedLimit() {
+        if (stopRequested) {
+            limit = Limit.STOPPED;
+        } else if (nodes >= nodeLimit) {
+            limit = Limit.NODES;
+        } else if (System.nanoTime() > deadline) {
+            limit = Limit.TIME;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 从置换表中沿最佳着法取出主要变例
+     *
+     * @param firstMove 根节点选定的着法
+     * @param out 输出缓冲区
+     * @return 主要变例长度
+     */
+    public static int principalVariation(TranspositionTable table, SearchBoard board, int colour, int firstMove,
+                                         int[] out) {
+        int length = 0;
+        int pos = firstMove;
+        while (length < out.length && pos >= 0 && board.isEmpty(pos)) {
+            board.make(pos, colour);
+            out[length++] = pos;
+            if (board.checkWinAt(pos)) {
+                break;
+            }
+            colour = BitBoard.opponent(colour);
+            long entry = table.probe(Zobrist.withSideToMove(board.getHash(), colour));
+            pos = entry != 0L ? TranspositionTable.moveOf(entry) : -1;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            board.unmake(out[i]);
+        }
+        return length;
+    }
+
+    /**
+     * 落子并推进层数
+     */
+    public void make(SearchBoard board, int pos, int colour) {
+        board.make(pos, colour);
+        ply++;
+    }
+
+    /**
+     * 撤销落子
+     */
+    public void unmake(SearchBoard board, int pos) {
+        ply--;
+        board.unmake(pos);
+    }
+
+    /**
+     * 静态评估，站在colour方角度，由增量评估器直接给出
+     */
+    private int evaluate(SearchBoard board, int colour) {
+        return board.evaluate(colour);
+    }
+
+    /**
+     * 请求停止搜索，可从其他线程调用；正在进行的迭代会在下一次检查时放弃
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public void setFeatures(SearchFeatures features) {
+        this.features = features;
+    }
+
+    /**
+     * 设置节点预算，累计节点数（含之前的搜索）达到该值后停止；默认不限
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit > 0 ? nodeLimit : Long.MAX_VALUE;
+    }
+
+    /**
+     * 最近一次searchRoot结束的原因
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * 最后一次完整迭代中最佳着法的分数，站在根节点行棋方角度
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getTtProbes() {
+        return ttProbes;
+    }
+
+    public long getTtHits() {
+        return ttHits;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+}
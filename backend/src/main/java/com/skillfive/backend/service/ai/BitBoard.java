@@ -0,0 +1,330 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.utils.GameUtil;
+
+import java.util.Arrays;
+
+/**
+ * 位棋盘
+ * AI引擎内部使用的紧凑棋盘表示：每种颜色一组按格子编号的long位图，
+ * 另外按行、列、主对角线、副对角线四个方向各维护一份线位掩码，落子/提子均为O(1)
+ */
+public class BitBoard {
+
+    public static final int SIZE = GameUtil.BOARD_SIZE;
+    public static final int CELLS = SIZE * SIZE;
+
+    // 颜色编号
+    public static final int BLACK = 0; // 对应 GameUtil.PLAYER1
+    public static final int WHITE = 1; // 对应 GameUtil.PLAYER2
+    public static final int NONE = -1;
+
+    // 方向编号：行、列、主对角线（左上到右下）、副对角线（右上到左下）
+    public static final int DIR_ROW = 0;
+    public static final int DIR_COL = 1;
+    public static final int DIR_DIAG = 2;
+    public static final int DIR_ANTI = 3;
+    public static final int DIRECTIONS = 4;
+
+    // 每个方向的步长（行增量、列增量）
+    public static final int[] DELTA_ROW = {0, 1, 1, 1};
+    public static final int[] DELTA_COL = {1, 0, 1, -1};
+
+    public static final int WORDS = (CELLS + 63) >>> 6;
+    private static final int DIAG_LINES = 2 * SIZE - 1;
+    private static final int[] LINE_COUNT = {SIZE, SIZE, DIAG_LINES, DIAG_LINES};
+
+    // 每个格子在各方向上所属的线编号和在线内的位序号
+    private static final int[][] LINE_OF = new int[DIRECTIONS][CELLS];
+    private static final int[][] BIT_OF = new int[DIRECTIONS][CELLS];
+
+    // 每条线上有效（在棋盘内）的位，以及线内位序号到格子编号的反查表
+    private static final int[][] LINE_MASK = new int[DIRECTIONS][];
+    private static final int[][][] POS_AT = new int[DIRECTIONS][][];
+
+    static {
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            LINE_MASK[dir] = new int[LINE_COUNT[dir]];
+            POS_AT[dir] = new int[LINE_COUNT[dir]][SIZE];
+        }
+        for (int pos = 0; pos < CELLS; pos++) {
+            int row = pos / SIZE;
+            int col = pos % SIZE;
+            LINE_OF[DIR_ROW][pos] = row;
+            BIT_OF[DIR_ROW][pos] = col;
+            LINE_OF[DIR_COL][pos] = col;
+            BIT_OF[DIR_COL][pos] = row;
+            LINE_OF[DIR_DIAG][pos] = row - col + SIZE - 1;
+            BIT_OF[DIR_DIAG][pos] = row;
+            LINE_OF[DIR_ANTI][pos] = row + col;
+            BIT_OF[DIR_ANTI][pos] = row;
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                LINE_MASK[dir][LINE_OF[dir][pos]] |= 1 << BIT_OF[dir][pos];
+                POS_AT[dir][LINE_OF[dir][pos]][BIT_OF[dir][pos]] = pos;
+            }
+        }
+    }
+
+    private final long[][] cells = new long[2][WORDS];
+    private final int[][][] lines = new int[2][DIRECTIONS][];
+    private int stoneCount;
+    private long hash; // Zobrist哈希，随落子/提子增量维护
+
+    public BitBoard() {
+        for (int colour = 0; colour < 2; colour++) {
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                lines[colour][dir] = new int[LINE_COUNT[dir]];
+            }
+        }
+    }
+
+    /**
+     * 从Game.boardState字符串构建位棋盘
+     * 'X'为黑棋，'O'为白棋，其余字符均视为空位
+     */
+    public static BitBoard fromBoardString(String boardState) {
+        BitBoard board = new BitBoard();
+        board.load(boardState);
+        return board;
+    }
+
+    /**
+     * 用字符串棋盘覆盖当前内容
+     */
+    public void load(String boardState) {
+        if (boardState == null || boardState.length() != CELLS) {
+            throw new IllegalArgumentException("棋盘长度必须为" + CELLS);
+        }
+        clear();
+        for (int pos = 0; pos < CELLS; pos++) {
+            int colour = colourOf(boardState.charAt(pos));
+            if (colour != NONE) {
+                place(pos, colour);
+            }
+        }
+    }
+
+    /**
+     * 转换回Game.boardState使用的字符串格式
+     */
+    public String toBoardString() {
+        char[] chars = new char[CELLS];
+        for (int pos = 0; pos < CELLS; pos++) {
+            chars[pos] = symbolOf(get(pos));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 在指定位置落子
+     */
+    public void place(int pos, int colour) {
+        if (!isEmpty(pos)) {
+            throw new IllegalStateException("位置已有棋子: " + pos);
+        }
+        cells[colour][pos >>> 6] |= 1L << pos;
+        int[][] colourLines = lines[colour];
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            colourLines[dir][LINE_OF[dir][pos]] |= 1 << BIT_OF[dir][pos];
+        }
+        stoneCount++;
+        hash ^= Zobrist.stoneKey(colour, pos);
+    }
+
+    /**
+     * 移除指定位置的棋子，返回被移除棋子的颜色
+     */
+    public int remove(int pos) {
+        int colour = get(pos);
+        if (colour == NONE) {
+            throw new IllegalStateException("位置没有棋子: " + pos);
+        }
+        cells[colour][pos >>> 6] &= ~(1L << pos);
+        int[][] colourLines = lines[colour];
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            colourLines[dir][LINE_OF[dir][pos]] &= ~(1 << BIT_OF[dir][pos]);
+        }
+        stoneCount--;
+        hash ^= Zobrist.stoneKey(colour, pos);
+        return colour;
+    }
+
+    /**
+     * 获取指定位置的棋子颜色，空位返回NONE
+     */
+    public int get(int pos) {
+        long bit = 1L << pos;
+        int word = pos >>> 6;
+        if ((cells[BLACK][word] & bit) != 0) {
+            return BLACK;
+        }
+        if ((cells[WHITE][word] & bit) != 0) {
+            return WHITE;
+        }
+        return NONE;
+    }
+
+    /**
+     * 获取第word个64位字上的占用位图（黑白合并）
+     */
+    public long occupiedWord(int word) {
+        return cells[BLACK][word] | cells[WHITE][word];
+    }
+
+    public boolean isEmpty(int pos) {
+        long bit = 1L << pos;
+        int word = pos >>> 6;
+        return ((cells[BLACK][word] | cells[WHITE][word]) & bit) == 0;
+    }
+
+    public int getStoneCount() {
+        return stoneCount;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public boolean isFull() {
+        return stoneCount == CELLS;
+    }
+
+    /**
+     * 获取某颜色在指定方向、指定线上的位掩码
+     */
+    public int lineBits(int colour, int dir, int line) {
+        return lines[colour][dir][line];
+    }
+
+    /**
+     * 检查某颜色是否在任意一条线上形成五连
+     */
+    public boolean hasFive(int colour) {
+        int[][] colourLines = lines[colour];
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            for (int bits : colourLines[dir]) {
+                if ((bits & (bits >>> 1) & (bits >>> 2) & (bits >>> 3) & (bits >>> 4)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 检查pos处的棋子是否形成五连
+     * 只检查经过该点的四条线，用于落子后的增量胜负判断
+     */
+    public boolean checkWinAt(int pos) {
+        int colour = get(pos);
+        if (colour == NONE) {
+            return false;
+        }
+        int[][] colourLines = lines[colour];
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            int bits = colourLines[dir][LINE_OF[dir][pos]];
+            int fives = bits & (bits >>> 1) & (bits >>> 2) & (bits >>> 3) & (bits >>> 4);
+            if (fives == 0) {
+                continue;
+            }
+            // 五连起点必须落在 [bit-4, bit] 区间内才经过该点
+            int bit = BIT_OF[dir][pos];
+            int low = Math.max(bit - 4, 0);
+            if ((fives & (((1 << (bit - low + 1)) - 1) << low)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 清空棋盘
+     */
+    public void clear() {
+        for (int colour = 0; colour < 2; colour++) {
+            Arrays.fill(cells[colour], 0L);
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                Arrays.fill(lines[colour][dir], 0);
+            }
+        }
+        stoneCount = 0;
+        hash = 0L;
+    }
+
+    /**
+     * 复制棋盘
+     */
+    public BitBoard copy() {
+        BitBoard board = new BitBoard();
+        board.copyFrom(this);
+        return board;
+    }
+
+    /**
+     * 用另一个棋盘的内容覆盖当前棋盘（不分配内存）
+     */
+    public void copyFrom(BitBoard other) {
+        for (int colour = 0; colour < 2; colour++) {
+            System.arraycopy(other.cells[colour], 0, cells[colour], 0, WORDS);
+            for (int dir = 0; dir < DIRECTIONS; dir++) {
+                System.arraycopy(other.lines[colour][dir], 0, lines[colour][dir], 0, LINE_COUNT[dir]);
+            }
+        }
+        stoneCount = other.stoneCount;
+        hash = other.hash;
+    }
+
+    public static int lineOf(int dir, int pos) {
+        return LINE_OF[dir][pos];
+    }
+
+    public static int bitOf(int dir, int pos) {
+        return BIT_OF[dir][pos];
+    }
+
+    /**
+     * 指定线上位于棋盘内的位
+     */
+    public static int lineMask(int dir, int line) {
+        return LINE_MASK[dir][line];
+    }
+
+    /**
+     * 由线内位序号反查格子编号
+     */
+    public static int positionAt(int dir, int line, int bit) {
+        return POS_AT[dir][line][bit];
+    }
+
+    public static int lineCount(int dir) {
+        return LINE_COUNT[dir];
+    }
+
+    public static int opponent(int colour) {
+        return colour ^ 1;
+    }
+
+    public static int colourOf(char symbol) {
+        if (symbol == GameUtil.PLAYER1) {
+            return BLACK;
+        }
+        if (symbol == GameUtil.PLAYER2) {
+            return WHITE;
+        }
+        return NONE;
+    }
+
+    public static char symbolOf(int colour) {
+        if (colour == BLACK) {
+            return GameUtil.PLAYER1;
+        }
+        if (colour == WHITE) {
+            return GameUtil.PLAYER2;
+        }
+        return GameUtil.EMPTY;
+    }
+
+    public static int toPosition(int row, int col) {
+        return row * SIZE + col;
+    }
+}
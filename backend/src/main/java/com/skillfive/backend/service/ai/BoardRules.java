@@ -0,0 +1,29 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 字符串棋盘（Game.boardState）的整盘胜负判断和评估
+ * 基于行位掩码扫描和棋型表实现，原先放在GameUtil中；GameUtil只保留不依赖引擎的字符串操作，
+ * 避免utils和service.ai互相依赖。对局中的胜负判断使用GameUtil.checkWinAt，此处只供基准测试和整盘检查
+ */
+public final class BoardRules {
+
+    private BoardRules() {
+    }
+
+    /**
+     * 检查是否有玩家获胜（五子棋规则）
+     * 按行位掩码整盘扫描水平、垂直和两条对角线方向，可用时使用Vector API多行并行
+     */
+    public static boolean hasWinner(String board, char playerSymbol) {
+        int[] rows = LineScanner.newRows();
+        LineScanner.load(board, playerSymbol, rows);
+        return LineScanner.getDefault().hasFive(rows);
+    }
+
+    /**
+     * 评估棋盘得分，站在symbol方角度，棋型得分通过预计算的棋型表查得
+     */
+    public static int evaluate(String board, char symbol) {
+        return PatternTable.evaluate(BitBoard.fromBoardString(board), BitBoard.colourOf(symbol));
+    }
+}
@@ -0,0 +1,124 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 候选着法生成器
+ * 只返回距已有棋子不超过RADIUS格（含斜向）的空位。
+ * 每个格子记录周围棋子数，落子/提子时只更新邻域，候选集合以位图形式增量维护，
+ * 生成时直接写入调用方提供的int缓冲区，不产生装箱和临时集合
+ */
+public class CandidateGenerator {
+
+    public static final int RADIUS = 2;
+
+    private static final int CENTER = BitBoard.toPosition(BitBoard.SIZE / 2, BitBoard.SIZE / 2);
+
+    // 每个格子的邻域（不含自身）
+    private static final int[][] NEIGHBOURS = new int[BitBoard.CELLS][];
+
+    static {
+        int[] scratch = new int[(2 * RADIUS + 1) * (2 * RADIUS + 1)];
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            int row = pos / BitBoard.SIZE;
+            int col = pos % BitBoard.SIZE;
+            int count = 0;
+            for (int dr = -RADIUS; dr <= RADIUS; dr++) {
+                for (int dc = -RADIUS; dc <= RADIUS; dc++) {
+                    int r = row + dr;
+                    int c = col + dc;
+                    if ((dr != 0 || dc != 0) && r >= 0 && r < BitBoard.SIZE && c >= 0 && c < BitBoard.SIZE) {
+                        scratch[count++] = BitBoard.toPosition(r, c);
+                    }
+                }
+            }
+            NEIGHBOURS[pos] = Arrays.copyOf(scratch, count);
+        }
+    }
+
+    private final int[] nearCount = new int[BitBoard.CELLS];
+    private final long[] nearBits = new long[BitBoard.WORDS];
+
+    /**
+     * 根据已有棋盘初始化
+     */
+    public static CandidateGenerator fromBoard(BitBoard board) {
+        CandidateGenerator generator = new CandidateGenerator();
+        generator.reset(board);
+        return generator;
+    }
+
+    /**
+     * 按棋盘内容重新计算
+     */
+    public void reset(BitBoard board) {
+        Arrays.fill(nearCount, 0);
+        Arrays.fill(nearBits, 0L);
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            if (!board.isEmpty(pos)) {
+                add(pos);
+            }
+        }
+    }
+
+    /**
+     * 在pos落子后调用
+     */
+    public void add(int pos) {
+        for (int neighbour : NEIGHBOURS[pos]) {
+            if (nearCount[neighbour]++ == 0) {
+                nearBits[neighbour >>> 6] |= 1L << neighbour;
+            }
+        }
+    }
+
+    /**
+     * 在pos提子后调用
+     */
+    public void remove(int pos) {
+        for (int neighbour : NEIGHBOURS[pos]) {
+            if (--nearCount[neighbour] == 0) {
+                nearBits[neighbour >>> 6] &= ~(1L << neighbour);
+            }
+        }
+    }
+
+    /**
+     * 生成候选着法
+     * 空棋盘时只返回天元，邻域内没有空位时返回全部空位
+     *
+     * @param board 当前棋盘
+     * @param buffer 输出缓冲区，长度至少为BitBoard.CELLS
+     * @return 候选数量
+     */
+    public int generate(BitBoard board, int[] buffer) {
+        if (board.getStoneCount() == 0) {
+            buffer[0] = CENTER;
+            return 1;
+        }
+        int count = 0;
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            long bits = nearBits[word] & ~board.occupiedWord(word);
+            while (bits != 0) {
+                buffer[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        if (count == 0 && !board.isFull()) {
+            // 邻域已全部占满时退回到所有空位
+            for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+                if (board.isEmpty(pos)) {
+                    buffer[count++] = pos;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * pos是否处于某个棋子的邻域内
+     */
+    public boolean isNear(int pos) {
+        return nearCount[pos] > 0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 一档难度的搜索配置
+ * 每档难度都走同一条搜索流程，强弱和单步开销只由这里的参数决定：
+ * 迭代加深的最大深度、节点预算、时间预算、根节点候选宽度、根节点随机扰动和搜索线程数，
+ * 以及是否先做威胁空间搜索。节点预算和时间预算同时生效，先到者为准，单步开销因此有上限
+ */
+public final class DifficultyProfile {
+
+    private final int level;
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final long timeBudgetMs;
+    private final int candidateWidth;
+    private final int randomness;
+    private final int threads;
+    private final boolean threatSearch;
+
+    /**
+     * @param level 难度（1-3）
+     * @param maxDepth 迭代加深最大深度
+     * @param nodeBudget 单步Alpha-Beta节点预算（多线程时合计），0表示不限
+     * @param timeBudgetMs 单步时间预算
+     * @param candidateWidth 按位置评估只保留得分最高的若干个根节点候选，0表示不限
+     * @param randomness 根节点评估加分上叠加的随机扰动上限，0表示确定性走子
+     * @param threads 搜索线程数
+     * @param threatSearch 是否先用威胁空间搜索寻找强制胜
+     */
+    public DifficultyProfile(int level, int maxDepth, long nodeBudget, long timeBudgetMs, int candidateWidth,
+                             int randomness, int threads, boolean threatSearch) {
+        if (maxDepth < 1 || maxDepth >= AlphaBetaSearch.MAX_PLY) {
+            throw new IllegalArgumentException("难度" + level + "的最大深度必须在1到" + (AlphaBetaSearch.MAX_PLY - 1) + "之间");
+        }
+        if (nodeBudget < 0 || timeBudgetMs <= 0 || candidateWidth < 0 || randomness < 0 || threads < 1) {
+            throw new IllegalArgumentException("难度" + level + "的搜索配置无效");
+        }
+        this.level = level;
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetMs = timeBudgetMs;
+        this.candidateWidth = candidateWidth;
+        this.randomness = randomness;
+        this.threads = threads;
+        this.threatSearch = threatSearch;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public int getCandidateWidth() {
+        return candidateWidth;
+    }
+
+    public int getRandomness() {
+        return randomness;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isThreatSearch() {
+        return threatSearch;
+    }
+
+    /**
+     * 按根节点评估加分从高到低排序候选，只保留前candidateWidth个
+     *
+     * @return 保留的候选数量
+     */
+    public int narrow(int[] moves, int count, int[] rootBonus) {
+        int keep = candidateWidth > 0 ? Math.min(count, candidateWidth) : count;
+        for (int k = 0; k < keep; k++) {
+            int best = k;
+            for (int i = k + 1; i < count; i++) {
+                if (rootBonus[moves[i]] > rootBonus[moves[best]]) {
+                    best = i;
+                }
+            }
+            int pos = moves[k];
+            moves[k] = moves[best];
+            moves[best] = pos;
+        }
+        return keep;
+    }
+
+    @Override
+    public String toString() {
+        return "maxDepth=" + maxDepth + ", nodeBudget=" + nodeBudget + ", timeBudgetMs=" + timeBudgetMs
+                + ", candidateWidth=" + candidateWidth + ", randomness=" + randomness + ", threads=" + threads
+                + ", threatSearch=" + threatSearch;
+    }
+}
@@ -0,0 +1,32 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 简单/中等/困难三档难度的搜索配置
+ */
+public final class DifficultyProfiles {
+
+    public static final String[] TIERS = {"easy", "medium", "hard"};
+
+    private final DifficultyProfile[] profiles;
+
+    public DifficultyProfiles(DifficultyProfile easy, DifficultyProfile medium, DifficultyProfile hard) {
+        this.profiles = new DifficultyProfile[]{easy, medium, hard};
+    }
+
+    /**
+     * 默认配置，与application.yml中ai.difficulty的默认值一致
+     */
+    public static DifficultyProfiles defaults() {
+        return new DifficultyProfiles(
+                new DifficultyProfile(1, 1, 5_000, 200, 8, 150, 1, false),
+                new DifficultyProfile(2, 3, 100_000, 500, 15, 30, 1, false),
+                new DifficultyProfile(3, 8, 4_000_000, 1000, 0, 0, 4, true));
+    }
+
+    /**
+     * 取某档难度的配置，超出范围时取最近的一档
+     */
+    public DifficultyProfile get(int difficulty) {
+        return profiles[Math.max(1, Math.min(profiles.length, difficulty)) - 1];
+    }
+}
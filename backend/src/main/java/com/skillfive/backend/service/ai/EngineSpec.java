@@ -0,0 +1,241 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 自对弈引擎配置
+ * 用一行文本描述引擎及参数，例如
+ * "alphabeta:depth=8,nodes=0,threads=1,tt=4,threats=true,width=0,noise=0,book=false,pvs=true,lmr=true,null=true,ext=false"
+ * 或 "mcts:iterations=0,threads=1,c=1.4"，
+ * 未写出的参数取与application.yml中困难难度默认值一致的取值。
+ * alphabeta引擎走与正式对局相同的SearchPipeline；局面缓存跨对局共享，会让两个引擎互相借用结果，比赛中不使用
+ */
+public final class EngineSpec {
+
+    public static final String ALPHA_BETA = "alphabeta";
+    public static final String MCTS = "mcts";
+
+    private final String text;
+    private final String engine;
+    private int maxDepth = 8;
+    private long nodeBudget; // 0表示不限
+    private int threads = 1;
+    private int tableSizeMb = 4;
+    private boolean threats = true;
+    private int threatNodeLimit = 20000;
+    private int threatMaxDepth = 12;
+    private int candidateWidth;
+    private int randomness;
+    private boolean book;
+    private boolean pvs = true;
+    private boolean lmr = true;
+    private boolean nullMove = true;
+    private boolean extensions;
+    private long iterations;
+    private double exploration = 1.4;
+    private int maxChildren = 20;
+    private int expandThreshold = 1;
+    private int maxPlayoutPlies = 60;
+
+    private EngineSpec(String text, String engine) {
+        this.text = text;
+        this.engine = engine;
+    }
+
+    /**
+     * 解析配置文本
+     *
+     * @throws IllegalArgumentException 引擎名或参数无法识别
+     */
+    public static EngineSpec parse(String text) {
+        String trimmed = text.trim();
+        int colon = trimmed.indexOf(':');
+        String engine = (colon < 0 ? trimmed : trimmed.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+        if (!ALPHA_BETA.equals(engine) && !MCTS.equals(engine)) {
+            throw new IllegalArgumentException("未知的引擎: " + engine);
+        }
+        EngineSpec spec = new EngineSpec(trimmed, engine);
+        if (colon < 0 || colon == trimmed.length() - 1) {
+            return spec;
+        }
+        for (String option : trimmed.substring(colon + 1).split(",")) {
+            int eq = option.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("参数格式应为 key=value: " + option);
+            }
+            spec.set(option.substring(0, eq).trim(), option.substring(eq + 1).trim());
+        }
+        return spec;
+    }
+
+    private void set(String key, String value) {
+        try {
+            switch (key) {
+                case "depth":
+                    maxDepth = Integer.parseInt(value);
+                    break;
+                case "nodes":
+                    nodeBudget = Long.parseLong(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "tt":
+                    tableSizeMb = Integer.parseInt(value);
+                    break;
+                case "threats":
+                    threats = Boolean.parseBoolean(value);
+                    break;
+                case "threat-nodes":
+                    threatNodeLimit = Integer.parseInt(value);
+                    break;
+                case "threat-depth":
+                    threatMaxDepth = Integer.parseInt(value);
+                    break;
+                case "width":
+                    candidateWidth = Integer.parseInt(value);
+                    break;
+                case "noise":
+                    randomness = Integer.parseInt(value);
+                    break;
+                case "book":
+                    book = Boolean.parseBoolean(value);
+                    break;
+                case "pvs":
+                    pvs = Boolean.parseBoolean(value);
+                    break;
+                case "lmr":
+                    lmr = Boolean.parseBoolean(value);
+                    break;
+                case "null":
+                    nullMove = Boolean.parseBoolean(value);
+                    break;
+                case "ext":
+                    extensions = Boolean.parseBoolean(value);
+                    break;
+                case "iterations":
+                    iterations = Long.parseLong(value);
+                    break;
+                case "c":
+                    exploration = Double.parseDouble(value);
+                    break;
+                case "children":
+                    maxChildren = Integer.parseInt(value);
+                    break;
+                case "expand":
+                    expandThreshold = Integer.parseInt(value);
+                    break;
+                case "plies":
+                    maxPlayoutPlies = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知的参数: " + key);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("参数值格式错误: " + key + "=" + value);
+        }
+    }
+
+    /**
+     * 创建一局对局使用的引擎实例，不使用开局库
+     *
+     * @param pool threads大于1时使用的搜索线程池，可为null
+     * @param seed 随机种子（MCTS的模拟和Alpha-Beta根节点的随机扰动）
+     */
+    public SelfPlayEngine create(ForkJoinPool pool, long seed) {
+        return create(pool, seed, OpeningBook.empty(), 0);
+    }
+
+    /**
+     * 创建一局对局使用的引擎实例
+     *
+     * @param openingBook book=true时使用的开局库
+     * @param bookMaxStones 棋子数不超过该值时查询开局库
+     */
+    public SelfPlayEngine create(ForkJoinPool pool, long seed, OpeningBook openingBook, int bookMaxStones) {
+        if (MCTS.equals(engine)) {
+            return new MctsEngine(this, pool, seed);
+        }
+        return new AlphaBetaEngine(this, pool, seed, book ? openingBook : OpeningBook.empty(), bookMaxStones);
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * 与正式对局相同的选点流程，参数来自配置文本，视为困难难度
+     */
+    private static final class AlphaBetaEngine implements SelfPlayEngine {
+
+        private final SearchPipeline pipeline;
+        private final AiSession session;
+        private final DifficultyProfile profile;
+        private long lastNodes;
+
+        AlphaBetaEngine(EngineSpec spec, ForkJoinPool pool, long seed, OpeningBook openingBook, int bookMaxStones) {
+            this.pipeline = new SearchPipeline(pool,
+                    new SearchFeatures(spec.pvs, spec.lmr, spec.nullMove, spec.extensions), new Random(seed));
+            this.pipeline.setOpeningBook(openingBook, bookMaxStones);
+            this.session = new AiSession(null, 3, spec.tableSizeMb, spec.threatNodeLimit, spec.threatMaxDepth);
+            // 时间由比赛的每步截止时间控制，配置中的时间预算不生效
+            this.profile = new DifficultyProfile(3, spec.maxDepth, spec.nodeBudget, Long.MAX_VALUE / 1_000_000L,
+                    spec.candidateWidth, spec.randomness, spec.threads, spec.threats);
+        }
+
+        @Override
+        public int selectMove(SearchBoard board, int colour, long deadlineNanos) {
+            SearchStats stats = new SearchStats(ALPHA_BETA, 3);
+            int move = pipeline.selectMove(session, board, profile, colour, deadlineNanos, stats);
+            lastNodes = stats.getNodes();
+            return move;
+        }
+
+        @Override
+        public long getLastNodes() {
+            return lastNodes;
+        }
+    }
+
+    /**
+     * 蒙特卡洛树搜索，回合之间复用子树
+     */
+    private static final class MctsEngine implements SelfPlayEngine {
+
+        private final EngineSpec spec;
+        private final ForkJoinPool pool;
+        private final MctsSearch search;
+        private long lastNodes;
+
+        MctsEngine(EngineSpec spec, ForkJoinPool pool, long seed) {
+            this.spec = spec;
+            this.pool = pool;
+            this.search = new MctsSearch(spec.exploration, spec.maxChildren, spec.expandThreshold,
+                    spec.maxPlayoutPlies, seed);
+        }
+
+        @Override
+        public int selectMove(SearchBoard board, int colour, long deadlineNanos) {
+            search.setRoot(board.getBoard(), colour);
+            int move = search.search(pool, spec.threads, spec.iterations, deadlineNanos);
+            lastNodes = search.getIterations();
+            return move;
+        }
+
+        @Override
+        public long getLastNodes() {
+            return lastNodes;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 增量评估器
+ * 按线维护棋型得分（黑方得分减白方得分），某格落子/提子后只重算经过该格的四条线，
+ * 当前局面的总评估值可在O(1)内取得，结果与PatternTable.evaluate一致
+ */
+public class IncrementalEvaluator {
+
+    // 每条线上所有棋子在该方向的棋型得分，站在黑方角度
+    private final int[][] lineScores = new int[BitBoard.DIRECTIONS][];
+    // 每个格子当前计入的中心加分，站在黑方角度
+    private final int[] cellBonus = new int[BitBoard.CELLS];
+    private int total;
+
+    public IncrementalEvaluator() {
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            lineScores[dir] = new int[BitBoard.lineCount(dir)];
+        }
+    }
+
+    /**
+     * 按棋盘当前内容重新计算全部线得分
+     */
+    public void reset(BitBoard board) {
+        total = 0;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            for (int line = 0; line < BitBoard.lineCount(dir); line++) {
+                lineScores[dir][line] = scoreLine(board, dir, line);
+                total += lineScores[dir][line];
+            }
+        }
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            cellBonus[pos] = bonusOf(board, pos);
+            total += cellBonus[pos];
+        }
+    }
+
+    /**
+     * pos处落子或提子之后调用，只重算经过该格的四条线
+     */
+    public void update(BitBoard board, int pos) {
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            int line = BitBoard.lineOf(dir, pos);
+            int score = scoreLine(board, dir, line);
+            total += score - lineScores[dir][line];
+            lineScores[dir][line] = score;
+        }
+        int bonus = bonusOf(board, pos);
+        total += bonus - cellBonus[pos];
+        cellBonus[pos] = bonus;
+    }
+
+    /**
+     * 当前评估值，站在colour方角度
+     */
+    public int score(int colour) {
+        return colour == BitBoard.BLACK ? total : -total;
+    }
+
+    private static int scoreLine(BitBoard board, int dir, int line) {
+        int score = 0;
+        for (int colour = 0; colour < 2; colour++) {
+            int bits = board.lineBits(colour, dir, line);
+            int sum = 0;
+            while (bits != 0) {
+                int pos = BitBoard.positionAt(dir, line, Integer.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+                sum += PatternTable.score(colour, PatternTable.keyOf(board, dir, pos));
+            }
+            score += colour == BitBoard.BLACK ? sum : -sum;
+        }
+        return score;
+    }
+
+    private static int bonusOf(BitBoard board, int pos) {
+        int colour = board.get(pos);
+        if (colour == BitBoard.NONE) {
+            return 0;
+        }
+        int bonus = PatternTable.centerBonus(pos);
+        return colour == BitBoard.BLACK ? bonus : -bonus;
+    }
+}
@@ -0,0 +1,105 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 整盘连线扫描
+ * 棋盘按行存成位掩码数组：rows[r]的第c位对应(r, c)格。把第r+k行右移/左移k位后与第r行对齐，
+ * 一次位与即可同时检查以第r行各格为起点的纵向、斜向五格窗口，不再逐格沿方向计数。
+ * 数组长度为ROWS，棋盘以外的行必须为0，这样向量实现可以按整段行做对齐加载。
+ * Vector API实现（src/vector/java，只在vector profile下编译）存在且运行时加入jdk.incubator.vector模块时
+ * 默认使用它，多行并行处理；否则或设置 -Dai.vector.enabled=false 时使用逐行的标量实现，两者结果一致
+ */
+public abstract class LineScanner {
+
+    public static final int SIZE = BitBoard.SIZE;
+
+    // 补0的行数：最后一段向量加载从第SIZE-1行附近开始，再偏移4行
+    public static final int ROWS = 32;
+
+    public static final int ROW_MASK = (1 << SIZE) - 1;
+
+    private static final LineScanner SCALAR = new ScalarLineScanner();
+    private static final LineScanner VECTOR = loadVector();
+    private static final LineScanner DEFAULT =
+            VECTOR != null && Boolean.parseBoolean(System.getProperty("ai.vector.enabled", "true")) ? VECTOR : SCALAR;
+
+    /**
+     * 当前使用的实现
+     */
+    public static LineScanner getDefault() {
+        return DEFAULT;
+    }
+
+    public static LineScanner scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Vector API实现，未编译该实现或模块不可用时返回null
+     */
+    public static LineScanner vector() {
+        return VECTOR;
+    }
+
+    /**
+     * 向量实现引用了孵化模块中的类，只能反射加载；未编译时找不到类，缺少模块时在类初始化阶段抛出LinkageError
+     */
+    private static LineScanner loadVector() {
+        try {
+            Class<?> type = Class.forName(LineScanner.class.getPackageName() + ".VectorLineScanner");
+            return (LineScanner) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public static int[] newRows() {
+        return new int[ROWS];
+    }
+
+    /**
+     * 从Game.boardState字符串取出symbol方棋子的行掩码
+     */
+    public static void load(String board, char symbol, int[] rows) {
+        for (int r = 0; r < SIZE; r++) {
+            int bits = 0;
+            int offset = r * SIZE;
+            for (int c = 0; c < SIZE; c++) {
+                if (board.charAt(offset + c) == symbol) {
+                    bits |= 1 << c;
+                }
+            }
+            rows[r] = bits;
+        }
+    }
+
+    /**
+     * 从位棋盘取出colour方棋子和空位的行掩码，直接复用位棋盘维护的行线掩码
+     */
+    public static void load(BitBoard board, int colour, int[] own, int[] empty) {
+        int opponent = BitBoard.opponent(colour);
+        for (int r = 0; r < SIZE; r++) {
+            int mine = board.lineBits(colour, BitBoard.DIR_ROW, r);
+            own[r] = mine;
+            empty[r] = ~(mine | board.lineBits(opponent, BitBoard.DIR_ROW, r)) & ROW_MASK;
+        }
+    }
+
+    /**
+     * 实现名称，用于日志和基准测试
+     */
+    public abstract String getName();
+
+    /**
+     * rows中是否有任意方向的五连
+     */
+    public abstract boolean hasFive(int[] rows);
+
+    /**
+     * 成五点：落子后能形成五连的空位，即某个五格窗口内已有4颗己方棋子、剩下一格为空。
+     * 结果按行写入out（长度ROWS，先清零）
+     *
+     * @param own 己方棋子的行掩码
+     * @param empty 空位的行掩码
+     */
+    public abstract void fivePoints(int[] own, int[] empty, int[] out);
+}
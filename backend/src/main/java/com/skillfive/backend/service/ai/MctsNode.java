@@ -0,0 +1,61 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 蒙特卡洛树节点
+ * 统计量用字段更新器做无锁累加，不为每个节点额外创建原子对象；
+ * 子节点只在首次展开时加锁创建，之后只读
+ */
+final class MctsNode {
+
+    private static final AtomicIntegerFieldUpdater<MctsNode> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(MctsNode.class, "visits");
+    private static final AtomicIntegerFieldUpdater<MctsNode> VIRTUAL_LOSS =
+            AtomicIntegerFieldUpdater.newUpdater(MctsNode.class, "virtualLoss");
+    private static final AtomicLongFieldUpdater<MctsNode> HALF_POINTS =
+            AtomicLongFieldUpdater.newUpdater(MctsNode.class, "halfPoints");
+
+    final int move;       // 到达该节点的着法，根节点为-1
+    final int mover;      // 走出该着法的一方，根节点为根局面行棋方的对手
+    final boolean winning; // 该着法直接成五
+
+    volatile MctsNode[] children; // null表示尚未展开
+    private volatile int visits;
+    private volatile int virtualLoss;
+    private volatile long halfPoints; // 站在mover角度：胜2分、和1分、负0分
+
+    MctsNode(int move, int mover, boolean winning) {
+        this.move = move;
+        this.mover = mover;
+        this.winning = winning;
+    }
+
+    int visits() {
+        return visits;
+    }
+
+    long halfPoints() {
+        return halfPoints;
+    }
+
+    int virtualLoss() {
+        return virtualLoss;
+    }
+
+    void addVirtualLoss() {
+        VIRTUAL_LOSS.incrementAndGet(this);
+    }
+
+    /**
+     * 回传一次模拟结果并撤销路径上的虚拟损失
+     */
+    void update(int points, boolean removeVirtualLoss) {
+        VISITS.incrementAndGet(this);
+        HALF_POINTS.addAndGet(this, points);
+        if (removeVirtualLoss) {
+            VIRTUAL_LOSS.decrementAndGet(this);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 蒙特卡洛树搜索（UCT）
+ * 选择阶段按UCB1公式下降，叶节点访问达到阈值后展开：能直接成五时只保留成五点，
+ * 对手有成五点时只保留防守点，否则按棋型表得分保留前maxChildren个着法并按得分排序，
+ * 未访问的子节点按此顺序优先尝试。模拟阶段在位棋盘上按棋型得分加权随机落子，
+ * 超过最大步数时按整盘评估判定胜负。
+ * 多线程时各线程在同一棵树上搜索，下降路径上的节点加虚拟损失使其他线程分散到别的分支。
+ * 同一实例在回合之间保留整棵树，新局面是上一次根局面之后两步以内时直接复用对应子树。
+ * 设置节点上限后，树达到上限时叶节点不再展开、只做模拟，复用的子树超过上限时丢弃重建，
+ * 只受时间预算限制的搜索和回合间复用的树因此都不会无限增长。
+ * 实例不是线程安全的，同一时刻只能进行一次搜索
+ */
+public class MctsSearch {
+
+    // 模拟截断时评估差超过该值才判定胜负，否则按和棋计
+    private static final int CUTOFF_MARGIN = PatternTable.OPEN_THREE * 2;
+    private static final int BLOCK = Integer.MAX_VALUE;
+    private static final int CHECK_INTERVAL = 64;
+
+    private final double exploration;
+    private final int maxChildren;
+    private final int expandThreshold;
+    private final int maxPlayoutPlies;
+    private final long seed;
+
+    private final BitBoard rootBoard = new BitBoard();
+    private int rootColour;
+    private MctsNode root;
+    private Worker[] workers = new Worker[0];
+
+    // 树中的节点数（复用子树时为估计值，超过上限才重新精确统计）和上限，0表示不限
+    private final AtomicLong nodeCount = new AtomicLong();
+    private long maxNodes;
+
+    private long iterations;
+
+    /**
+     * @param exploration UCB1探索系数
+     * @param maxChildren 每个节点最多展开的子节点数
+     * @param expandThreshold 叶节点访问达到该次数后展开
+     * @param maxPlayoutPlies 单次模拟的最大步数
+     * @param seed 随机种子，固定种子且单线程时结果可复现
+     */
+    public MctsSearch(double exploration, int maxChildren, int expandThreshold, int maxPlayoutPlies, long seed) {
+        this.exploration = exploration;
+        this.maxChildren = Math.max(1, maxChildren);
+        this.expandThreshold = Math.max(1, expandThreshold);
+        this.maxPlayoutPlies = maxPlayoutPlies;
+        this.seed = seed;
+    }
+
+    /**
+     * 设置树的节点上限，0表示不限
+     */
+    public void setMaxNodes(long maxNodes) {
+        this.maxNodes = Math.max(0, maxNodes);
+    }
+
+    /**
+     * 树中的节点数；复用子树后可能偏大（仍计入了被丢弃的兄弟分支）
+     */
+    public long getNodeCount() {
+        return nodeCount.get();
+    }
+
+    /**
+     * 设置根局面，若是上一次根局面之后两步以内的局面则复用对应子树；复用的子树超过节点上限时重建
+     *
+     * @param board 当前局面
+     * @param colour 行棋方
+     * @return 是否复用了已有子树
+     */
+    public boolean setRoot(BitBoard board, int colour) {
+        MctsNode reused = root != null ? findDescendant(root, rootBoard.getHash(), rootColour, board, colour, 2) : null;
+        if (reused != null && maxNodes > 0 && nodeCount.get() >= maxNodes) {
+            long size = countNodes(reused);
+            if (size >= maxNodes) {
+                reused = null;
+            } else {
+                nodeCount.set(size);
+            }
+        }
+        rootBoard.copyFrom(board);
+        rootColour = colour;
+        if (reused == null) {
+            root = new MctsNode(-1, BitBoard.opponent(colour), false);
+            nodeCount.set(1);
+        } else {
+            root = reused;
+        }
+        return reused != null;
+    }
+
+    private static long countNodes(MctsNode node) {
+        long count = 1;
+        MctsNode[] children = node.children;
+        if (children != null) {
+            for (MctsNode child : children) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private MctsNode findDescendant(MctsNode node, long hash, int toMove, BitBoard board, int colour, int depth) {
+        if (hash == board.getHash() && toMove == colour) {
+            return node;
+        }
+        MctsNode[] children = node.children;
+        if (depth == 0 || children == null) {
+            return null;
+        }
+        for (MctsNode child : children) {
+            if (board.get(child.move) != child.mover) {
+                continue;
+            }
+            MctsNode found = findDescendant(child, hash ^ Zobrist.stoneKey(child.mover, child.move),
+                    BitBoard.opponent(toMove), board, colour, depth - 1);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在迭代次数或时间预算内搜索当前根局面
+     *
+     * @param pool 并行模拟使用的线程池，为null或threads为1时在调用线程上串行执行
+     * @param threads 使用的线程数
+     * @param maxIterations 本次最多模拟次数，0表示只受时间限制
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 最佳着法位置，棋盘已满时返回-1
+     */
+    public int search(ForkJoinPool pool, int threads, long maxIterations, long deadlineNanos) {
+        if (root == null) {
+            throw new IllegalStateException("未设置根局面");
+        }
+        int workerCount = pool == null ? 1 : Math.max(1, Math.min(threads, pool.getParallelism()));
+        ensureWorkers(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers[i].reset();
+        }
+
+        MctsNode searchRoot = root;
+        MctsNode[] children = searchRoot.children;
+        if (children == null) {
+            children = workers[0].expand(searchRoot, rootColour);
+        }
+        iterations = 0;
+        if (children.length == 0) {
+            return -1;
+        }
+        if (children.length == 1 || children[0].winning) {
+            return children[0].move; // 唯一着法或直接成五，无需模拟
+        }
+
+        // claimed用于分配迭代预算，completed统计实际完成的模拟次数
+        AtomicLong claimed = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        if (workerCount == 1) {
+            workers[0].run(searchRoot, claimed, completed, maxIterations, deadlineNanos);
+        } else {
+            ForkJoinTask<?>[] tasks = new ForkJoinTask[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                Worker worker = workers[i];
+                tasks[i] = pool.submit(() ->
+                        worker.run(searchRoot, claimed, completed, maxIterations, deadlineNanos));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        iterations = completed.get();
+        return bestMove();
+    }
+
+    /**
+     * 访问次数最多的根子节点
+     */
+    public int bestMove() {
+        MctsNode[] children = root != null ? root.children : null;
+        if (children == null || children.length == 0) {
+            return -1;
+        }
+        MctsNode best = children[0];
+        for (MctsNode child : children) {
+            if (child.winning) {
+                return child.move;
+            }
+            if (child.visits() > best.visits()) {
+                best = child;
+            }
+        }
+        return best.move;
+    }
+
+    /**
+     * 本次搜索完成的模拟次数
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * 根节点累计访问次数（含复用子树时继承的访问）
+     */
+    public int getRootVisits() {
+        return root != null ? root.visits() : 0;
+    }
+
+    /**
+     * 根节点某子着法的访问次数，未展开或不存在时返回0
+     */
+    public int getVisits(int move) {
+        MctsNode[] children = root != null ? root.children : null;
+        if (children != null) {
+            for (MctsNode child : children) {
+                if (child.move == move) {
+                    return child.visits();
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void ensureWorkers(int count) {
+        if (workers.length >= count) {
+            return;
+        }
+        Worker[] grown = new Worker[count];
+        System.arraycopy(workers, 0, grown, 0, workers.length);
+        for (int i = workers.length; i < count; i++) {
+            grown[i] = new Worker(seed + i);
+        }
+        workers = grown;
+    }
+
+    /**
+     * 单个模拟线程：持有自己的棋盘副本和缓冲区，每次模拟落子后全部撤销
+     */
+    private final class Worker {
+
+        private final BitBoard board = new BitBoard();
+        private final CandidateGenerator candidates = new CandidateGenerator();
+        private final int[] moves = new int[BitBoard.CELLS];
+        private final int[] scores = new int[BitBoard.CELLS];
+        private final int[] played = new int[BitBoard.CELLS];
+        private final MctsNode[] path = new MctsNode[BitBoard.CELLS + 1];
+        private final SplittableRandom random;
+        private int playedCount;
+
+        Worker(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+
+        void reset() {
+            board.copyFrom(rootBoard);
+            candidates.reset(board);
+            playedCount = 0;
+        }
+
+        void run(MctsNode searchRoot, AtomicLong claimed, AtomicLong completed, long maxIterations,
+                 long deadlineNanos) {
+            for (long done = 0; ; done++) {
+                if (maxIterations > 0 && claimed.getAndIncrement() >= maxIterations) {
+                    break;
+                }
+                if ((done & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadlineNanos) {
+                    break;
+                }
+                iterate(searchRoot);
+                completed.incrementAndGet();
+            }
+        }
+
+        /**
+         * 一次完整的选择-展开-模拟-回传
+         */
+        private void iterate(MctsNode searchRoot) {
+            int depth = 0;
+            MctsNode node = searchRoot;
+            path[depth++] = node;
+            int colour = rootColour;
+            int winner;
+
+            while (true) {
+                if (node.winning) {
+                    winner = node.mover;
+                    break;
+                }
+                MctsNode[] children = node.children;
+                if (children == null) {
+                    if (node != searchRoot && (node.visits() < expandThreshold
+                            || (maxNodes > 0 && nodeCount.get() >= maxNodes))) {
+                        winner = playout(colour);
+                        break;
+                    }
+                    children = expand(node, colour);
+                }
+                if (children.length == 0) {
+                    winner = BitBoard.NONE; // 棋盘已满
+                    break;
+                }
+                MctsNode child = select(node, children);
+                child.addVirtualLoss();
+                play(child.move, colour);
+                path[depth++] = child;
+                colour = BitBoard.opponent(colour);
+                node = child;
+            }
+
+            for (int i = 0; i < depth; i++) {
+                MctsNode visited = path[i];
+                int points = winner == BitBoard.NONE ? 1 : winner == visited.mover ? 2 : 0;
+                visited.update(points, i > 0);
+                path[i] = null;
+            }
+            while (playedCount > 0) {
+                int pos = played[--playedCount];
+                board.remove(pos);
+                candidates.remove(pos);
+            }
+        }
+
+        /**
+         * UCB1选择，直接成五的子节点优先，未访问的子节点按展开时的顺序优先
+         */
+        private MctsNode select(MctsNode node, MctsNode[] children) {
+            double logParent = Math.log(Math.max(1, node.visits() + node.virtualLoss()));
+            MctsNode best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (MctsNode child : children) {
+                if (child.winning) {
+                    return child;
+                }
+                int n = child.visits() + child.virtualLoss();
+                if (n == 0) {
+                    return child;
+                }
+                // 虚拟损失只增加访问次数不增加得分，相当于记为输棋
+                double value = child.halfPoints() / (2.0 * n) + exploration * Math.sqrt(logParent / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * 展开节点，其他线程已展开时直接返回已有结果
+         */
+        MctsNode[] expand(MctsNode node, int colour) {
+            synchronized (node) {
+                MctsNode[] existing = node.children;
+                if (existing != null) {
+                    return existing;
+                }
+                MctsNode[] children = createChildren(colour);
+                node.children = children;
+                nodeCount.addAndGet(children.length);
+                return children;
+            }
+        }
+
+        private MctsNode[] createChildren(int colour) {
+            int count = candidates.generate(board, moves);
+            int opponent = BitBoard.opponent(colour);
+            int blocks = 0;
+            for (int i = 0; i < count; i++) {
+                int pos = moves[i];
+                int attack = PatternTable.scoreAt(board, pos, colour);
+                if (attack >= PatternTable.FIVE) {
+                    return new MctsNode[]{new MctsNode(pos, colour, true)};
+                }
+                int defence = PatternTable.scoreAt(board, pos, opponent);
+                if (defence >= PatternTable.FIVE) {
+                    scores[i] = BLOCK;
+                    blocks++;
+                } else {
+                    scores[i] = attack * 2 + defence;
+                }
+            }
+
+            // 对手有成五点时只需考虑防守；否则按得分取前maxChildren个
+            int keep = blocks > 0 ? blocks : Math.min(count, maxChildren);
+            MctsNode[] children = new MctsNode[keep];
+            for (int k = 0; k < keep; k++) {
+                int best = k;
+                for (int i = k + 1; i < count; i++) {
+                    if (scores[i] > scores[best]) {
+                        best = i;
+                    }
+                }
+                swap(k, best);
+                children[k] = new MctsNode(moves[k], colour, false);
+            }
+            return children;
+        }
+
+        /**
+         * 按棋型得分加权随机落子直到分出胜负或达到最大步数
+         *
+         * @return 胜方，和棋返回NONE
+         */
+        private int playout(int colour) {
+            for (int ply = 0; ply < maxPlayoutPlies; ply++) {
+                int count = candidates.generate(board, moves);
+                if (count == 0) {
+                    return BitBoard.NONE;
+                }
+                int opponent = BitBoard.opponent(colour);
+                int block = -1;
+                long total = 0;
+                for (int i = 0; i < count; i++) {
+                    int pos = moves[i];
+                    int attack = PatternTable.scoreAt(board, pos, colour);
+                    if (attack >= PatternTable.FIVE) {
+                        return colour;
+                    }
+                    int defence = PatternTable.scoreAt(board, pos, opponent);
+                    if (defence >= PatternTable.FIVE) {
+                        block = pos;
+                    }
+                    scores[i] = attack * 2 + defence + 1;
+                    total += scores[i];
+                }
+                int pos = block;
+                if (pos < 0) {
+                    long r = random.nextLong(total);
+                    int i = 0;
+                    while ((r -= scores[i]) >= 0) {
+                        i++;
+                    }
+                    pos = moves[i];
+                }
+                play(pos, colour);
+                colour = opponent;
+            }
+            int eval = PatternTable.evaluate(board, BitBoard.BLACK);
+            if (eval > CUTOFF_MARGIN) {
+                return BitBoard.BLACK;
+            }
+            if (eval < -CUTOFF_MARGIN) {
+                return BitBoard.WHITE;
+            }
+            return BitBoard.NONE;
+        }
+
+        private void play(int pos, int colour) {
+            board.place(pos, colour);
+            candidates.add(pos);
+            played[playedCount++] = pos;
+        }
+
+        private void swap(int i, int j) {
+            int move = moves[i];
+            moves[i] = moves[j];
+            moves[j] = move;
+            int score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
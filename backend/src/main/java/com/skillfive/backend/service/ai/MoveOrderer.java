@@ -0,0 +1,100 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 着法排序
+ * 置换表着法由搜索本身最先尝试，其余候选依次按：直接成五、堵对方成五、
+ * 本层杀手着法、历史启发分数排序。
+ * 所有分数数组在构造时分配并反复使用，排序过程不分配内存；实例本身不是线程安全的
+ */
+public class MoveOrderer {
+
+    private static final int WIN = Integer.MAX_VALUE;
+    private static final int BLOCK = WIN - 1;
+    private static final int KILLER_PRIMARY = WIN - 2;
+    private static final int KILLER_SECONDARY = WIN - 3;
+    // 历史分数上限，超过后整体减半，避免越过杀手着法的分档
+    private static final int HISTORY_LIMIT = 1 << 24;
+
+    private final int[][] killers;
+    private final int[][] history = new int[2][BitBoard.CELLS];
+    private final int[][] scores;
+
+    public MoveOrderer(int maxPly) {
+        killers = new int[maxPly][2];
+        scores = new int[maxPly][BitBoard.CELLS];
+        clear();
+    }
+
+    /**
+     * 清空杀手着法和历史分数
+     */
+    public void clear() {
+        for (int[] killer : killers) {
+            killer[0] = -1;
+            killer[1] = -1;
+        }
+        for (int[] colourHistory : history) {
+            Arrays.fill(colourHistory, 0);
+        }
+    }
+
+    /**
+     * 对候选着法原地排序
+     *
+     * @param board 当前棋盘
+     * @param colour 行棋方
+     * @param ply 当前层数
+     * @param moves 候选着法
+     * @param count 候选数量
+     */
+    public void order(SearchBoard board, int colour, int ply, int[] moves, int count) {
+        int[] moveScores = scores[ply];
+        int opponent = BitBoard.opponent(colour);
+        int[] killer = killers[ply];
+        int[] colourHistory = history[colour];
+        for (int i = 0; i < count; i++) {
+            int pos = moves[i];
+            int score;
+            if (board.isWinningMove(pos, colour)) {
+                score = WIN;
+            } else if (board.isWinningMove(pos, opponent)) {
+                score = BLOCK;
+            } else if (pos == killer[0]) {
+                score = KILLER_PRIMARY;
+            } else if (pos == killer[1]) {
+                score = KILLER_SECONDARY;
+            } else {
+                score = colourHistory[pos];
+            }
+            // 插入排序，候选数量通常只有几十个
+            int j = i;
+            while (j > 0 && moveScores[j - 1] < score) {
+                moveScores[j] = moveScores[j - 1];
+                moves[j] = moves[j - 1];
+                j--;
+            }
+            moveScores[j] = score;
+            moves[j] = pos;
+        }
+    }
+
+    /**
+     * 记录产生beta截断的着法：更新本层杀手着法和历史分数
+     */
+    public void recordCutoff(int colour, int ply, int pos, int depth) {
+        int[] killer = killers[ply];
+        if (killer[0] != pos) {
+            killer[1] = killer[0];
+            killer[0] = pos;
+        }
+        int[] colourHistory = history[colour];
+        colourHistory[pos] += depth * depth;
+        if (colourHistory[pos] > HISTORY_LIMIT) {
+            for (int i = 0; i < BitBoard.CELLS; i++) {
+                colourHistory[i] >>= 1;
+            }
+        }
+    }
+}
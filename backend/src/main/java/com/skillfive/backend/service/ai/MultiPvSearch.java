@@ -0,0 +1,192 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 多主要变例分析
+ * 对任意局面逐层加深，每完成一层就把前N个着法的分数和主要变例交给监听器，供提示和复盘按层推送。
+ * 搜索在独立的棋盘副本和置换表上进行，与对局会话互不影响；可从其他线程取消，取消后不再回调
+ */
+public class MultiPvSearch implements Runnable {
+
+    private final SearchBoard board;
+    private final int colour;
+    private final int lines;
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final AlphaBetaSearch search;
+    private final Consumer<Iteration> listener;
+
+    private volatile boolean cancelled;
+    private volatile int completedDepth;
+    private volatile AlphaBetaSearch.Limit limit = AlphaBetaSearch.Limit.DEPTH;
+
+    /**
+     * @param board 待分析的局面（由本对象独占）
+     * @param colour 该局面下的行棋方
+     * @param lines 每层给出的着法数
+     * @param timeBudgetMs 从开始执行算起的时间预算，不含排队时间
+     * @param listener 每完成一层回调一次，在搜索线程上执行
+     */
+    public MultiPvSearch(SearchBoard board, int colour, int lines, int maxDepth, long timeBudgetMs,
+                         int tableSizeMb, Consumer<Iteration> listener) {
+        if (lines < 1 || maxDepth < 1 || maxDepth >= AlphaBetaSearch.MAX_PLY) {
+            throw new IllegalArgumentException("lines=" + lines + ", maxDepth=" + maxDepth);
+        }
+        this.board = board;
+        this.colour = colour;
+        this.lines = lines;
+        this.maxDepth = maxDepth;
+        this.timeBudgetNanos = timeBudgetMs * 1_000_000L;
+        this.search = new AlphaBetaSearch(new TranspositionTable(tableSizeMb));
+        this.listener = listener;
+    }
+
+    public void setFeatures(SearchFeatures features) {
+        search.setFeatures(features);
+    }
+
+    public void setNodeLimit(long nodeLimit) {
+        search.setNodeLimit(nodeLimit);
+    }
+
+    @Override
+    public void run() {
+        if (cancelled) {
+            limit = AlphaBetaSearch.Limit.STOPPED; // 排队期间已被取消
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        int[] scores = new int[lines];
+        int[] pv = new int[AiSession.MAX_PV];
+
+        for (int depth = 1; depth <= maxDepth && count > 0; depth++) {
+            int found = search.searchMultiPv(board, colour, moves, count, lines, depth, scores, deadline);
+            limit = search.getLimit();
+            if (found == 0 || cancelled) {
+                break;
+            }
+            completedDepth = depth;
+            List<Line> result = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int length = AlphaBetaSearch.principalVariation(search.getTable(), board, colour, moves[i], pv);
+                result.add(new Line(moves[i], scores[i], Arrays.copyOf(pv, length)));
+            }
+            listener.accept(new Iteration(depth, search.getNodes(), System.nanoTime() - start, result));
+
+            // 最佳着法已分出胜负，或预算已用完
+            if (AlphaBetaSearch.isWinScore(scores[0]) || limit != AlphaBetaSearch.Limit.DEPTH) {
+                break;
+            }
+        }
+        if (cancelled) {
+            limit = AlphaBetaSearch.Limit.STOPPED;
+        }
+    }
+
+    /**
+     * 取消分析，可从其他线程调用；不等待搜索线程退出，之后不再回调监听器
+     */
+    public void cancel() {
+        cancelled = true;
+        search.stop();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getColour() {
+        return colour;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * 分析结束的原因，STOPPED表示被取消
+     */
+    public AlphaBetaSearch.Limit getLimit() {
+        return limit;
+    }
+
+    public long getNodes() {
+        return search.getNodes();
+    }
+
+    /**
+     * 一个候选着法的分析结果
+     */
+    public static final class Line {
+
+        private final int pos;
+        private final int score;
+        private final int[] pv;
+
+        Line(int pos, int score, int[] pv) {
+            this.pos = pos;
+            this.score = score;
+            this.pv = pv;
+        }
+
+        public int getPos() {
+            return pos;
+        }
+
+        /**
+         * 站在行棋方角度的分数，绝对值不小于AlphaBetaSearch.WIN_THRESHOLD时已分出胜负，越接近WIN_SCORE胜负来得越快
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * 以该着法开头的主要变例
+         */
+        public int[] getPv() {
+            return pv.clone();
+        }
+    }
+
+    /**
+     * 完成一层后的结果，lines按分数降序
+     */
+    public static final class Iteration {
+
+        private final int depth;
+        private final long nodes;
+        private final long elapsedNanos;
+        private final List<Line> lines;
+
+        Iteration(int depth, long nodes, long elapsedNanos, List<Line> lines) {
+            this.depth = depth;
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+            this.lines = Collections.unmodifiableList(lines);
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public List<Line> getLines() {
+            return lines;
+        }
+    }
+}
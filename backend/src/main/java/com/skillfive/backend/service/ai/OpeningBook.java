@@ -0,0 +1,195 @@
+package com.skillfive.backend.service.ai;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 开局库
+ * 以局面哈希为键、推荐着法为值的开放寻址表。局面先在棋盘的8种对称变换（旋转、翻转）下
+ * 取哈希最小者作为规范形式，着法也按同一变换存储，因此对称的开局只需存一份。
+ * 构建完成后只读，可被多个线程同时查询
+ *
+ * 二进制格式（大端）：魔数、版本号、条目数，之后每个条目为 long键 + short着法
+ */
+public class OpeningBook {
+
+    public static final int MAGIC = 0x53464F42; // "SFOB"
+    public static final int VERSION = 1;
+    public static final int SYMMETRIES = 8;
+
+    private static final short NO_MOVE = -1;
+
+    // 8种对称变换下每个格子的映射及其逆映射
+    private static final int[][] TRANSFORM = new int[SYMMETRIES][BitBoard.CELLS];
+    private static final int[][] INVERSE = new int[SYMMETRIES][BitBoard.CELLS];
+
+    static {
+        int last = BitBoard.SIZE - 1;
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            int r = pos / BitBoard.SIZE;
+            int c = pos % BitBoard.SIZE;
+            int[] images = {
+                    BitBoard.toPosition(r, c),
+                    BitBoard.toPosition(c, last - r),
+                    BitBoard.toPosition(last - r, last - c),
+                    BitBoard.toPosition(last - c, r),
+                    BitBoard.toPosition(r, last - c),
+                    BitBoard.toPosition(c, r),
+                    BitBoard.toPosition(last - r, c),
+                    BitBoard.toPosition(last - c, last - r)
+            };
+            for (int s = 0; s < SYMMETRIES; s++) {
+                TRANSFORM[s][pos] = images[s];
+                INVERSE[s][images[s]] = pos;
+            }
+        }
+    }
+
+    private final long[] keys;
+    private final short[] moves;
+    private final int mask;
+    private int size;
+
+    /**
+     * @param expectedEntries 预计条目数，表容量取其两倍以上的2的幂
+     */
+    public OpeningBook(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 2 - 1)) << 1;
+        keys = new long[capacity];
+        moves = new short[capacity];
+        Arrays.fill(moves, NO_MOVE);
+        mask = capacity - 1;
+    }
+
+    public static OpeningBook empty() {
+        return new OpeningBook(0);
+    }
+
+    /**
+     * 从二进制流读取开局库
+     */
+    public static OpeningBook read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是有效的开局库文件");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的开局库版本: " + version);
+        }
+        int count = in.readInt();
+        OpeningBook book = new OpeningBook(count);
+        for (int i = 0; i < count; i++) {
+            long key = in.readLong();
+            book.put(key, in.readShort());
+        }
+        return book;
+    }
+
+    /**
+     * 写出二进制格式
+     */
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (moves[slot] != NO_MOVE) {
+                out.writeLong(keys[slot]);
+                out.writeShort(moves[slot]);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 以规范键存入规范坐标系下的着法
+     */
+    public void put(long canonicalKey, int canonicalMove) {
+        int slot = (int) (canonicalKey ^ (canonicalKey >>> 32)) & mask;
+        while (moves[slot] != NO_MOVE && keys[slot] != canonicalKey) {
+            slot = (slot + 1) & mask;
+        }
+        if (moves[slot] == NO_MOVE) {
+            if (size + 1 > keys.length / 2) {
+                throw new IllegalStateException("开局库容量不足");
+            }
+            size++;
+        }
+        keys[slot] = canonicalKey;
+        moves[slot] = (short) canonicalMove;
+    }
+
+    /**
+     * 查询当前局面下colour方的开局库着法
+     *
+     * @return 实际棋盘上的着法位置，未命中或着法已被占用时返回-1
+     */
+    public int lookup(BitBoard board, int colour) {
+        if (size == 0) {
+            return -1;
+        }
+        int[] symmetry = new int[1];
+        long key = canonicalKey(board, colour, symmetry);
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (moves[slot] != NO_MOVE) {
+            if (keys[slot] == key) {
+                int move = INVERSE[symmetry[0]][moves[slot]];
+                return board.isEmpty(move) ? move : -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 计算局面在8种对称变换下的最小哈希（含行棋方）
+     *
+     * @param symmetryOut 长度为1的数组，写入取得最小哈希的变换编号
+     */
+    public static long canonicalKey(BitBoard board, int colour, int[] symmetryOut) {
+        long[] hashes = new long[SYMMETRIES];
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            long occupied = board.occupiedWord(word);
+            while (occupied != 0) {
+                int pos = (word << 6) + Long.numberOfTrailingZeros(occupied);
+                occupied &= occupied - 1;
+                int stone = board.get(pos);
+                for (int s = 0; s < SYMMETRIES; s++) {
+                    hashes[s] ^= Zobrist.stoneKey(stone, TRANSFORM[s][pos]);
+                }
+            }
+        }
+        int best = 0;
+        for (int s = 1; s < SYMMETRIES; s++) {
+            if (Long.compareUnsigned(hashes[s], hashes[best]) < 0) {
+                best = s;
+            }
+        }
+        symmetryOut[0] = best;
+        return Zobrist.withSideToMove(hashes[best], colour);
+    }
+
+    /**
+     * 把实际棋盘上的位置映射到指定变换下的坐标
+     */
+    public static int transform(int symmetry, int pos) {
+        return TRANSFORM[symmetry][pos];
+    }
+
+    /**
+     * transform的逆映射：把指定变换下的坐标还原为实际棋盘上的位置
+     */
+    public static int inverse(int symmetry, int pos) {
+        return INVERSE[symmetry][pos];
+    }
+
+    public int size() {
+        return size;
+    }
+}
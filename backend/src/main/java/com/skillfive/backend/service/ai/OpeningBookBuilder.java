@@ -0,0 +1,150 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.utils.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 开局库构建器
+ * 回放已结束对局的前若干手，按规范局面统计获胜方在该局面下走过的着法，
+ * 每个局面只保留出现次数最多（且不少于minCount次）的着法
+ */
+public class OpeningBookBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(OpeningBookBuilder.class);
+
+    private final int maxPlies;
+    private final int minCount;
+
+    // 规范键 -> (规范坐标下的着法 -> 出现次数)
+    private final Map<Long, Map<Integer, Integer>> counts = new HashMap<>();
+    private int games;
+
+    /**
+     * @param maxPlies 每局只统计前maxPlies手
+     * @param minCount 着法至少出现的次数
+     */
+    public OpeningBookBuilder(int maxPlies, int minCount) {
+        this.maxPlies = maxPlies;
+        this.minCount = Math.max(1, minCount);
+    }
+
+    /**
+     * 加入一局对局
+     *
+     * @param moves 按顺序的落子位置，第一手为黑方
+     * @param winnerColour 获胜方颜色，平局或未知为BitBoard.NONE（此时忽略该局）
+     */
+    public void addGame(int[] moves, int winnerColour) {
+        if (winnerColour == BitBoard.NONE) {
+            return;
+        }
+        BitBoard board = new BitBoard();
+        int[] symmetry = new int[1];
+        int plies = Math.min(moves.length, maxPlies);
+        for (int i = 0; i < plies; i++) {
+            int colour = i % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+            int pos = moves[i];
+            if (pos < 0 || pos >= BitBoard.CELLS || !board.isEmpty(pos)) {
+                return; // 记录损坏，丢弃后续部分
+            }
+            if (colour == winnerColour) {
+                long key = OpeningBook.canonicalKey(board, colour, symmetry);
+                int canonicalMove = OpeningBook.transform(symmetry[0], pos);
+                counts.computeIfAbsent(key, k -> new HashMap<>()).merge(canonicalMove, 1, Integer::sum);
+            }
+            board.place(pos, colour);
+        }
+        games++;
+    }
+
+    /**
+     * 生成开局库
+     */
+    public OpeningBook build() {
+        int entries = 0;
+        for (Map<Integer, Integer> moves : counts.values()) {
+            if (bestMove(moves) >= 0) {
+                entries++;
+            }
+        }
+        OpeningBook book = new OpeningBook(entries);
+        for (Map.Entry<Long, Map<Integer, Integer>> entry : counts.entrySet()) {
+            int move = bestMove(entry.getValue());
+            if (move >= 0) {
+                book.put(entry.getKey(), move);
+            }
+        }
+        return book;
+    }
+
+    private int bestMove(Map<Integer, Integer> moves) {
+        int best = -1;
+        int bestCount = minCount - 1;
+        for (Map.Entry<Integer, Integer> entry : moves.entrySet()) {
+            int count = entry.getValue();
+            // 次数相同时取编号小的着法，保证构建结果稳定
+            if (count > bestCount || (count == bestCount && best >= 0 && entry.getKey() < best)) {
+                best = entry.getKey();
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * 解析GameRecord.moveRecords中的落子记录
+     * 支持 [{"x":7,"y":7}, ...]、[{"row":7,"col":7}, ...] 和 [[7,7], ...] 三种形式，
+     * 无法解析的记录返回空数组
+     */
+    public static int[] parseMoveRecords(String json) {
+        if (json == null || json.isBlank()) {
+            return new int[0];
+        }
+        List<?> records;
+        try {
+            records = JsonUtil.fromJson(json, List.class);
+        } catch (RuntimeException e) {
+            log.warn("落子记录不是合法的JSON数组，已跳过: {}", e.getMessage());
+            return new int[0];
+        }
+        if (records == null) {
+            return new int[0];
+        }
+        int[] moves = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            Object record = records.get(i);
+            int row = -1;
+            int col = -1;
+            if (record instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) record;
+                row = coordinate(map.containsKey("x") ? map.get("x") : map.get("row"));
+                col = coordinate(map.containsKey("y") ? map.get("y") : map.get("col"));
+            } else if (record instanceof List && ((List<?>) record).size() >= 2) {
+                row = coordinate(((List<?>) record).get(0));
+                col = coordinate(((List<?>) record).get(1));
+            }
+            if (row < 0 || col < 0) {
+                return new int[0];
+            }
+            moves[i] = BitBoard.toPosition(row, col);
+        }
+        return moves;
+    }
+
+    private static int coordinate(Object value) {
+        if (!(value instanceof Number)) {
+            return -1;
+        }
+        int coordinate = ((Number) value).intValue();
+        return coordinate >= 0 && coordinate < BitBoard.SIZE ? coordinate : -1;
+    }
+}
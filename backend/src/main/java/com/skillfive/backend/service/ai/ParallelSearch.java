@@ -0,0 +1,168 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 并行根节点搜索（Lazy SMP）
+ * 多个工作线程在各自的搜索棋盘副本上做相同的迭代加深，共享同一张置换表，
+ * 辅助线程按不同的根节点顺序展开，把结果写进置换表供其他线程剪枝。
+ * 主线程（0号）完成后通知其余线程停止，取完成深度最深的结果，深度相同时以主线程为准。
+ * 线程数为1时直接在调用线程上串行搜索，结果与AlphaBetaSearch完全一致，便于测试
+ */
+public class ParallelSearch {
+
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final int threads;
+    private long nodeLimit;
+    private SearchFeatures features = SearchFeatures.DEFAULT;
+
+    private long nodes;
+    private long cutoffs;
+    private long ttProbes;
+    private long ttHits;
+    private int completedDepth;
+    private int bestScore;
+    private AlphaBetaSearch.Limit limit = AlphaBetaSearch.Limit.DEPTH;
+
+    /**
+     * @param pool 专用的搜索线程池
+     * @param table 各线程共享的置换表（无锁实现，允许并发读写）
+     * @param threads 本次搜索使用的线程数
+     */
+    public ParallelSearch(ForkJoinPool pool, TranspositionTable table, int threads) {
+        this.pool = pool;
+        this.table = table;
+        this.threads = pool == null ? 1 : Math.max(1, Math.min(threads, pool.getParallelism()));
+    }
+
+    public void setFeatures(SearchFeatures features) {
+        this.features = features;
+    }
+
+    /**
+     * 设置本次搜索所有线程合计的节点预算，平均分给各线程；0表示不限
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * 迭代加深搜索，参数含义同AlphaBetaSearch.searchRoot
+     *
+     * @return 最佳着法位置
+     */
+    public int searchRoot(SearchBoard board, int colour, int[] rootMoves, int rootCount, int[] rootBonus,
+                          int maxDepth, long deadlineNanos) {
+        if (threads == 1 || rootCount <= 1) {
+            AlphaBetaSearch search = new AlphaBetaSearch(table);
+            search.setNodeLimit(nodeLimit);
+            search.setFeatures(features);
+            int bestMove = search.searchRoot(board, colour, rootMoves, rootCount, rootBonus, maxDepth, deadlineNanos);
+            nodes = search.getNodes();
+            cutoffs = search.getCutoffs();
+            ttProbes = search.getTtProbes();
+            ttHits = search.getTtHits();
+            completedDepth = search.getCompletedDepth();
+            bestScore = search.getBestScore();
+            limit = search.getLimit();
+            return bestMove;
+        }
+
+        AlphaBetaSearch[] searches = new AlphaBetaSearch[threads];
+        int[][] moves = new int[threads][];
+        int[] results = new int[threads];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask[threads];
+
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new AlphaBetaSearch(table);
+            searches[i].setNodeLimit(nodeLimit > 0 ? Math.max(1, nodeLimit / threads) : 0);
+            searches[i].setFeatures(features);
+            moves[i] = new int[rootCount];
+            // 辅助线程把根节点列表轮转不同的偏移，使各线程先展开不同的分支
+            int offset = (i * rootCount / threads) % rootCount;
+            for (int j = 0; j < rootCount; j++) {
+                moves[i][j] = rootMoves[(j + offset) % rootCount];
+            }
+        }
+
+        for (int i = threads - 1; i >= 0; i--) {
+            final int worker = i;
+            final SearchBoard workerBoard = i == 0 ? board : SearchBoard.fromBitBoard(board.getBoard());
+            tasks[i] = pool.submit(() -> {
+                results[worker] = searches[worker].searchRoot(workerBoard, colour, moves[worker], rootCount,
+                        rootBonus, maxDepth, deadlineNanos);
+            });
+        }
+
+        tasks[0].join();
+        for (int i = 1; i < threads; i++) {
+            searches[i].stop();
+        }
+        for (int i = 1; i < threads; i++) {
+            tasks[i].join();
+        }
+
+        int best = 0;
+        nodes = 0;
+        cutoffs = 0;
+        ttProbes = 0;
+        ttHits = 0;
+        for (int i = 0; i < threads; i++) {
+            nodes += searches[i].getNodes();
+            cutoffs += searches[i].getCutoffs();
+            ttProbes += searches[i].getTtProbes();
+            ttHits += searches[i].getTtHits();
+            if (searches[i].getCompletedDepth() > searches[best].getCompletedDepth()) {
+                best = i;
+            }
+        }
+        completedDepth = searches[best].getCompletedDepth();
+        bestScore = searches[best].getBestScore();
+        // 辅助线程总是被主线程停止，结束原因以主线程为准
+        limit = searches[0].getLimit();
+
+        // 把主线程排好序的根节点列表写回，保持与串行搜索相同的约定
+        System.arraycopy(moves[0], 0, rootMoves, 0, rootCount);
+        return results[best];
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getTtProbes() {
+        return ttProbes;
+    }
+
+    public long getTtHits() {
+        return ttHits;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * 采用结果的那次搜索中最佳着法的分数，见AlphaBetaSearch.getBestScore
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * 主线程搜索结束的原因
+     */
+    public AlphaBetaSearch.Limit getLimit() {
+        return limit;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+}
@@ -0,0 +1,193 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 棋型查表评估
+ * 以某格为中心、沿一个方向取9格窗口，每格用2位编码（空、黑、白、棋盘外），
+ * 得到一个18位的键。类加载时预先计算所有键对黑白双方的棋型得分，
+ * 评估时每个方向只需一次查表，不再逐格扫描和判断边界
+ */
+public final class PatternTable {
+
+    public static final int WINDOW = 9;
+    public static final int HALF = WINDOW / 2;
+    public static final int KEY_COUNT = 1 << (2 * WINDOW);
+
+    // 格子编码
+    public static final int CELL_EMPTY = 0;
+    public static final int CELL_BLACK = 1;
+    public static final int CELL_WHITE = 2;
+    public static final int CELL_EDGE = 3;
+
+    // 棋型得分（与原逐格扫描的评分档位一致）
+    public static final int FIVE = 10000;
+    public static final int OPEN_FOUR = 1000;
+    public static final int FOUR = 100;
+    public static final int OPEN_THREE = 50;
+    public static final int THREE = 10;
+    public static final int OPEN_TWO = 5;
+    public static final int TWO = 2;
+
+    // 中心区域棋子加分
+    public static final int CENTER_BONUS = 10;
+
+    private static final int WINDOW_MASK = (1 << WINDOW) - 1;
+
+    // 9位掩码展开为18位：第i位移到第2i位
+    private static final int[] SPREAD = new int[1 << WINDOW];
+
+    // 键 -> 以中心格为该颜色棋子时的棋型得分
+    private static final int[][] SCORES = new int[2][KEY_COUNT];
+
+    static {
+        for (int bits = 0; bits < SPREAD.length; bits++) {
+            int spread = 0;
+            for (int i = 0; i < WINDOW; i++) {
+                if ((bits & (1 << i)) != 0) {
+                    spread |= 1 << (2 * i);
+                }
+            }
+            SPREAD[bits] = spread;
+        }
+        int[] cells = new int[WINDOW];
+        for (int key = 0; key < KEY_COUNT; key++) {
+            for (int i = 0; i < WINDOW; i++) {
+                cells[i] = (key >>> (2 * i)) & 3;
+            }
+            SCORES[BitBoard.BLACK][key] = classify(cells, CELL_BLACK);
+            SCORES[BitBoard.WHITE][key] = classify(cells, CELL_WHITE);
+        }
+    }
+
+    private PatternTable() {
+    }
+
+    /**
+     * 计算pos处沿dir方向的窗口键
+     */
+    public static int keyOf(BitBoard board, int dir, int pos) {
+        int line = BitBoard.lineOf(dir, pos);
+        int bit = BitBoard.bitOf(dir, pos);
+        int black = window(board.lineBits(BitBoard.BLACK, dir, line), bit);
+        int white = window(board.lineBits(BitBoard.WHITE, dir, line), bit);
+        int edge = ~window(BitBoard.lineMask(dir, line), bit) & WINDOW_MASK;
+        return SPREAD[black] | (SPREAD[white] << 1) | (SPREAD[edge] * CELL_EDGE);
+    }
+
+    /**
+     * 查表得分，窗口中心格视为colour方棋子
+     */
+    public static int score(int colour, int key) {
+        return SCORES[colour][key];
+    }
+
+    /**
+     * 以pos处视为colour方棋子，四个方向的棋型得分之和
+     */
+    public static int scoreAt(BitBoard board, int pos, int colour) {
+        int[] scores = SCORES[colour];
+        int score = 0;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            score += scores[keyOf(board, dir, pos)];
+        }
+        return score;
+    }
+
+    /**
+     * 整盘评估：己方每颗棋子的棋型得分减去对方的，站在colour方角度
+     */
+    public static int evaluate(BitBoard board, int colour) {
+        int score = 0;
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            long occupied = board.occupiedWord(word);
+            while (occupied != 0) {
+                int pos = (word << 6) + Long.numberOfTrailingZeros(occupied);
+                occupied &= occupied - 1;
+                int stone = board.get(pos);
+                int stoneScore = scoreAt(board, pos, stone) + centerBonus(pos);
+                score += stone == colour ? stoneScore : -stoneScore;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * 中心5x5区域的棋子加分
+     */
+    public static int centerBonus(int pos) {
+        int row = pos / BitBoard.SIZE;
+        int col = pos % BitBoard.SIZE;
+        return row >= 5 && row < 10 && col >= 5 && col < 10 ? CENTER_BONUS : 0;
+    }
+
+    /**
+     * 取出以bit为中心的9位，窗口第0位对应线上的bit-4
+     */
+    private static int window(int lineBits, int bit) {
+        return ((lineBits << HALF) >>> bit) & WINDOW_MASK;
+    }
+
+    /**
+     * 对一个窗口分类，返回经过中心格的最强棋型得分
+     * 棋盘外与对方棋子同样视为阻挡
+     */
+    private static int classify(int[] cells, int own) {
+        boolean[] mine = new boolean[WINDOW];
+        boolean[] empty = new boolean[WINDOW];
+        for (int i = 0; i < WINDOW; i++) {
+            mine[i] = i == HALF || cells[i] == own;
+            empty[i] = i != HALF && cells[i] == CELL_EMPTY;
+        }
+
+        int best = 0;
+        // 5格窗口：成五、冲四、眠三、眠二
+        for (int start = 0; start <= HALF; start++) {
+            int stones = 0;
+            int free = 0;
+            for (int i = start; i < start + 5; i++) {
+                if (mine[i]) {
+                    stones++;
+                } else if (empty[i]) {
+                    free++;
+                }
+            }
+            if (stones + free < 5) {
+                continue;
+            }
+            if (stones == 5) {
+                return FIVE;
+            } else if (stones == 4) {
+                best = Math.max(best, FOUR);
+            } else if (stones == 3) {
+                best = Math.max(best, THREE);
+            } else if (stones == 2) {
+                best = Math.max(best, TWO);
+            }
+        }
+        // 6格窗口两端为空：活四、活三、活二
+        for (int start = 0; start + 6 <= WINDOW; start++) {
+            if (!empty[start] || !empty[start + 5]) {
+                continue;
+            }
+            int stones = 0;
+            int free = 0;
+            for (int i = start + 1; i < start + 5; i++) {
+                if (mine[i]) {
+                    stones++;
+                } else if (empty[i]) {
+                    free++;
+                }
+            }
+            if (stones + free < 4) {
+                continue;
+            }
+            if (stones == 4) {
+                best = Math.max(best, OPEN_FOUR);
+            } else if (stones == 3) {
+                best = Math.max(best, OPEN_THREE);
+            } else if (stones == 2) {
+                best = Math.max(best, OPEN_TWO);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,114 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 后台思考（Pondering）
+ * AI落子后假设对手按主要变例应对，在对手思考期间预先搜索应对后的局面。
+ * 对手实际落子后先停止思考：局面与预测一致且已完成足够深度时直接采用结果，
+ * 否则丢弃结果，写入置换表的条目仍可供正式搜索复用。
+ * 搜索在独立的棋盘副本上进行，与会话棋盘互不影响
+ */
+public class Ponder implements Runnable {
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final SearchBoard board;
+    private final int colour;
+    private final int[] rootMoves;
+    private final int rootCount;
+    private final int[] rootBonus;
+    private final int maxDepth;
+    private final long deadlineNanos;
+    private final long key; // 预测局面的哈希（含行棋方）
+    private final AlphaBetaSearch search;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile int bestMove = -1;
+    private volatile int completedDepth;
+
+    /**
+     * @param table 会话的置换表
+     * @param board 预测应对之后的局面（由本对象独占）
+     * @param colour 该局面下的行棋方，即AI
+     * @param rootMoves 根节点候选着法（会被重新排序）
+     * @param rootBonus 按格子编号索引的根节点静态加分，可为null
+     * @param deadlineNanos 思考截止时间（System.nanoTime()），防止对手长时间不落子时一直占用线程
+     */
+    public Ponder(TranspositionTable table, SearchBoard board, int colour, int[] rootMoves, int rootCount,
+                  int[] rootBonus, int maxDepth, long deadlineNanos) {
+        this.board = board;
+        this.colour = colour;
+        this.rootMoves = rootMoves;
+        this.rootCount = rootCount;
+        this.rootBonus = rootBonus;
+        this.maxDepth = maxDepth;
+        this.deadlineNanos = deadlineNanos;
+        this.key = Zobrist.withSideToMove(board.getHash(), colour);
+        this.search = new AlphaBetaSearch(table);
+    }
+
+    /**
+     * 选择性搜索开关，应与正式搜索一致，保证写入置换表的结果可比
+     */
+    public void setFeatures(SearchFeatures features) {
+        search.setFeatures(features);
+    }
+
+    @Override
+    public void run() {
+        if (!state.compareAndSet(PENDING, RUNNING)) {
+            return; // 排队期间已被取消
+        }
+        try {
+            int move = search.searchRoot(board, colour, rootMoves, rootCount, rootBonus, maxDepth, deadlineNanos);
+            completedDepth = search.getCompletedDepth();
+            bestMove = move;
+        } finally {
+            state.set(DONE);
+            finished.countDown();
+        }
+    }
+
+    /**
+     * 停止思考并等待搜索线程退出，保证返回后不再写置换表。
+     * 尚未开始执行的任务直接取消
+     */
+    public void stop() {
+        if (state.compareAndSet(PENDING, DONE)) {
+            finished.countDown();
+            return;
+        }
+        search.stop();
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 命中时返回思考得到的着法，否则返回-1
+     *
+     * @param hash 当前局面的哈希（不含行棋方）
+     * @param minDepth 采用结果所需的最小完成深度
+     */
+    public int moveFor(long hash, int minDepth) {
+        if (Zobrist.withSideToMove(hash, colour) != key || completedDepth < Math.max(1, minDepth)) {
+            return -1;
+        }
+        return bestMove;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    public long getNodes() {
+        return search.getNodes();
+    }
+}
@@ -0,0 +1,259 @@
+package com.skillfive.backend.service.ai;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 跨对局的局面结果缓存
+ * 以（规范局面哈希, 难度）为键保存搜索得到的最佳着法、分数和完成深度，所有AI会话共享。
+ * 局面按OpeningBook的8种对称变换取规范形式，着法以规范坐标存储，对称局面共用一个条目。
+ * 结构与置换表相同：固定大小、无锁，每个槽位为校验字（key ^ data）和数据字，并发写撕裂的槽位校验失败视为未命中。
+ * 每4个槽位为一组，组满时淘汰“搜索代价 - 老化惩罚”最低的条目；新条目代价低于所有候选时不写入，
+ * 因此缓存中留下的是重新计算最贵的局面。代价按节点数的对数计，每写入半个容量的条目老化一代
+ */
+public class PositionCache {
+
+    public static final int MAGIC = 0x53465043; // "SFPC"
+    public static final int VERSION = 1;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET = 4;
+    private static final int NO_MOVE = 0xFF;
+    private static final int AGE_PENALTY = 2; // 每老化一代扣除的代价，相当于节点数打四分之一折
+
+    // 数据字布局：低32位分数，32-39位着法（规范坐标），40-47位深度，48-53位代价，54-61位代数，63位有效标志
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int COST_SHIFT = 48;
+    private static final int AGE_SHIFT = 54;
+    private static final long VALID = 1L << 63;
+
+    private final long[] checks;
+    private final long[] data;
+    private final int mask;
+    private final long storesPerAge;
+    private final AtomicLong stores = new AtomicLong();
+    private volatile int age;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param sizeMb 内存上限（MB），实际槽位数向下取整到2的幂
+     */
+    public PositionCache(int sizeMb) {
+        long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        int entries = Integer.highestOneBit((int) Math.min(bytes / ENTRY_BYTES, 1 << 26));
+        this.checks = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+        this.storesPerAge = Math.max(1, entries / 2);
+    }
+
+    /**
+     * 查询colour方在该局面下的缓存结果
+     *
+     * @param minDepth 结果至少需要的完成深度
+     * @return 未命中、深度不足或缓存着法已被占用时返回0，否则返回数据字，其中的着法已换算为实际棋盘上的位置
+     */
+    public long probe(BitBoard board, int colour, int difficulty, int minDepth) {
+        int[] symmetry = new int[1];
+        long key = key(board, colour, difficulty, symmetry);
+        int bucket = (int) key & mask & -BUCKET;
+        for (int i = bucket; i < bucket + BUCKET; i++) {
+            long entry = data[i];
+            if ((entry & VALID) != 0 && (checks[i] ^ entry) == key) {
+                int canonical = (int) (entry >>> MOVE_SHIFT) & 0xFF;
+                int move = canonical == NO_MOVE ? -1 : OpeningBook.inverse(symmetry[0], canonical);
+                if (move >= 0 && board.isEmpty(move) && depthOf(entry) >= minDepth) {
+                    hits.increment();
+                    return (entry & ~(0xFFL << MOVE_SHIFT)) | ((long) move << MOVE_SHIFT);
+                }
+                break;
+            }
+        }
+        misses.increment();
+        return 0L;
+    }
+
+    /**
+     * 写入搜索结果
+     *
+     * @param move 实际棋盘上的着法
+     * @param score 根节点搜索分数，胜负分数的层数以该局面为起点，取出时无需换算
+     * @param nodes 得到该结果所搜索的节点数，作为淘汰时的代价
+     */
+    public void store(BitBoard board, int colour, int difficulty, int move, int score, int depth, long nodes) {
+        if (move < 0 || move >= BitBoard.CELLS) {
+            return;
+        }
+        int[] symmetry = new int[1];
+        long key = key(board, colour, difficulty, symmetry);
+        int cost = 64 - Long.numberOfLeadingZeros(Math.max(0, nodes));
+        int currentAge = age;
+        long entry = VALID
+                | ((long) currentAge << AGE_SHIFT)
+                | ((long) cost << COST_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) OpeningBook.transform(symmetry[0], move) << MOVE_SHIFT)
+                | (score & 0xFFFFFFFFL);
+        if (put(key, entry, currentAge) && stores.incrementAndGet() % storesPerAge == 0) {
+            age = (currentAge + 1) & 0xFF;
+        }
+    }
+
+    /**
+     * 按替换策略写入一个条目，返回是否写入
+     */
+    private boolean put(long key, long entry, int currentAge) {
+        int bucket = (int) key & mask & -BUCKET;
+        int victim = -1;
+        int victimPriority = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET; i++) {
+            long old = data[i];
+            if ((old & VALID) == 0) {
+                // 空槽优先，但仍要检查组内是否已有同一局面
+                victim = i;
+                victimPriority = Integer.MIN_VALUE;
+                continue;
+            }
+            if ((checks[i] ^ old) == key) {
+                // 同一局面：更深或更贵的结果才覆盖
+                if (depthOf(entry) < depthOf(old) && costOf(entry) < costOf(old)) {
+                    return false;
+                }
+                victim = i;
+                victimPriority = Integer.MIN_VALUE;
+                break;
+            }
+            int priority = priority(old, currentAge);
+            if (priority < victimPriority) {
+                victim = i;
+                victimPriority = priority;
+            }
+        }
+        if (costOf(entry) < victimPriority) {
+            return false;
+        }
+        data[victim] = entry;
+        checks[victim] = key ^ entry;
+        return true;
+    }
+
+    private static int priority(long entry, int currentAge) {
+        int generations = (currentAge - ageOf(entry)) & 0xFF;
+        return costOf(entry) - AGE_PENALTY * generations;
+    }
+
+    private static long key(BitBoard board, int colour, int difficulty, int[] symmetry) {
+        return OpeningBook.canonicalKey(board, colour, symmetry) ^ (difficulty * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * 写出所有有效条目，供下次启动时预热
+     * 二进制格式（大端）：魔数、版本号、条目数，之后每个条目为 long键 + long数据字
+     */
+    public void write(OutputStream output) throws IOException {
+        int count = 0;
+        long[] keys = new long[data.length];
+        long[] entries = new long[data.length];
+        for (int i = 0; i < data.length; i++) {
+            long entry = data[i];
+            if ((entry & VALID) != 0) {
+                keys[count] = checks[i] ^ entry;
+                entries[count++] = entry;
+            }
+        }
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(keys[i]);
+            out.writeLong(entries[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * 读入write写出的条目，代数重置为当前代，容量不足时按替换策略取舍
+     *
+     * @return 写入的条目数
+     */
+    public int read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是有效的局面缓存文件");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的局面缓存版本: " + version);
+        }
+        int count = in.readInt();
+        int currentAge = age;
+        int loaded = 0;
+        for (int i = 0; i < count; i++) {
+            long key = in.readLong();
+            long entry = in.readLong();
+            if ((entry & VALID) == 0) {
+                continue;
+            }
+            entry = (entry & ~(0xFFL << AGE_SHIFT)) | ((long) currentAge << AGE_SHIFT);
+            if (put(key, entry, currentAge)) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 当前有效条目数，遍历整张表，只用于监控
+     */
+    public int size() {
+        int size = 0;
+        for (long entry : data) {
+            if ((entry & VALID) != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    public static int scoreOf(long entry) {
+        return (int) entry;
+    }
+
+    public static int moveOf(long entry) {
+        int move = (int) (entry >>> MOVE_SHIFT) & 0xFF;
+        return move == NO_MOVE ? -1 : move;
+    }
+
+    public static int depthOf(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    private static int costOf(long entry) {
+        return (int) (entry >>> COST_SHIFT) & 0x3F;
+    }
+
+    private static int ageOf(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+}
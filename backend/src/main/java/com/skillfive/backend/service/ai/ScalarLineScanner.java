@@ -0,0 +1,58 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 连线扫描的标量实现，每次处理一行
+ */
+final class ScalarLineScanner extends LineScanner {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public boolean hasFive(int[] rows) {
+        for (int r = 0; r < SIZE; r++) {
+            int h = rows[r];
+            int a = rows[r + 1];
+            int b = rows[r + 2];
+            int c = rows[r + 3];
+            int d = rows[r + 4];
+            int lines = (h & (h >>> 1) & (h >>> 2) & (h >>> 3) & (h >>> 4))
+                    | (h & a & b & c & d)
+                    | (h & (a >>> 1) & (b >>> 2) & (c >>> 3) & (d >>> 4))
+                    | (h & (a << 1) & (b << 2) & (c << 3) & (d << 4));
+            if (lines != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void fivePoints(int[] own, int[] empty, int[] out) {
+        Arrays.fill(out, 0);
+        for (int r = 0; r < SIZE; r++) {
+            // 窗口第j格为空、其余4格为己方棋子
+            for (int j = 0; j < 5; j++) {
+                int row = empty[r] >>> j;
+                int col = empty[r + j];
+                int diag = empty[r + j] >>> j;
+                int anti = empty[r + j] << j;
+                for (int k = 0; k < 5; k++) {
+                    if (k != j) {
+                        row &= own[r] >>> k;
+                        col &= own[r + k];
+                        diag &= own[r + k] >>> k;
+                        anti &= own[r + k] << k;
+                    }
+                }
+                // 窗口起点移回空位所在的格子
+                out[r] |= row << j;
+                out[r + j] |= col | (diag << j) | (anti >>> j);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 搜索棋盘
+ * 把位棋盘、候选生成器和增量评估器绑定在一起，通过make/unmake同步更新，
+ * 整个搜索和评估都在同一个可变实例上进行。初始化之后落子/提子不再分配堆内存
+ */
+public class SearchBoard {
+
+    private final BitBoard board = new BitBoard();
+    private final CandidateGenerator candidates = new CandidateGenerator();
+    private final IncrementalEvaluator evaluator = new IncrementalEvaluator();
+
+    /**
+     * 从Game.boardState字符串构建搜索棋盘
+     */
+    public static SearchBoard fromBoardString(String boardState) {
+        SearchBoard searchBoard = new SearchBoard();
+        searchBoard.load(boardState);
+        return searchBoard;
+    }
+
+    /**
+     * 从位棋盘构建搜索棋盘（复制内容，不共享）
+     */
+    public static SearchBoard fromBitBoard(BitBoard source) {
+        SearchBoard searchBoard = new SearchBoard();
+        searchBoard.copyFrom(source);
+        return searchBoard;
+    }
+
+    /**
+     * 用字符串棋盘覆盖当前内容
+     */
+    public void load(String boardState) {
+        board.load(boardState);
+        resync();
+    }
+
+    /**
+     * 用位棋盘覆盖当前内容
+     */
+    public void copyFrom(BitBoard source) {
+        board.copyFrom(source);
+        resync();
+    }
+
+    /**
+     * 增量同步到新的字符串棋盘：只对内容不同的格子提子/落子，
+     * 相邻两回合之间通常只差两手，候选集合和评估值不必整体重算
+     */
+    public void syncTo(String boardState) {
+        if (boardState == null || boardState.length() != BitBoard.CELLS) {
+            throw new IllegalArgumentException("棋盘长度必须为" + BitBoard.CELLS);
+        }
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            int desired = BitBoard.colourOf(boardState.charAt(pos));
+            int current = board.get(pos);
+            if (desired != current) {
+                if (current != BitBoard.NONE) {
+                    unmake(pos);
+                }
+                if (desired != BitBoard.NONE) {
+                    make(pos, desired);
+                }
+            }
+        }
+    }
+
+    private void resync() {
+        candidates.reset(board);
+        evaluator.reset(board);
+    }
+
+    /**
+     * 落子，同步候选集合和评估值
+     */
+    public void make(int pos, int colour) {
+        board.place(pos, colour);
+        candidates.add(pos);
+        evaluator.update(board, pos);
+    }
+
+    /**
+     * 提子，返回被移除棋子的颜色
+     */
+    public int unmake(int pos) {
+        int colour = board.remove(pos);
+        candidates.remove(pos);
+        evaluator.update(board, pos);
+        return colour;
+    }
+
+    /**
+     * 生成候选着法，写入调用方提供的缓冲区
+     */
+    public int generateMoves(int[] buffer) {
+        return candidates.generate(board, buffer);
+    }
+
+    /**
+     * 当前评估值，站在colour方角度
+     */
+    public int evaluate(int colour) {
+        return evaluator.score(colour);
+    }
+
+    /**
+     * 试探在pos落子后colour方是否五连，棋盘状态保持不变
+     */
+    public boolean isWinningMove(int pos, int colour) {
+        board.place(pos, colour);
+        boolean win = board.checkWinAt(pos);
+        board.remove(pos);
+        return win;
+    }
+
+    public boolean checkWinAt(int pos) {
+        return board.checkWinAt(pos);
+    }
+
+    public int get(int pos) {
+        return board.get(pos);
+    }
+
+    public boolean isEmpty(int pos) {
+        return board.isEmpty(pos);
+    }
+
+    public boolean isFull() {
+        return board.isFull();
+    }
+
+    public int getStoneCount() {
+        return board.getStoneCount();
+    }
+
+    public long getHash() {
+        return board.getHash();
+    }
+
+    /**
+     * 底层位棋盘，只读使用；直接在其上落子会使候选集合和评估值失去同步
+     */
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    public CandidateGenerator getCandidates() {
+        return candidates;
+    }
+}
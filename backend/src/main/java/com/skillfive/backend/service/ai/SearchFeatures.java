@@ -0,0 +1,56 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * Alpha-Beta选择性搜索开关
+ * 各项可单独关闭，便于用自对弈比较同样节点数下的完成深度和棋力：
+ * 主要变例搜索（PVS）、后续着法减深（LMR）、空着裁剪，以及冲四的威胁延伸。
+ * 形成活三或冲四的着法不做LMR减深，对手有成五点时不做空着，战术着法不会因此被裁掉。
+ * 默认配置不开威胁延伸：自对弈中同样节点预算下，延伸消耗的节点多于它带来的收益
+ */
+public final class SearchFeatures {
+
+    public static final SearchFeatures ALL = new SearchFeatures(true, true, true, true);
+    public static final SearchFeatures DEFAULT = new SearchFeatures(true, true, true, false);
+    public static final SearchFeatures NONE = new SearchFeatures(false, false, false, false);
+
+    private final boolean principalVariation;
+    private final boolean lateMoveReductions;
+    private final boolean nullMove;
+    private final boolean threatExtensions;
+
+    /**
+     * @param principalVariation 首个着法之后用零窗口搜索，超出alpha时再以完整窗口重搜
+     * @param lateMoveReductions 排序靠后的非威胁着法少搜一层，结果超出alpha时按原深度重搜
+     * @param nullMove 静态评估已不低于beta且对手没有成五点时，让对手连走一步做浅层零窗口搜索
+     * @param threatExtensions 在搜索边界上形成冲四的着法多搜一层
+     */
+    public SearchFeatures(boolean principalVariation, boolean lateMoveReductions, boolean nullMove,
+                          boolean threatExtensions) {
+        this.principalVariation = principalVariation;
+        this.lateMoveReductions = lateMoveReductions;
+        this.nullMove = nullMove;
+        this.threatExtensions = threatExtensions;
+    }
+
+    public boolean isPrincipalVariation() {
+        return principalVariation;
+    }
+
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    public boolean isNullMove() {
+        return nullMove;
+    }
+
+    public boolean isThreatExtensions() {
+        return threatExtensions;
+    }
+
+    @Override
+    public String toString() {
+        return "pvs=" + principalVariation + ", lmr=" + lateMoveReductions + ", nullMove=" + nullMove
+                + ", threatExtensions=" + threatExtensions;
+    }
+}
@@ -0,0 +1,224 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Alpha-Beta引擎的完整选点流程
+ * 正式对局（EnhancedAiServiceImpl）和自对弈比赛（EngineSpec）共用，保证比赛测到的就是线上的搜索：
+ * 开局库 -> 直接成五 -> 根节点位置评估（叠加难度的随机扰动）并按候选宽度裁剪 -> 局面缓存 ->
+ * 威胁空间搜索 -> 后台思考命中 -> 在节点和时间预算内并行迭代加深。
+ * 置换表、威胁搜索器、主要变例和后台思考结果取自传入的会话，同一会话的调用须串行执行
+ */
+public class SearchPipeline {
+
+    private final ForkJoinPool pool;
+    private final SearchFeatures features;
+    private final Random random;
+
+    // 开局库及其适用的最大棋子数，只对中等及以上难度生效
+    private OpeningBook openingBook = OpeningBook.empty();
+    private int bookMaxStones;
+
+    // 跨对局共享的局面结果缓存及采用缓存结果所需的最小深度，为null时不使用
+    private PositionCache positionCache;
+    private int positionCacheMinDepth;
+
+    // 采用后台思考结果所需的最小完成深度
+    private int ponderMinDepth = Integer.MAX_VALUE;
+
+    /**
+     * @param pool 多线程搜索使用的线程池，可为null（此时串行搜索）
+     * @param features PVS/LMR/空着/威胁延伸开关
+     * @param random 根节点随机扰动使用的随机数
+     */
+    public SearchPipeline(ForkJoinPool pool, SearchFeatures features, Random random) {
+        this.pool = pool;
+        this.features = features;
+        this.random = random;
+    }
+
+    public void setOpeningBook(OpeningBook openingBook, int maxStones) {
+        this.openingBook = openingBook != null ? openingBook : OpeningBook.empty();
+        this.bookMaxStones = maxStones;
+    }
+
+    public void setPositionCache(PositionCache positionCache, int minDepth) {
+        this.positionCache = positionCache;
+        this.positionCacheMinDepth = minDepth;
+    }
+
+    public void setPonderMinDepth(int ponderMinDepth) {
+        this.ponderMinDepth = ponderMinDepth;
+    }
+
+    public SearchFeatures getFeatures() {
+        return features;
+    }
+
+    /**
+     * 按难度配置为colour方选点，结果来源和搜索统计写入stats
+     *
+     * @param board 当前局面，返回时保持调用前的状态
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 着法位置，棋盘已满时返回-1
+     */
+    public int selectMove(AiSession session, SearchBoard board, DifficultyProfile profile, int colour,
+                          long deadlineNanos, SearchStats stats) {
+        if (board.isFull()) {
+            return -1;
+        }
+
+        // 只考虑已有棋子附近的空位，大幅缩小分支数
+        int[] candidateMoves = new int[BitBoard.CELLS];
+        int candidateCount = board.generateMoves(candidateMoves);
+        stats.setCandidates(candidateCount);
+
+        // 中等及以上难度在开局阶段先查开局库，命中则无需搜索
+        if (profile.getLevel() >= 2 && board.getStoneCount() <= bookMaxStones) {
+            int bookMove = openingBook.lookup(board.getBoard(), colour);
+            if (bookMove >= 0) {
+                stats.setSource(SearchStats.Source.BOOK);
+                return bookMove;
+            }
+        }
+        stats.setBudget(profile);
+
+        // 能直接获胜时不必搜索
+        int winning = firstFivePoint(board, colour);
+        if (winning >= 0) {
+            return winning;
+        }
+
+        // 根节点的位置评估加分（含阻挡对手成五），叠加难度的随机扰动后只保留得分最高的若干候选
+        int[] rootBonus = new int[BitBoard.CELLS];
+        rootBonus(board, candidateMoves, candidateCount, colour, rootBonus);
+        if (profile.getRandomness() > 0) {
+            for (int i = 0; i < candidateCount; i++) {
+                rootBonus[candidateMoves[i]] += random.nextInt(profile.getRandomness() + 1);
+            }
+        }
+        candidateCount = profile.narrow(candidateMoves, candidateCount, rootBonus);
+        stats.setCandidates(candidateCount);
+
+        // 其他对局已在同一局面（或其对称局面）搜索到足够深度时直接采用；带随机扰动的难度不使用缓存
+        TranspositionTable table = session.getTable();
+        boolean useCache = positionCache != null && profile.getRandomness() == 0;
+        if (useCache) {
+            long cached = positionCache.probe(board.getBoard(), colour, profile.getLevel(), positionCacheMinDepth);
+            if (cached != 0L) {
+                int pos = PositionCache.moveOf(cached);
+                stats.setSource(SearchStats.Source.CACHE);
+                stats.setDepth(PositionCache.depthOf(cached));
+                recordPrincipalVariation(session, table, board, colour, pos);
+                return pos;
+            }
+        }
+
+        // 先用威胁空间搜索寻找连续冲四/活三的强制胜，找到则直接走第一步
+        if (profile.isThreatSearch()) {
+            ThreatSolver solver = session.getThreatSolver();
+            int[] sequence = solver.solveVcf(board.getBoard(), colour);
+            stats.addNodes(solver.getNodes());
+            if (sequence == null) {
+                sequence = solver.solveVct(board.getBoard(), colour);
+                stats.addNodes(solver.getNodes());
+            }
+            if (sequence != null) {
+                stats.setSource(SearchStats.Source.THREAT);
+                return sequence[0];
+            }
+        }
+
+        // 对手按上一回合主要变例应对时，把预计的后续着法放到最前面
+        int predicted = session.predictedMove();
+        for (int i = 1; i < candidateCount && predicted >= 0; i++) {
+            if (candidateMoves[i] == predicted) {
+                System.arraycopy(candidateMoves, 0, candidateMoves, 1, i);
+                candidateMoves[0] = predicted;
+                break;
+            }
+        }
+
+        // 对手按预测应对且后台思考已足够深时直接采用，否则正式搜索（置换表已被思考预热）；
+        // 多线程时各线程共享置换表
+        int bestPos = session.takePonderedMove(board.getHash(), ponderMinDepth);
+        if (bestPos < 0 || !board.isEmpty(bestPos)) {
+            ParallelSearch search = new ParallelSearch(pool, table, profile.getThreads());
+            search.setNodeLimit(profile.getNodeBudget());
+            search.setFeatures(features);
+            table.newSearch();
+            bestPos = search.searchRoot(board, colour, candidateMoves, candidateCount, rootBonus,
+                    profile.getMaxDepth(), deadlineNanos);
+            stats.setSource(SearchStats.Source.SEARCH);
+            stats.addSearch(search);
+            if (useCache && search.getCompletedDepth() >= positionCacheMinDepth) {
+                positionCache.store(board.getBoard(), colour, profile.getLevel(), bestPos,
+                        search.getBestScore(), search.getCompletedDepth(), search.getNodes());
+            }
+        } else {
+            stats.setSource(SearchStats.Source.PONDER);
+        }
+
+        recordPrincipalVariation(session, table, board, colour, bestPos);
+        return bestPos;
+    }
+
+    /**
+     * 计算各候选的根节点位置评估加分（不含随机扰动），写入rootBonus[位置]
+     */
+    public static void rootBonus(SearchBoard board, int[] moves, int count, int colour, int[] rootBonus) {
+        int opponent = BitBoard.opponent(colour);
+        for (int i = 0; i < count; i++) {
+            rootBonus[moves[i]] = evaluatePosition(board, moves[i], colour, opponent);
+        }
+    }
+
+    /**
+     * 记录主要变例，供下一回合排序根节点和后台思考
+     */
+    private static void recordPrincipalVariation(AiSession session, TranspositionTable table, SearchBoard board,
+                                                 int colour, int bestPos) {
+        int[] pv = new int[AiSession.MAX_PV];
+        session.setPrincipalVariation(pv, AlphaBetaSearch.principalVariation(table, board, colour, bestPos, pv));
+    }
+
+    /**
+     * colour方第一个成五点，没有时返回-1
+     */
+    private static int firstFivePoint(SearchBoard board, int colour) {
+        int[] own = LineScanner.newRows();
+        int[] empty = LineScanner.newRows();
+        int[] points = LineScanner.newRows();
+        LineScanner.load(board.getBoard(), colour, own, empty);
+        LineScanner.getDefault().fivePoints(own, empty, points);
+        for (int row = 0; row < BitBoard.SIZE; row++) {
+            if (points[row] != 0) {
+                return row * BitBoard.SIZE + Integer.numberOfTrailingZeros(points[row]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 评估位置的得分：直接获胜、阻止对手获胜优先，其次是双方在该点的棋型得分和中心位置加分
+     */
+    private static int evaluatePosition(SearchBoard board, int pos, int colour, int opponent) {
+        if (board.isWinningMove(pos, colour)) {
+            return 1000; // 直接获胜
+        }
+        if (board.isWinningMove(pos, opponent)) {
+            return 900; // 阻止对手获胜
+        }
+
+        // 以pos处视为该方棋子，四个方向各查一次棋型表
+        int score = PatternTable.scoreAt(board.getBoard(), pos, colour) * 2;
+        score += PatternTable.scoreAt(board.getBoard(), pos, opponent);
+
+        // 中心位置加分
+        int row = pos / BitBoard.SIZE;
+        int col = pos % BitBoard.SIZE;
+        int centerDistance = Math.abs(row - BitBoard.SIZE / 2) + Math.abs(col - BitBoard.SIZE / 2);
+        return score + (BitBoard.SIZE - centerDistance);
+    }
+}
@@ -0,0 +1,162 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单步AI计算的统计
+ * 一次走子计算创建一个实例，各阶段（开局库、威胁空间搜索、Alpha-Beta、MCTS）把自己的工作量累加进来，
+ * 计算结束后发布到监控指标，并保存在对局会话中供调试展示
+ */
+public class SearchStats {
+
+    /**
+     * 着法来源
+     */
+    public enum Source {
+        HEURISTIC, // 不经搜索的直接判断：直接成五，或棋盘已满无子可下
+        BOOK,      // 开局库
+        THREAT,    // 威胁空间搜索找到的强制胜
+        CACHE,     // 跨对局的局面缓存
+        SEARCH,    // 迭代加深Alpha-Beta或MCTS
+        PONDER     // 采用后台思考的结果
+    }
+
+    private final String engine;
+    private final int difficulty;
+    private Source source = Source.HEURISTIC;
+    private long nodes;
+    private int depth;
+    private long cutoffs;
+    private long ttProbes;
+    private long ttHits;
+    private int candidates;
+    private long wallNanos;
+    private long nodeBudget;
+    private long timeBudgetMs;
+    private AlphaBetaSearch.Limit limit; // 没有做Alpha-Beta搜索时为null
+
+    public SearchStats(String engine, int difficulty) {
+        this.engine = engine;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * 累加一次Alpha-Beta搜索的工作量，depth取完成深度
+     */
+    public void addSearch(ParallelSearch search) {
+        nodes += search.getNodes();
+        cutoffs += search.getCutoffs();
+        ttProbes += search.getTtProbes();
+        ttHits += search.getTtHits();
+        depth = Math.max(depth, search.getCompletedDepth());
+        limit = search.getLimit();
+    }
+
+    /**
+     * 记录本步适用的难度预算
+     */
+    public void setBudget(DifficultyProfile profile) {
+        nodeBudget = profile.getNodeBudget();
+        timeBudgetMs = profile.getTimeBudgetMs();
+    }
+
+    public void addNodes(long count) {
+        nodes += count;
+    }
+
+    public void setSource(Source source) {
+        this.source = source;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public void setCandidates(int candidates) {
+        this.candidates = candidates;
+    }
+
+    public void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getTtProbes() {
+        return ttProbes;
+    }
+
+    public long getTtHits() {
+        return ttHits;
+    }
+
+    /**
+     * 置换表命中率，没有查询时为0
+     */
+    public double getTtHitRate() {
+        return ttProbes == 0 ? 0 : (double) ttHits / ttProbes;
+    }
+
+    public int getCandidates() {
+        return candidates;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public AlphaBetaSearch.Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * 调试展示用的键值形式
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("engine", engine);
+        map.put("difficulty", difficulty);
+        map.put("source", source.name());
+        map.put("nodes", nodes);
+        map.put("depth", depth);
+        map.put("cutoffs", cutoffs);
+        map.put("ttHitRate", Math.round(getTtHitRate() * 1000) / 1000.0);
+        map.put("candidates", candidates);
+        map.put("thinkMs", wallNanos / 1_000_000);
+        map.put("nodeBudget", nodeBudget);
+        map.put("timeBudgetMs", timeBudgetMs);
+        map.put("limit", limit == null ? null : limit.name());
+        return map;
+    }
+}
@@ -0,0 +1,23 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 自对弈中的一方
+ * 每局对局创建新实例，实例只在运行该局的线程上使用
+ */
+public interface SelfPlayEngine {
+
+    /**
+     * 选择着法，board在返回时须保持调用前的状态
+     *
+     * @param board 当前局面
+     * @param colour 行棋方
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 着法位置，无子可下时返回-1
+     */
+    int selectMove(SearchBoard board, int colour, long deadlineNanos);
+
+    /**
+     * 上一次selectMove搜索的节点数（MCTS为模拟次数）
+     */
+    long getLastNodes();
+}
@@ -0,0 +1,50 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.enums.SkillEffectType;
+
+/**
+ * 搜索中的技能动作
+ * 对应SkillEffectHandler的一次调用：REMOVE_PIECE使用first，SWAP_PIECES使用first和second，
+ * BOARD_RESET不需要位置
+ */
+public final class SkillAction {
+
+    private final SkillEffectType type;
+    private final int first;
+    private final int second;
+
+    private SkillAction(SkillEffectType type, int first, int second) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+    }
+
+    public static SkillAction remove(int pos) {
+        return new SkillAction(SkillEffectType.REMOVE_PIECE, pos, -1);
+    }
+
+    public static SkillAction swap(int first, int second) {
+        return new SkillAction(SkillEffectType.SWAP_PIECES, first, second);
+    }
+
+    public static SkillAction reset() {
+        return new SkillAction(SkillEffectType.BOARD_RESET, -1, -1);
+    }
+
+    public SkillEffectType getType() {
+        return type;
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + first + (second >= 0 ? "," + second : "") + ")";
+    }
+}
@@ -0,0 +1,229 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.enums.SkillEffectType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 技能模式的回合规划
+ * 技能不占用回合，一个回合是“可选的一次技能 + 一次落子”。规划时把己方可用技能作为额外的根节点动作：
+ * 对每个动作（含不用技能）在模拟效果后的棋盘上做一次Alpha-Beta搜索选出落子，
+ * 再站在对手角度考虑其可用技能（移除、交换、重置）后的最坏结果，取最坏结果最好的动作。
+ * 分支数通过两点控制：只考虑冷却已就绪的技能（由调用方传入），
+ * 目标只取棋型得分最高的若干颗棋子（移除/交换对方的关键棋子，交换时配己方得分最低的棋子）。
+ * 所有技能效果都由SkillSimulator在搜索棋盘上模拟，不接触Game实体
+ */
+public class SkillPlanner {
+
+    /**
+     * 规划结果：skill为null表示本回合不使用技能
+     */
+    public static final class Plan {
+
+        private final SkillAction skill;
+        private final int move;
+        private final int score;
+
+        Plan(SkillAction skill, int move, int score) {
+            this.skill = skill;
+            this.move = move;
+            this.score = score;
+        }
+
+        public SkillAction getSkill() {
+            return skill;
+        }
+
+        public int getMove() {
+            return move;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+
+    private final TranspositionTable table;
+    private final int targetLimit;
+    private final int depth;
+    private final int replyDepth;
+    private final SkillSimulator simulator = new SkillSimulator();
+
+    /**
+     * @param table 会话的置换表
+     * @param targetLimit 每种技能最多考虑的目标棋子数
+     * @param depth 己方落子的搜索深度，对手应对按depth-2（至少1层）搜索
+     */
+    public SkillPlanner(TranspositionTable table, int targetLimit, int depth) {
+        this.table = table;
+        this.targetLimit = Math.max(1, targetLimit);
+        this.depth = Math.max(1, depth);
+        this.replyDepth = Math.max(1, depth - 2);
+    }
+
+    /**
+     * 规划本回合
+     *
+     * @param board 当前局面（规划结束后恢复原状）
+     * @param colour 己方颜色
+     * @param ownSkills 己方冷却已就绪的技能效果
+     * @param opponentSkills 对手冷却已就绪的技能效果
+     * @param deadlineNanos 截止时间（System.nanoTime()），至少完成不用技能的方案
+     * @return 规划结果，棋盘已满时返回null
+     */
+    public Plan plan(SearchBoard board, int colour, Set<SkillEffectType> ownSkills,
+                     Set<SkillEffectType> opponentSkills, long deadlineNanos) {
+        List<SkillAction> options = new ArrayList<>();
+        options.add(null);
+        options.addAll(generateActions(board, colour, ownSkills));
+
+        Plan best = null;
+        for (SkillAction option : options) {
+            if (best != null && System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            if (option != null && !simulator.apply(board, option)) {
+                continue;
+            }
+            try {
+                Plan plan = evaluate(board, colour, option, opponentSkills, deadlineNanos);
+                // 同分时不用技能，保留冷却
+                if (plan != null && (best == null || plan.score > best.score)) {
+                    best = plan;
+                }
+            } finally {
+                if (option != null) {
+                    simulator.undo(board);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 在已执行option的棋盘上选出落子，并按对手可用技能的最坏情况打分
+     */
+    private Plan evaluate(SearchBoard board, int colour, SkillAction option, Set<SkillEffectType> opponentSkills,
+                          long deadlineNanos) {
+        AlphaBetaSearch search = new AlphaBetaSearch(table);
+        int move = searchMove(search, board, colour, depth, deadlineNanos);
+        if (move < 0) {
+            return null;
+        }
+        board.make(move, colour);
+        try {
+            if (board.checkWinAt(move)) {
+                return new Plan(option, move, AlphaBetaSearch.WIN_SCORE);
+            }
+            int opponent = BitBoard.opponent(colour);
+            int worst = -searchScore(board, opponent, deadlineNanos);
+            for (SkillAction reply : generateActions(board, opponent, opponentSkills)) {
+                if (System.nanoTime() > deadlineNanos) {
+                    break;
+                }
+                if (simulator.apply(board, reply)) {
+                    worst = Math.min(worst, -searchScore(board, opponent, deadlineNanos));
+                    simulator.undo(board);
+                }
+            }
+            return new Plan(option, move, worst);
+        } finally {
+            board.unmake(move);
+        }
+    }
+
+    private int searchMove(AlphaBetaSearch search, SearchBoard board, int colour, int maxDepth, long deadlineNanos) {
+        if (board.isFull()) {
+            return -1;
+        }
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        return search.searchRoot(board, colour, moves, count, null, maxDepth, deadlineNanos);
+    }
+
+    /**
+     * colour方行棋时的局面分数，超时未完成任何一层时退回静态评估
+     */
+    private int searchScore(SearchBoard board, int colour, long deadlineNanos) {
+        if (board.isFull()) {
+            return 0;
+        }
+        AlphaBetaSearch search = new AlphaBetaSearch(table);
+        searchMove(search, board, colour, replyDepth, deadlineNanos);
+        return search.getCompletedDepth() > 0 ? search.getBestScore() : board.evaluate(colour);
+    }
+
+    /**
+     * colour方可用技能的候选动作
+     * 移除：对方棋型得分最高的targetLimit颗棋子；
+     * 交换：上述对方棋子与己方棋型得分最低的targetLimit颗棋子两两配对；
+     * 重置：只有一种动作
+     */
+    List<SkillAction> generateActions(SearchBoard board, int colour, Set<SkillEffectType> skills) {
+        List<SkillAction> actions = new ArrayList<>();
+        if (skills.isEmpty()) {
+            return actions;
+        }
+        int opponent = BitBoard.opponent(colour);
+        boolean remove = skills.contains(SkillEffectType.REMOVE_PIECE);
+        boolean swap = skills.contains(SkillEffectType.SWAP_PIECES);
+        if (remove || swap) {
+            int[] threats = rankStones(board, opponent, true);
+            if (remove) {
+                for (int pos : threats) {
+                    actions.add(SkillAction.remove(pos));
+                }
+            }
+            if (swap) {
+                int[] weakest = rankStones(board, colour, false);
+                for (int theirs : threats) {
+                    for (int mine : weakest) {
+                        actions.add(SkillAction.swap(theirs, mine));
+                    }
+                }
+            }
+        }
+        if (skills.contains(SkillEffectType.BOARD_RESET) && board.getStoneCount() > 0) {
+            actions.add(SkillAction.reset());
+        }
+        return actions;
+    }
+
+    /**
+     * 按棋型得分排序取colour方的前targetLimit颗棋子
+     *
+     * @param strongest true取得分最高的，false取得分最低的
+     */
+    private int[] rankStones(SearchBoard board, int colour, boolean strongest) {
+        int[] positions = new int[BitBoard.CELLS];
+        int[] scores = new int[BitBoard.CELLS];
+        int count = 0;
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            if (board.get(pos) == colour) {
+                positions[count] = pos;
+                int score = PatternTable.scoreAt(board.getBoard(), pos, colour);
+                scores[count++] = strongest ? score : -score;
+            }
+        }
+        int keep = Math.min(count, targetLimit);
+        for (int k = 0; k < keep; k++) {
+            int best = k;
+            for (int i = k + 1; i < count; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            int pos = positions[k];
+            positions[k] = positions[best];
+            positions[best] = pos;
+            int score = scores[k];
+            scores[k] = scores[best];
+            scores[best] = score;
+        }
+        int[] ranked = new int[keep];
+        System.arraycopy(positions, 0, ranked, 0, keep);
+        return ranked;
+    }
+}
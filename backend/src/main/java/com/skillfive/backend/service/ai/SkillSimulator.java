@@ -0,0 +1,98 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 技能效果模拟器
+ * 在搜索棋盘上按对应SkillEffectHandler的规则执行技能效果，通过make/unmake修改棋盘，
+ * 候选集合、评估值和哈希随之同步；每次执行记录被改动格子的原内容，可按相反顺序撤销。
+ * 不接触Game实体，也不分配堆内存
+ */
+public class SkillSimulator {
+
+    private static final int MAX_NESTING = 8;
+
+    // 撤销日志：被改动的格子及其原来的颜色
+    private final int[] loggedPositions = new int[BitBoard.CELLS * MAX_NESTING];
+    private final int[] loggedColours = new int[BitBoard.CELLS * MAX_NESTING];
+    private final int[] marks = new int[MAX_NESTING];
+    private int size;
+    private int depth;
+
+    /**
+     * 执行技能效果，条件不满足（与处理器的校验一致）时不修改棋盘并返回false
+     */
+    public boolean apply(SearchBoard board, SkillAction action) {
+        if (depth == MAX_NESTING) {
+            throw new IllegalStateException("技能模拟嵌套过深");
+        }
+        switch (action.getType()) {
+            case REMOVE_PIECE:
+                if (!isStone(board, action.getFirst())) {
+                    return false;
+                }
+                begin();
+                set(board, action.getFirst(), BitBoard.NONE);
+                return true;
+            case SWAP_PIECES:
+                int first = action.getFirst();
+                int second = action.getSecond();
+                if (first == second || !isStone(board, first) || !isStone(board, second)) {
+                    return false;
+                }
+                begin();
+                int firstColour = board.get(first);
+                set(board, first, board.get(second));
+                set(board, second, firstColour);
+                return true;
+            case BOARD_RESET:
+                begin();
+                for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+                    if (!board.isEmpty(pos)) {
+                        set(board, pos, BitBoard.NONE);
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 撤销最近一次成功执行的技能效果
+     */
+    public void undo(SearchBoard board) {
+        if (depth == 0) {
+            throw new IllegalStateException("没有可撤销的技能效果");
+        }
+        int start = marks[--depth];
+        while (size > start) {
+            size--;
+            int pos = loggedPositions[size];
+            if (!board.isEmpty(pos)) {
+                board.unmake(pos);
+            }
+            if (loggedColours[size] != BitBoard.NONE) {
+                board.make(pos, loggedColours[size]);
+            }
+        }
+    }
+
+    private void begin() {
+        marks[depth++] = size;
+    }
+
+    private void set(SearchBoard board, int pos, int colour) {
+        loggedPositions[size] = pos;
+        loggedColours[size] = board.get(pos);
+        size++;
+        if (!board.isEmpty(pos)) {
+            board.unmake(pos);
+        }
+        if (colour != BitBoard.NONE) {
+            board.make(pos, colour);
+        }
+    }
+
+    private static boolean isStone(SearchBoard board, int pos) {
+        return pos >= 0 && pos < BitBoard.CELLS && !board.isEmpty(pos);
+    }
+}
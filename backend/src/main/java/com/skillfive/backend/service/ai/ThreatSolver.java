@@ -0,0 +1,374 @@
+package com.skillfive.backend.service.ai;
+
+/**
+ * 威胁空间搜索（VCF/VCT）
+ * 只展开进攻方的冲四（VCF）或冲四+活三（VCT）着法，防守方只考虑必须的应对，
+ * 用于在主搜索之前快速找出连续强制取胜的手顺。
+ * 带独立的证明缓存和节点上限；实例本身不是线程安全的
+ */
+public class ThreatSolver {
+
+    public static final int MAX_SEQUENCE = 64;
+
+    private static final int CACHE_BITS = 16;
+    private static final int CACHE_MASK = (1 << CACHE_BITS) - 1;
+    private static final long VCT_KEY = 0x9E3779B97F4A7C15L;
+    private static final byte PROVEN = 1;
+    private static final byte DISPROVEN = 2;
+
+    private final int nodeLimit;
+    private final int maxAttackMoves;
+
+    // 证明缓存：局面哈希 -> 结果、剩余进攻步数，以及已证明局面的取胜着法
+    private final long[] cacheKeys = new long[1 << CACHE_BITS];
+    private final byte[] cacheResults = new byte[1 << CACHE_BITS];
+    private final byte[] cacheDepths = new byte[1 << CACHE_BITS];
+    private final short[] cacheMoves = new short[1 << CACHE_BITS];
+
+    // 每层复用的缓冲区
+    private final int[][] attackBuffers = new int[MAX_SEQUENCE][BitBoard.CELLS];
+    private final int[][] replyBuffers = new int[MAX_SEQUENCE][BitBoard.CELLS];
+    private final int[] pointBuffer = new int[BitBoard.CELLS];
+
+    // 去重标记
+    private final int[] marks = new int[BitBoard.CELLS];
+    private int stamp;
+
+    // 当前路径和找到的取胜手顺
+    private final int[] line = new int[MAX_SEQUENCE];
+    private final int[] sequence = new int[MAX_SEQUENCE];
+    private int sequenceLength;
+
+    private long nodes;
+    private boolean exhausted;
+
+    /**
+     * @param nodeLimit 单次求解的节点上限
+     * @param maxAttackMoves 进攻方最多连续进攻的步数
+     */
+    public ThreatSolver(int nodeLimit, int maxAttackMoves) {
+        this.nodeLimit = nodeLimit;
+        this.maxAttackMoves = Math.min(maxAttackMoves, MAX_SEQUENCE / 2 - 1);
+    }
+
+    /**
+     * 求解连续冲四取胜（VCF）
+     *
+     * @return 取胜手顺（进攻方、防守方交替，首步为进攻方着法），无解或超出节点上限时返回null
+     */
+    public int[] solveVcf(BitBoard board, int attacker) {
+        return solve(board, attacker, false);
+    }
+
+    /**
+     * 求解连续冲四/活三取胜（VCT）
+     * 防守方有多种应对时，返回的手顺是针对其中一种应对的示例变化
+     */
+    public int[] solveVct(BitBoard board, int attacker) {
+        return solve(board, attacker, true);
+    }
+
+    private int[] solve(BitBoard board, int attacker, boolean vct) {
+        nodes = 0;
+        exhausted = false;
+        sequenceLength = 0;
+        // 按进攻步数逐步加深，优先找到最短的取胜手顺，也避免在很深的无效分支上耗尽节点
+        boolean proven = false;
+        for (int depth = 1; depth <= maxAttackMoves && !proven && !exhausted; depth++) {
+            proven = attack(board, attacker, depth, vct, 0);
+        }
+        if (!proven || sequenceLength == 0) {
+            return null;
+        }
+        int[] result = new int[sequenceLength];
+        System.arraycopy(sequence, 0, result, 0, sequenceLength);
+        return result;
+    }
+
+    /**
+     * 进攻方节点
+     */
+    private boolean attack(BitBoard board, int attacker, int depth, boolean vct, int ply) {
+        if (++nodes > nodeLimit) {
+            exhausted = true;
+            return false;
+        }
+        int defender = BitBoard.opponent(attacker);
+
+        // 已有成五点，直接取胜
+        if (collectFivePoints(board, attacker, pointBuffer) > 0) {
+            line[ply] = pointBuffer[0];
+            recordSequence(ply + 1);
+            return true;
+        }
+        if (depth == 0 || ply + 2 >= MAX_SEQUENCE) {
+            return false;
+        }
+
+        long key = Zobrist.withSideToMove(board.getHash(), attacker) ^ (vct ? VCT_KEY : 0L);
+        int slot = (int) key & CACHE_MASK;
+        int provenMove = -1;
+        if (cacheKeys[slot] == key) {
+            // 已证明的局面不直接返回，先重走缓存的取胜着法，子节点同样命中缓存，从而补全完整的取胜手顺
+            if (cacheResults[slot] == PROVEN && cacheDepths[slot] <= depth) {
+                provenMove = cacheMoves[slot];
+            }
+            if (cacheResults[slot] == DISPROVEN && cacheDepths[slot] >= depth) {
+                return false;
+            }
+        }
+
+        // 对方已有冲四时只能去堵，且堵点本身必须是冲四才能继续进攻
+        int defenderFives = collectFivePoints(board, defender, pointBuffer);
+        if (defenderFives > 1) {
+            return store(slot, key, depth, false, -1);
+        }
+        int forcedBlock = defenderFives == 1 ? pointBuffer[0] : -1;
+
+        if (provenMove >= 0 && board.isEmpty(provenMove) && (forcedBlock < 0 || provenMove == forcedBlock)) {
+            board.place(provenMove, attacker);
+            line[ply] = provenMove;
+            boolean win = collectFivePoints(board, attacker, replyBuffers[ply]) > 0
+                    ? defendFour(board, attacker, depth, vct, ply)
+                    : vct && defendThree(board, attacker, provenMove, depth, ply);
+            board.remove(provenMove);
+            if (win) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+        }
+
+        int[] moves = attackBuffers[ply];
+        int fourCount = collectFourMoves(board, attacker, moves);
+        for (int i = 0; i < fourCount; i++) {
+            int pos = moves[i];
+            if (forcedBlock >= 0 && pos != forcedBlock) {
+                continue;
+            }
+            board.place(pos, attacker);
+            line[ply] = pos;
+            boolean win = defendFour(board, attacker, depth, vct, ply);
+            board.remove(pos);
+            if (win) {
+                return store(slot, key, depth, true, pos);
+            }
+            if (exhausted) {
+                return false;
+            }
+        }
+
+        if (vct && forcedBlock < 0) {
+            // 冲四已全部尝试过，标记后追加到冲四之后的活三着法会自动排除它们
+            nextStamp();
+            for (int i = 0; i < fourCount; i++) {
+                marks[moves[i]] = stamp;
+            }
+            int moveCount = scanWindows(board, attacker, 6, 2, true, moves, fourCount);
+            for (int i = fourCount; i < moveCount; i++) {
+                int pos = moves[i];
+                board.place(pos, attacker);
+                line[ply] = pos;
+                boolean win = defendThree(board, attacker, pos, depth, ply);
+                board.remove(pos);
+                if (win) {
+                    return store(slot, key, depth, true, pos);
+                }
+                if (exhausted) {
+                    return false;
+                }
+            }
+        }
+
+        return store(slot, key, depth, false, -1);
+    }
+
+    /**
+     * 进攻方冲四后的防守方节点：防守方只能堵唯一的成五点
+     */
+    private boolean defendFour(BitBoard board, int attacker, int depth, boolean vct, int ply) {
+        int[] points = replyBuffers[ply];
+        int count = collectFivePoints(board, attacker, points);
+        if (count >= 2) {
+            // 活四或双四，防守方无法同时堵住
+            line[ply + 1] = points[0];
+            line[ply + 2] = points[1];
+            recordSequence(ply + 3);
+            return true;
+        }
+        if (count == 0) {
+            return false;
+        }
+        int block = points[0];
+        board.place(block, BitBoard.opponent(attacker));
+        line[ply + 1] = block;
+        boolean win = !board.checkWinAt(block) && attack(board, attacker, depth - 1, vct, ply + 2);
+        board.remove(block);
+        return win;
+    }
+
+    /**
+     * 进攻方活三后的防守方节点：防守方可以堵活三或用冲四反击，所有应对都必须被攻破
+     */
+    private boolean defendThree(BitBoard board, int attacker, int lastPos, int depth, int ply) {
+        int defender = BitBoard.opponent(attacker);
+        int[] replies = replyBuffers[ply];
+        nextStamp();
+        int count = collectThreeDefences(board, attacker, lastPos, replies, 0);
+        count = collectFourMovesInto(board, defender, replies, count);
+        if (count == 0) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            int reply = replies[i];
+            board.place(reply, defender);
+            line[ply + 1] = reply;
+            boolean win = !board.checkWinAt(reply) && attack(board, attacker, depth - 1, true, ply + 2);
+            board.remove(reply);
+            if (!win) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 收集colour方的成五点（5格窗口内4子1空且无对方棋子）
+     */
+    public int collectFivePoints(BitBoard board, int colour, int[] out) {
+        nextStamp();
+        return scanWindows(board, colour, 5, 4, false, out, 0);
+    }
+
+    /**
+     * 收集colour方的冲四着法（5格窗口内3子2空且无对方棋子）
+     */
+    public int collectFourMoves(BitBoard board, int colour, int[] out) {
+        nextStamp();
+        return scanWindows(board, colour, 5, 3, false, out, 0);
+    }
+
+    private int collectFourMovesInto(BitBoard board, int colour, int[] out, int count) {
+        return scanWindows(board, colour, 5, 3, false, out, count);
+    }
+
+    /**
+     * 收集colour方的活三着法（6格窗口两端为空，中间4格2子2空且无对方棋子）
+     */
+    public int collectThreeMoves(BitBoard board, int colour, int[] out) {
+        nextStamp();
+        return scanWindows(board, colour, 6, 2, true, out, 0);
+    }
+
+    /**
+     * 扫描所有线上的窗口，把满足条件的窗口中的空位写入out（按当前stamp去重）
+     *
+     * @param width 窗口宽度
+     * @param ownNeeded 窗口内（两端为空时指中间部分）需要的己方棋子数
+     * @param openEnds 是否要求窗口两端为空且只统计中间部分
+     */
+    private int scanWindows(BitBoard board, int colour, int width, int ownNeeded, boolean openEnds,
+                            int[] out, int count) {
+        int opponent = BitBoard.opponent(colour);
+        int full = (1 << width) - 1;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            for (int lineIndex = 0; lineIndex < BitBoard.lineCount(dir); lineIndex++) {
+                int own = board.lineBits(colour, dir, lineIndex);
+                if (Integer.bitCount(own) < ownNeeded) {
+                    continue;
+                }
+                int opp = board.lineBits(opponent, dir, lineIndex);
+                int mask = BitBoard.lineMask(dir, lineIndex);
+                for (int start = 0; start + width <= BitBoard.SIZE; start++) {
+                    int window = full << start;
+                    if ((mask & window) != window || (opp & window) != 0) {
+                        continue;
+                    }
+                    int inner = window;
+                    if (openEnds) {
+                        int ends = (1 << start) | (1 << (start + width - 1));
+                        if ((own & ends) != 0) {
+                            continue;
+                        }
+                        inner = window & ~ends;
+                    }
+                    if (Integer.bitCount(own & inner) != ownNeeded) {
+                        continue;
+                    }
+                    count = addEmpties(dir, lineIndex, inner & ~own, out, count);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 收集对活三的防守点：经过lastPos、两端为空、中间3子1空的6格窗口中的所有空位
+     */
+    private int collectThreeDefences(BitBoard board, int attacker, int lastPos, int[] out, int count) {
+        int opponent = BitBoard.opponent(attacker);
+        int full = (1 << 6) - 1;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            int lineIndex = BitBoard.lineOf(dir, lastPos);
+            int bit = 1 << BitBoard.bitOf(dir, lastPos);
+            int own = board.lineBits(attacker, dir, lineIndex);
+            int opp = board.lineBits(opponent, dir, lineIndex);
+            int mask = BitBoard.lineMask(dir, lineIndex);
+            for (int start = 0; start + 6 <= BitBoard.SIZE; start++) {
+                int window = full << start;
+                if ((window & bit) == 0 || (mask & window) != window || (opp & window) != 0) {
+                    continue;
+                }
+                int ends = (1 << start) | (1 << (start + 5));
+                if ((own & ends) != 0 || Integer.bitCount(own & window) != 3) {
+                    continue;
+                }
+                count = addEmpties(dir, lineIndex, window & ~own, out, count);
+            }
+        }
+        return count;
+    }
+
+    private int addEmpties(int dir, int lineIndex, int empties, int[] out, int count) {
+        while (empties != 0) {
+            int pos = BitBoard.positionAt(dir, lineIndex, Integer.numberOfTrailingZeros(empties));
+            empties &= empties - 1;
+            if (marks[pos] != stamp) {
+                marks[pos] = stamp;
+                out[count++] = pos;
+            }
+        }
+        return count;
+    }
+
+    private void nextStamp() {
+        stamp++;
+    }
+
+    private boolean store(int slot, long key, int depth, boolean proven, int move) {
+        if (!exhausted) {
+            cacheKeys[slot] = key;
+            cacheResults[slot] = proven ? PROVEN : DISPROVEN;
+            cacheDepths[slot] = (byte) depth;
+            cacheMoves[slot] = (short) move;
+        }
+        return proven;
+    }
+
+    private void recordSequence(int length) {
+        System.arraycopy(line, 0, sequence, 0, length);
+        sequenceLength = length;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 上一次求解是否因节点上限而提前终止
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+}
@@ -0,0 +1,169 @@
+package com.skillfive.backend.service.ai;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自对弈比赛
+ * 两个引擎配置对弈若干局，多局并行。第2k和2k+1局使用同一个由种子生成的随机开局并交换先后手，
+ * 引擎内部的随机数同样由种子派生，给定种子和节点上限时结果可复现（时间控制下受机器负载影响）。
+ * 每步记录思考时间、搜索节点数和调用线程上的内存分配；引擎返回非法着法时判负
+ */
+public class Tournament {
+
+    private static final int OPENING_RADIUS = 2;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final EngineSpec first;
+    private final EngineSpec second;
+    private final int games;
+    private final long moveTimeMs;
+    private final int parallelism;
+    private final long seed;
+    private final int openingStones;
+    private final ForkJoinPool searchPool;
+    private OpeningBook openingBook = OpeningBook.empty();
+    private int bookMaxStones;
+
+    /**
+     * @param first 第一个引擎
+     * @param second 第二个引擎
+     * @param games 对局数
+     * @param moveTimeMs 每步时间
+     * @param parallelism 同时进行的对局数
+     * @param seed 随机种子
+     * @param openingStones 随机开局在中心区域摆放的棋子数
+     * @param searchPool 引擎多线程搜索使用的线程池，可为null
+     */
+    public Tournament(EngineSpec first, EngineSpec second, int games, long moveTimeMs, int parallelism, long seed,
+                      int openingStones, ForkJoinPool searchPool) {
+        this.first = first;
+        this.second = second;
+        this.games = games;
+        this.moveTimeMs = moveTimeMs;
+        this.parallelism = Math.max(1, parallelism);
+        this.seed = seed;
+        this.openingStones = openingStones;
+        this.searchPool = searchPool;
+    }
+
+    /**
+     * 设置配置了book=true的引擎使用的开局库
+     */
+    public void setOpeningBook(OpeningBook openingBook, int maxStones) {
+        this.openingBook = openingBook;
+        this.bookMaxStones = maxStones;
+    }
+
+    /**
+     * 进行全部对局
+     */
+    public TournamentResult run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "Tournament");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<TournamentResult.GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> playGame(index)));
+            }
+            List<TournamentResult.GameResult> results = new ArrayList<>(games);
+            for (Future<TournamentResult.GameResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("对局执行失败", e.getCause());
+                }
+            }
+            return new TournamentResult(first, second, results);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 进行第index局：偶数局第一个引擎执黑，奇数局执白
+     */
+    TournamentResult.GameResult playGame(int index) {
+        SearchBoard board = new SearchBoard();
+        int colour = placeOpening(board, new Random(seed + index / 2));
+
+        int firstColour = index % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+        long engineSeed = seed * 31 + index;
+        SelfPlayEngine[] engines = {
+                first.create(searchPool, engineSeed, openingBook, bookMaxStones),
+                second.create(searchPool, engineSeed ^ 0x5DEECE66DL, openingBook, bookMaxStones)
+        };
+
+        TournamentResult.GameResult result = new TournamentResult.GameResult();
+        while (!board.isFull()) {
+            int side = colour == firstColour ? TournamentResult.FIRST : TournamentResult.SECOND;
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            int move = engines[side].selectMove(board, colour, start + TimeUnit.MILLISECONDS.toNanos(moveTimeMs));
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = allocatedBytes();
+            result.stats[side].record(elapsed, engines[side].getLastNodes(),
+                    allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+
+            if (move < 0 || move >= BitBoard.CELLS || !board.isEmpty(move)) {
+                result.outcome = side == TournamentResult.FIRST ? -1 : 1;
+                return result;
+            }
+            board.make(move, colour);
+            result.plies++;
+            if (board.checkWinAt(move)) {
+                result.outcome = side == TournamentResult.FIRST ? 1 : -1;
+                return result;
+            }
+            colour = BitBoard.opponent(colour);
+        }
+        return result;
+    }
+
+    /**
+     * 在中心区域交替摆放黑白棋子，返回接下来的行棋方
+     */
+    private int placeOpening(SearchBoard board, Random random) {
+        int centre = BitBoard.SIZE / 2;
+        int colour = BitBoard.BLACK;
+        for (int placed = 0; placed < openingStones; ) {
+            int row = centre + random.nextInt(OPENING_RADIUS * 2 + 1) - OPENING_RADIUS;
+            int col = centre + random.nextInt(OPENING_RADIUS * 2 + 1) - OPENING_RADIUS;
+            int pos = BitBoard.toPosition(row, col);
+            if (!board.isEmpty(pos)) {
+                continue;
+            }
+            board.make(pos, colour);
+            colour = BitBoard.opponent(colour);
+            placed++;
+        }
+        return colour;
+    }
+
+    /**
+     * 当前线程累计分配的字节数，不支持时返回-1
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+}
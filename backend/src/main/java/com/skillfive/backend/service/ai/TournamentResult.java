@@ -0,0 +1,199 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 自对弈比赛结果
+ * 胜率按第一个引擎计分（胜1、和0.5、负0），置信区间用各局得分的样本方差按正态近似计算；
+ * 速度指标按引擎分别统计：每秒节点数、平均/p99思考时间和每步分配的内存
+ */
+public class TournamentResult {
+
+    /** 第一个引擎 */
+    public static final int FIRST = 0;
+    /** 第二个引擎 */
+    public static final int SECOND = 1;
+
+    private static final double Z_95 = 1.96;
+
+    /**
+     * 一局对局的记录，outcome为第一个引擎的得分：1胜、0和、-1负
+     */
+    static final class GameResult {
+
+        int outcome;
+        int plies;
+        final EngineStats[] stats = {new EngineStats(), new EngineStats()};
+    }
+
+    /**
+     * 一个引擎在一局或整个比赛中的着法统计
+     */
+    static final class EngineStats {
+
+        int moves;
+        long nodes;
+        long totalNanos;
+        long allocatedBytes; // 小于0表示当前JVM不支持按线程统计分配
+        long[] thinkNanos = new long[64];
+
+        void record(long nanos, long moveNodes, long allocated) {
+            if (moves == thinkNanos.length) {
+                thinkNanos = Arrays.copyOf(thinkNanos, moves * 2);
+            }
+            thinkNanos[moves++] = nanos;
+            totalNanos += nanos;
+            nodes += moveNodes;
+            allocatedBytes = allocated < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + allocated;
+        }
+
+        void merge(EngineStats other) {
+            if (moves + other.moves > thinkNanos.length) {
+                thinkNanos = Arrays.copyOf(thinkNanos, Math.max(thinkNanos.length * 2, moves + other.moves));
+            }
+            System.arraycopy(other.thinkNanos, 0, thinkNanos, moves, other.moves);
+            moves += other.moves;
+            totalNanos += other.totalNanos;
+            nodes += other.nodes;
+            allocatedBytes = other.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes;
+        }
+    }
+
+    private final EngineSpec first;
+    private final EngineSpec second;
+    private final int games;
+    private int wins;
+    private int draws;
+    private int losses;
+    private final double score;
+    private final double confidence;
+    private long plies;
+    private final EngineStats[] stats = {new EngineStats(), new EngineStats()};
+    private final long[][] sortedThinkNanos = new long[2][];
+
+    TournamentResult(EngineSpec first, EngineSpec second, List<GameResult> results) {
+        this.first = first;
+        this.second = second;
+        this.games = results.size();
+        double sum = 0;
+        double sumSquares = 0;
+        for (GameResult result : results) {
+            if (result.outcome > 0) {
+                wins++;
+            } else if (result.outcome < 0) {
+                losses++;
+            } else {
+                draws++;
+            }
+            double points = (result.outcome + 1) / 2.0;
+            sum += points;
+            sumSquares += points * points;
+            plies += result.plies;
+            stats[FIRST].merge(result.stats[FIRST]);
+            stats[SECOND].merge(result.stats[SECOND]);
+        }
+        this.score = games == 0 ? 0 : sum / games;
+        double variance = games < 2 ? 0 : (sumSquares - games * score * score) / (games - 1);
+        this.confidence = games == 0 ? 0 : Z_95 * Math.sqrt(Math.max(0, variance) / games);
+        for (int side = FIRST; side <= SECOND; side++) {
+            sortedThinkNanos[side] = Arrays.copyOf(stats[side].thinkNanos, stats[side].moves);
+            Arrays.sort(sortedThinkNanos[side]);
+        }
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * 第一个引擎的平均得分（0~1）
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * 得分95%置信区间的半宽
+     */
+    public double getConfidence95() {
+        return confidence;
+    }
+
+    /**
+     * 由得分换算的等级分差，得分为0或1时取±800
+     */
+    public double getEloDifference() {
+        if (score <= 0) {
+            return -800;
+        }
+        if (score >= 1) {
+            return 800;
+        }
+        return Math.max(-800, Math.min(800, -400 * Math.log10(1 / score - 1)));
+    }
+
+    public double getAveragePlies() {
+        return games == 0 ? 0 : (double) plies / games;
+    }
+
+    public int getMoves(int side) {
+        return stats[side].moves;
+    }
+
+    public double getNodesPerSecond(int side) {
+        long nanos = stats[side].totalNanos;
+        return nanos == 0 ? 0 : stats[side].nodes * 1e9 / nanos;
+    }
+
+    public double getAverageThinkMs(int side) {
+        int moves = stats[side].moves;
+        return moves == 0 ? 0 : stats[side].totalNanos / 1e6 / moves;
+    }
+
+    public double getP99ThinkMs(int side) {
+        long[] sorted = sortedThinkNanos[side];
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(sorted.length * 0.99) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * 每步在调用线程上分配的字节数，不支持统计时返回-1
+     */
+    public double getAllocatedBytesPerMove(int side) {
+        EngineStats engine = stats[side];
+        if (engine.allocatedBytes < 0) {
+            return -1;
+        }
+        return engine.moves == 0 ? 0 : (double) engine.allocatedBytes / engine.moves;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s vs %s: %d 局, 胜/和/负 %d/%d/%d, 得分 %.3f ± %.3f (等级分差 %+.0f), 平均 %.1f 手%n",
+                first, second, games, wins, draws, losses, score, confidence, getEloDifference(), getAveragePlies()));
+        for (int side = FIRST; side <= SECOND; side++) {
+            report.append(String.format("  %s: %d 步, %.0f 节点/秒, 平均 %.1f ms, p99 %.1f ms, 每步分配 %s%n",
+                    side == FIRST ? first : second, getMoves(side), getNodesPerSecond(side), getAverageThinkMs(side),
+                    getP99ThinkMs(side), getAllocatedBytesPerMove(side) < 0 ? "不支持"
+                            : String.format("%.0f B", getAllocatedBytesPerMove(side))));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 置换表
+ * 固定大小、无锁的哈希表，保存已搜索局面的分数边界和最佳着法。
+ * 每个槽位由两个long组成：校验字（key ^ data）和数据字，读到被并发写撕裂的槽位时
+ * 校验失败，直接视为未命中，因此多个搜索线程可以共享同一张表而无需加锁
+ */
+public class TranspositionTable {
+
+    // 分数边界类型
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    public static final int NO_MOVE = 0xFF;
+
+    private static final int ENTRY_BYTES = 16;
+
+    // 数据字布局：低32位分数，32-39位着法，40-47位深度，48-49位边界类型，50-57位代数，63位有效标志
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int FLAG_SHIFT = 48;
+    private static final int AGE_SHIFT = 50;
+    private static final long VALID = 1L << 63;
+
+    private final long[] checks;
+    private final long[] data;
+    private final int mask;
+    private int age;
+
+    /**
+     * @param sizeMb 内存上限（MB），实际槽位数向下取整到2的幂
+     */
+    public TranspositionTable(int sizeMb) {
+        this(Math.max(1, sizeMb) * 1024L * 1024L);
+    }
+
+    private TranspositionTable(long bytes) {
+        int entries = Integer.highestOneBit((int) Math.min(bytes / ENTRY_BYTES, 1 << 26));
+        this.checks = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    /**
+     * 按KB指定内存上限，用于浅层搜索的小表；至少4KB
+     */
+    public static TranspositionTable ofKilobytes(int sizeKb) {
+        return new TranspositionTable(Math.max(4, sizeKb) * 1024L);
+    }
+
+    /**
+     * 查询局面，未命中返回0
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        if ((checks[index] ^ entry) != key || (entry & VALID) == 0) {
+            return 0L;
+        }
+        return entry;
+    }
+
+    /**
+     * 写入局面
+     * 替换策略：空槽、同一局面、上一轮搜索遗留的槽位直接覆盖，否则只在深度不低于原有条目时覆盖
+     */
+    public void store(long key, int depth, int flag, int score, int move) {
+        int index = (int) key & mask;
+        long old = data[index];
+        if ((old & VALID) != 0
+                && (checks[index] ^ old) != key
+                && ageOf(old) == age
+                && depthOf(old) > depth) {
+            return;
+        }
+        long entry = VALID
+                | ((long) age << AGE_SHIFT)
+                | ((long) flag << FLAG_SHIFT)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) ((move < 0 ? NO_MOVE : move) & 0xFF) << MOVE_SHIFT)
+                | (score & 0xFFFFFFFFL);
+        data[index] = entry;
+        checks[index] = key ^ entry;
+    }
+
+    /**
+     * 开始新一轮搜索，旧条目优先被替换
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(checks, 0L);
+        Arrays.fill(data, 0L);
+        age = 0;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    public static int scoreOf(long entry) {
+        return (int) entry;
+    }
+
+    public static int moveOf(long entry) {
+        int move = (int) (entry >>> MOVE_SHIFT) & 0xFF;
+        return move == NO_MOVE ? -1 : move;
+    }
+
+    public static int depthOf(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int flagOf(long entry) {
+        return (int) (entry >>> FLAG_SHIFT) & 0x3;
+    }
+
+    private static int ageOf(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xFF;
+    }
+}
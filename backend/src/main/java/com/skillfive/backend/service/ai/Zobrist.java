@@ -0,0 +1,43 @@
+package com.skillfive.backend.service.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist哈希键
+ * 每个(颜色, 格子)对应一个固定的64位随机数，局面哈希为所有棋子键的异或，
+ * 落子和提子都只需异或一次即可增量更新
+ */
+public final class Zobrist {
+
+    // 固定种子，保证不同进程、不同版本之间哈希一致（开局库、缓存依赖于此）
+    private static final long SEED = 0x5F1FE5A17L;
+
+    private static final long[][] STONE_KEYS = new long[2][BitBoard.CELLS];
+
+    // 轮到白方行棋时额外异或的键
+    private static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int colour = 0; colour < 2; colour++) {
+            for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+                STONE_KEYS[colour][pos] = random.nextLong();
+            }
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long stoneKey(int colour, int pos) {
+        return STONE_KEYS[colour][pos];
+    }
+
+    /**
+     * 把行棋方并入局面哈希
+     */
+    public static long withSideToMove(long hash, int colour) {
+        return colour == BitBoard.WHITE ? hash ^ WHITE_TO_MOVE : hash;
+    }
+}
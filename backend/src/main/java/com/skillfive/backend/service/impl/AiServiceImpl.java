@@ -5,6 +5,7 @@ import com.skillfive.backend.enums.GameStatus;
 import com.skillfive.backend.repository.GameRepository;
 import com.skillfive.backend.service.AiService;
 import com.skillfive.backend.service.GameService;
+import com.skillfive.backend.service.GameRecordService;
 import com.skillfive.backend.utils.GameUtil;
 import org.springframework.stereotype.Service;
 
@@ -21,12 +22,15 @@ public class AiServiceImpl implements AiService {
 
     private final GameRepository gameRepository;
     private final GameService gameService;
+    private final GameRecordService gameRecordService;
     private int difficulty = 2; // 默认中等难度
     private final Random random = new Random();
 
-    public AiServiceImpl(GameRepository gameRepository, GameService gameService) {
+    public AiServiceImpl(GameRepository gameRepository, GameService gameService,
+                         GameRecordService gameRecordService) {
         this.gameRepository = gameRepository;
         this.gameService = gameService;
+        this.gameRecordService = gameRecordService;
     }
 
     @Override
@@ -55,7 +59,7 @@ public class AiServiceImpl implements AiService {
         // 1. 检查是否能直接获胜
         for (int pos : availablePositions) {
             String testBoard = placeStone(board, pos, aiSymbol);
-            if (checkWin(testBoard, aiSymbol)) {
+            if (GameUtil.checkWinAt(testBoard, pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE)) {
                 return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
             }
         }
@@ -63,7 +67,7 @@ public class AiServiceImpl implements AiService {
         // 2. 检查是否需要阻止对手获胜
         for (int pos : availablePositions) {
             String testBoard = placeStone(board, pos, humanSymbol);
-            if (checkWin(testBoard, humanSymbol)) {
+            if (GameUtil.checkWinAt(testBoard, pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE)) {
                 return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
             }
         }
@@ -102,13 +106,13 @@ public class AiServiceImpl implements AiService {
 
         // 评估AI在该位置的收益
         String aiBoard = placeStone(board, pos, aiSymbol);
-        if (checkWin(aiBoard, aiSymbol)) {
+        if (GameUtil.checkWinAt(aiBoard, pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE)) {
             return 1000; // 直接获胜
         }
 
         // 评估阻止对手的收益
         String humanBoard = placeStone(board, pos, humanSymbol);
-        if (checkWin(humanBoard, humanSymbol)) {
+        if (GameUtil.checkWinAt(humanBoard, pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE)) {
             return 900; // 阻止对手获胜
         }
 
@@ -180,59 +184,6 @@ public class AiServiceImpl implements AiService {
         return new String(boardArray);
     }
 
-    private boolean checkWin(String board, char symbol) {
-        // 简化的获胜检查
-        for (int i = 0; i < GameUtil.BOARD_SIZE; i++) {
-            for (int j = 0; j < GameUtil.BOARD_SIZE; j++) {
-                int pos = i * GameUtil.BOARD_SIZE + j;
-                if (board.charAt(pos) == symbol) {
-                    if (checkWinFromPosition(board, i, j, symbol)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean checkWinFromPosition(String board, int row, int col, char symbol) {
-        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-
-        for (int[] dir : directions) {
-            int count = 1;
-
-            // 正方向
-            for (int i = 1; i < 5; i++) {
-                int newRow = row + dir[0] * i;
-                int newCol = col + dir[1] * i;
-                if (isValidPosition(newRow, newCol) && 
-                    board.charAt(newRow * GameUtil.BOARD_SIZE + newCol) == symbol) {
-                    count++;
-                } else {
-                    break;
-                }
-            }
-
-            // 反方向
-            for (int i = 1; i < 5; i++) {
-                int newRow = row - dir[0] * i;
-                int newCol = col - dir[1] * i;
-                if (isValidPosition(newRow, newCol) && 
-                    board.charAt(newRow * GameUtil.BOARD_SIZE + newCol) == symbol) {
-                    count++;
-                } else {
-                    break;
-                }
-            }
-
-            if (count >= 5) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     private int[] getAvailablePositions(String board) {
         List<Integer> positions = new ArrayList<>();
         for (int i = 0; i < board.length(); i++) {
@@ -277,7 +228,7 @@ public class AiServiceImpl implements AiService {
         game.setBoardState(new String(board));
 
         // 检查获胜
-        if (checkWin(new String(board), GameUtil.PLAYER2)) {
+        if (GameUtil.checkWinAt(new String(board), move[0], move[1])) {
             game.setWinner("player2");
             game.setStatus(GameStatus.FINISHED);
             game.setEndTime(java.time.LocalDateTime.now());
@@ -290,6 +241,7 @@ public class AiServiceImpl implements AiService {
         }
 
         Game savedGame = gameRepository.save(game);
+        gameRecordService.recordMove(savedGame, move[0], move[1]);
         // 广播游戏状态更新
         gameService.broadcastGameUpdate(savedGame);
         return savedGame;
@@ -315,4 +267,10 @@ public class AiServiceImpl implements AiService {
             this.difficulty = difficulty;
         }
     }
+
+    @Override
+    public void setDifficulty(Long gameId, int difficulty) {
+        // 基础实现不区分对局，所有对局共用同一难度
+        setDifficulty(difficulty);
+    }
 }
\ No newline at end of file
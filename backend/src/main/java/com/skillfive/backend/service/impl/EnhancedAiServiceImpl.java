@@ -1,286 +1,177 @@
 package com.skillfive.backend.service.impl;
 
+import com.skillfive.backend.config.AiProperties;
 import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.entity.Skill;
+import com.skillfive.backend.enums.GameMode;
 import com.skillfive.backend.enums.GameStatus;
+import com.skillfive.backend.enums.SkillEffectType;
 import com.skillfive.backend.repository.GameRepository;
+import com.skillfive.backend.service.AiMoveApplier;
+import com.skillfive.backend.service.AiSearchMetrics;
 import com.skillfive.backend.service.AiService;
-import com.skillfive.backend.service.GameService;
+import com.skillfive.backend.service.AiSessionManager;
+import com.skillfive.backend.service.SkillService;
+import com.skillfive.backend.service.ai.AiSession;
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.DifficultyProfile;
+import com.skillfive.backend.service.ai.DifficultyProfiles;
+import com.skillfive.backend.service.ai.Ponder;
+import com.skillfive.backend.service.ai.SearchBoard;
+import com.skillfive.backend.service.ai.SearchPipeline;
+import com.skillfive.backend.service.ai.SearchStats;
+import com.skillfive.backend.service.ai.SkillAction;
+import com.skillfive.backend.service.ai.SkillPlanner;
+import com.skillfive.backend.service.skill.SkillManagerService;
 import com.skillfive.backend.utils.GameUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Async;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.CompletableFuture;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 增强版AI服务实现类
- * 提供智能的五子棋AI对战功能
+ * 提供智能的五子棋AI对战功能，默认引擎（ai.engine=alphabeta）
  */
 @Service
 @Primary
+@ConditionalOnProperty(name = "ai.engine", havingValue = "alphabeta", matchIfMissing = true)
 public class EnhancedAiServiceImpl implements AiService {
 
-    private final GameRepository gameRepository;
-    private final GameService gameService;
-    private int difficulty = 2; // 默认中等难度
-    private final Random random = new Random();
-
-    @Autowired
-    public EnhancedAiServiceImpl(GameRepository gameRepository, GameService gameService) {
-        this.gameRepository = gameRepository;
-        this.gameService = gameService;
-    }
+    private static final Logger logger = LoggerFactory.getLogger(EnhancedAiServiceImpl.class);
 
-    @Override
-    public int[] getBestMove(String board, char aiSymbol, char humanSymbol) {
-        int[] availablePositions = getAvailablePositions(board);
-        if (availablePositions.length == 0) {
-            return null;
-        }
+    private final GameRepository gameRepository;
+    private final AiMoveApplier moveApplier;
+    private final AiSessionManager sessionManager; // 每局的难度、置换表等状态保存在会话中
+    private final AiSearchMetrics searchMetrics;
 
-        // 根据难度选择策略
-        switch (difficulty) {
-            case 1: // 简单难度 - 随机下棋 + 基础防守
-                return getEasyMove(board, availablePositions, aiSymbol, humanSymbol);
-            case 2: // 中等难度 - 攻防平衡
-                return getMediumMove(board, availablePositions, aiSymbol, humanSymbol);
-            case 3: // 困难难度 - 高级攻防 + 策略优化
-                return getHardMove(board, availablePositions, aiSymbol, humanSymbol);
-            default:
-                int randomPos = availablePositions[random.nextInt(availablePositions.length)];
-                return new int[]{randomPos / GameUtil.BOARD_SIZE, randomPos % GameUtil.BOARD_SIZE};
-        }
-    }
+    // 人机对战中AI没有用户记录，技能冷却以该ID记在对局下
+    private static final Long AI_USER_ID = 0L;
 
-    /**
-     * 简单难度AI移动
-     * 随机下棋，但会阻止明显的获胜机会
-     */
-    private int[] getEasyMove(String board, int[] availablePositions, char aiSymbol, char humanSymbol) {
-        // 首先检查是否能直接获胜
-        for (int pos : availablePositions) {
-            String testBoard = placeStone(board, pos, aiSymbol);
-            if (GameUtil.hasWinner(testBoard, aiSymbol)) {
-                return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
-            }
-        }
+    // 各难度的搜索配置：深度、节点/时间预算、候选宽度、随机扰动、线程数
+    private final DifficultyProfiles difficultyProfiles;
 
-        // 然后检查是否需要阻止对手获胜
-        for (int pos : availablePositions) {
-            String testBoard = placeStone(board, pos, humanSymbol);
-            if (GameUtil.hasWinner(testBoard, humanSymbol)) {
-                return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
-            }
-        }
+    // 选点流程（开局库、局面缓存、威胁空间搜索、并行Alpha-Beta），与自对弈比赛共用
+    private final SearchPipeline searchPipeline;
 
-        // 随机选择一个位置
-        int pos = availablePositions[random.nextInt(availablePositions.length)];
-        return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
-    }
+    // 后台思考：开关、线程池和单次最长时间；命中时采用结果所需的最小深度配置在选点流程上
+    private final boolean ponderEnabled;
+    private final TaskExecutor ponderExecutor;
+    private final long ponderMaxMs;
 
-    /**
-     * 中等难度AI移动
-     * 平衡攻防策略
-     */
-    private int[] getMediumMove(String board, int[] availablePositions, char aiSymbol, char humanSymbol) {
-        int bestScore = Integer.MIN_VALUE;
-        int bestPos = availablePositions[0];
+    // 技能模式下困难难度的技能规划：开关、每种技能考虑的目标数、搜索深度和时间预算
+    private final SkillService skillService;
+    private final SkillManagerService skillManagerService;
+    private final boolean skillSearchEnabled;
+    private final int skillTargetLimit;
+    private final int skillSearchDepth;
+    private final long skillTimeBudgetMs;
 
-        for (int pos : availablePositions) {
-            int score = evaluatePosition(board, pos, aiSymbol, humanSymbol);
-            if (score > bestScore) {
-                bestScore = score;
-                bestPos = pos;
-            }
-        }
-
-        return new int[]{bestPos / GameUtil.BOARD_SIZE, bestPos % GameUtil.BOARD_SIZE};
+    @Autowired
+    public EnhancedAiServiceImpl(GameRepository gameRepository, AiMoveApplier moveApplier,
+                                 AiSessionManager sessionManager, AiSearchMetrics searchMetrics,
+                                 DifficultyProfiles difficultyProfiles, SearchPipeline searchPipeline,
+                                 @Qualifier("aiPonderExecutor") TaskExecutor ponderExecutor,
+                                 SkillService skillService, SkillManagerService skillManagerService,
+                                 AiProperties properties) {
+        this.gameRepository = gameRepository;
+        this.moveApplier = moveApplier;
+        this.sessionManager = sessionManager;
+        this.searchMetrics = searchMetrics;
+        this.difficultyProfiles = difficultyProfiles;
+        this.searchPipeline = searchPipeline;
+        this.ponderEnabled = properties.getPonder().isEnabled();
+        this.ponderExecutor = ponderExecutor;
+        this.ponderMaxMs = properties.getPonder().getMaxMs();
+        this.skillService = skillService;
+        this.skillManagerService = skillManagerService;
+        this.skillSearchEnabled = properties.getSkillSearch().isEnabled();
+        this.skillTargetLimit = properties.getSkillSearch().getTargetLimit();
+        this.skillSearchDepth = properties.getSkillSearch().getDepth();
+        this.skillTimeBudgetMs = properties.getSkillSearch().getTimeBudgetMs();
     }
 
     /**
-     * 困难难度AI移动
-     * 高级攻防策略 + 前瞻性思考
+     * 不关联对局的单次计算，使用默认难度的临时会话
      */
-    private int[] getHardMove(String board, int[] availablePositions, char aiSymbol, char humanSymbol) {
-        int bestScore = Integer.MIN_VALUE;
-        int bestPos = availablePositions[0];
-
-        // 使用Minimax算法进行深度搜索
-        for (int pos : availablePositions) {
-            String newBoard = placeStone(board, pos, aiSymbol);
-            
-            // 检查是否能直接获胜
-            if (GameUtil.hasWinner(newBoard, aiSymbol)) {
-                return new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
-            }
-
-            // 使用Minimax评估
-            int score = minimax(newBoard, 2, false, aiSymbol, humanSymbol, Integer.MIN_VALUE, Integer.MAX_VALUE);
-            
-            // 加上位置评估
-            score += evaluatePosition(board, pos, aiSymbol, humanSymbol);
-            
-            if (score > bestScore) {
-                bestScore = score;
-                bestPos = pos;
-            }
-        }
-
-        return new int[]{bestPos / GameUtil.BOARD_SIZE, bestPos % GameUtil.BOARD_SIZE};
+    @Override
+    public int[] getBestMove(String board, char aiSymbol, char humanSymbol) {
+        return getBestMove(sessionManager.detached(), board, aiSymbol, humanSymbol);
     }
 
     /**
-     * Minimax算法实现
+     * 在对局会话上计算AI着法，同一局的计算串行执行；本步的统计发布到监控指标并保存在会话中
      */
-    private int minimax(String board, int depth, boolean isMaximizing, char aiSymbol, char humanSymbol, int alpha, int beta) {
-        if (depth == 0 || GameUtil.hasWinner(board, aiSymbol) || GameUtil.hasWinner(board, humanSymbol)) {
-            return evaluateBoardState(board, aiSymbol, humanSymbol);
-        }
-
-        int[] availablePositions = getAvailablePositions(board);
-        if (availablePositions.length == 0) {
-            return 0; // 平局
-        }
-
-        if (isMaximizing) {
-            int maxEval = Integer.MIN_VALUE;
-            for (int pos : availablePositions) {
-                String newBoard = placeStone(board, pos, aiSymbol);
-                int eval = minimax(newBoard, depth - 1, false, aiSymbol, humanSymbol, alpha, beta);
-                maxEval = Math.max(maxEval, eval);
-                alpha = Math.max(alpha, eval);
-                if (beta <= alpha) break; // Alpha-Beta剪枝
-            }
-            return maxEval;
-        } else {
-            int minEval = Integer.MAX_VALUE;
-            for (int pos : availablePositions) {
-                String newBoard = placeStone(board, pos, humanSymbol);
-                int eval = minimax(newBoard, depth - 1, true, aiSymbol, humanSymbol, alpha, beta);
-                minEval = Math.min(minEval, eval);
-                beta = Math.min(beta, eval);
-                if (beta <= alpha) break; // Alpha-Beta剪枝
-            }
-            return minEval;
+    private int[] getBestMove(AiSession session, String board, char aiSymbol, char humanSymbol) {
+        synchronized (session) {
+            SearchStats stats = new SearchStats("alphabeta", session.getDifficulty());
+            long start = System.nanoTime();
+            int[] move = computeMove(session, board, aiSymbol, humanSymbol, stats);
+            stats.setWallNanos(System.nanoTime() - start);
+            session.setLastStats(stats);
+            searchMetrics.record(stats);
+            return move;
         }
     }
 
-    /**
-     * 评估棋盘状态
-     */
-    private int evaluateBoardState(String board, char aiSymbol, char humanSymbol) {
-        if (GameUtil.hasWinner(board, aiSymbol)) {
-            return 10000;
-        }
-        if (GameUtil.hasWinner(board, humanSymbol)) {
-            return -10000;
-        }
-        
-        // 使用GameUtil的评估函数
-        return GameUtil.evaluateBoard(board, aiSymbol, humanSymbol);
+    private int[] computeMove(AiSession session, String board, char aiSymbol, char humanSymbol, SearchStats stats) {
+        // 对手已落子，后台思考到此为止
+        session.stopPonder();
+
+        // 整个搜索和评估都在会话的搜索棋盘上落子/提子，回合之间只增量同步变化的格子
+        SearchBoard searchBoard = session.sync(board);
+        DifficultyProfile profile = difficultyProfiles.get(session.getDifficulty());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(profile.getTimeBudgetMs());
+        int pos = searchPipeline.selectMove(session, searchBoard, profile, BitBoard.colourOf(aiSymbol), deadline,
+                stats);
+        return pos < 0 ? null : new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
     }
 
     /**
-     * 评估位置的得分
+     * AI落子后开始后台思考：假设对手按主要变例应对，在低优先级线程上预先搜索应对后的局面
+     *
+     * @param boardState AI落子后的棋盘
+     * @param aiPos AI刚落子的位置
      */
-    private int evaluatePosition(String board, int pos, char aiSymbol, char humanSymbol) {
-        int score = 0;
-
-        // 评估AI在该位置的收益
-        String aiBoard = placeStone(board, pos, aiSymbol);
-        if (GameUtil.hasWinner(aiBoard, aiSymbol)) {
-            return 1000; // 直接获胜
+    private void startPonder(AiSession session, String boardState, int aiPos, int aiColour, int humanColour) {
+        int[] pv = session.getPrincipalVariation();
+        if (pv.length < 2 || pv[0] != aiPos) {
+            return; // 本回合的着法不是来自搜索，没有可预测的应对
         }
-
-        // 评估阻止对手的收益
-        String humanBoard = placeStone(board, pos, humanSymbol);
-        if (GameUtil.hasWinner(humanBoard, humanSymbol)) {
-            return 900; // 阻止对手获胜
+        int reply = pv[1];
+        SearchBoard ponderBoard = SearchBoard.fromBoardString(boardState);
+        if (!ponderBoard.isEmpty(reply)) {
+            return;
         }
-
-        // 评估棋型得分
-        score += evaluatePatterns(aiBoard, pos, aiSymbol) * 2;
-        score += evaluatePatterns(humanBoard, pos, humanSymbol);
-
-        // 中心位置加分
-        int row = pos / GameUtil.BOARD_SIZE;
-        int col = pos % GameUtil.BOARD_SIZE;
-        int centerDistance = Math.abs(row - GameUtil.BOARD_SIZE / 2) + Math.abs(col - GameUtil.BOARD_SIZE / 2);
-        score += (GameUtil.BOARD_SIZE - centerDistance);
-
-        return score;
-    }
-
-    /**
-     * 评估棋型模式
-     */
-    private int evaluatePatterns(String board, int pos, char symbol) {
-        int score = 0;
-        int row = pos / GameUtil.BOARD_SIZE;
-        int col = pos % GameUtil.BOARD_SIZE;
-
-        // 检查四个方向：水平、垂直、两条对角线
-        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-
-        for (int[] dir : directions) {
-            int count = 1; // 当前位置
-
-            // 正方向计数
-            for (int i = 1; i < 5; i++) {
-                int newRow = row + dir[0] * i;
-                int newCol = col + dir[1] * i;
-                if (isValidPosition(newRow, newCol) && 
-                    board.charAt(newRow * GameUtil.BOARD_SIZE + newCol) == symbol) {
-                    count++;
-                } else {
-                    break;
-                }
-            }
-
-            // 反方向计数
-            for (int i = 1; i < 5; i++) {
-                int newRow = row - dir[0] * i;
-                int newCol = col - dir[1] * i;
-                if (isValidPosition(newRow, newCol) && 
-                    board.charAt(newRow * GameUtil.BOARD_SIZE + newCol) == symbol) {
-                    count++;
-                } else {
-                    break;
-                }
-            }
-
-            // 根据连子数评分
-            if (count >= 5) score += 10000;
-            else if (count == 4) score += 1000;
-            else if (count == 3) score += 100;
-            else if (count == 2) score += 10;
+        ponderBoard.make(reply, humanColour);
+        if (ponderBoard.checkWinAt(reply) || ponderBoard.isFull()) {
+            return;
         }
 
-        return score;
-    }
-
-    private boolean isValidPosition(int row, int col) {
-        return row >= 0 && row < GameUtil.BOARD_SIZE && col >= 0 && col < GameUtil.BOARD_SIZE;
-    }
-
-    private String placeStone(String board, int position, char stone) {
-        char[] boardArray = board.toCharArray();
-        boardArray[position] = stone;
-        return new String(boardArray);
-    }
-
-    private int[] getAvailablePositions(String board) {
-        List<Integer> positions = new ArrayList<>();
-        for (int i = 0; i < board.length(); i++) {
-            if (board.charAt(i) == GameUtil.EMPTY) {
-                positions.add(i);
-            }
+        int[] moves = new int[BitBoard.CELLS];
+        int count = ponderBoard.generateMoves(moves);
+        int[] rootBonus = new int[BitBoard.CELLS];
+        SearchPipeline.rootBonus(ponderBoard, moves, count, aiColour, rootBonus);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ponderMaxMs);
+        Ponder ponder = new Ponder(session.getTable(), ponderBoard, aiColour, moves, count, rootBonus,
+                difficultyProfiles.get(3).getMaxDepth(), deadline);
+        ponder.setFeatures(searchPipeline.getFeatures());
+        session.startPonder(ponder);
+        try {
+            ponderExecutor.execute(ponder);
+        } catch (TaskRejectedException e) {
+            ponder.stop(); // 线程池繁忙时放弃本次思考
         }
-        return positions.stream().mapToInt(i -> i).toArray();
     }
 
     @Override
@@ -289,9 +180,8 @@ public class EnhancedAiServiceImpl implements AiService {
                 .orElseThrow(() -> new RuntimeException("游戏不存在"));
 
         if (game.getStatus() != GameStatus.IN_PROGRESS || game.getCurrentPlayer() != 2) {
-    return game;
-}
-
+            return game;
+        }
 
         String boardState = game.getBoardState();
         if (boardState == null || boardState.isEmpty() || "{}".equals(boardState)) {
@@ -299,49 +189,76 @@ public class EnhancedAiServiceImpl implements AiService {
             game.setBoardState(boardState);
         }
 
-        // 添加思考时间，模拟真实AI思考
-        try {
-            Thread.sleep(500 + random.nextInt(1000)); // 0.5-1.5秒思考时间
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        long startTime = System.currentTimeMillis();
+
+        // 技能模式下先决定本回合是否使用技能，技能不结束回合，执行后在新棋盘上落子
+        AiSession session = sessionManager.getOrCreate(gameId);
+        if (skillSearchEnabled && game.getMode() == GameMode.SKILL && session.getDifficulty() == 3) {
+            boardState = playSkill(game, session, boardState);
         }
 
         // 获取AI的最佳移动
-        int[] move = getBestMove(boardState, GameUtil.PLAYER2, GameUtil.PLAYER1);
-        if (move == null) {
-            game.setWinner("draw");
-            game.setStatus(GameStatus.FINISHED);
-            return gameRepository.save(game);
+        int[] move = getBestMove(session, boardState, GameUtil.PLAYER2, GameUtil.PLAYER1);
+        Game savedGame = moveApplier.apply(game, boardState, move);
+        if (move != null && savedGame.getStatus() != GameStatus.FINISHED && ponderEnabled
+                && session.getDifficulty() == 3) {
+            startPonder(session, savedGame.getBoardState(), move[0] * GameUtil.BOARD_SIZE + move[1],
+                    BitBoard.WHITE, BitBoard.BLACK);
         }
+        moveApplier.broadcast(savedGame, startTime);
+        return savedGame;
+    }
 
-        int position = move[0] * GameUtil.BOARD_SIZE + move[1];
-        
-        // 执行移动
-        char[] board = boardState.toCharArray();
-        board[position] = GameUtil.PLAYER2;
-        String newBoardState = new String(board);
-        game.setBoardState(newBoardState);
-
-        // 检查获胜条件
-        if (GameUtil.hasWinner(newBoardState, GameUtil.PLAYER2)) {
-            game.setWinner("player2");
-           game.setStatus(GameStatus.FINISHED);
+    /**
+     * 规划并执行本回合的技能
+     * AI自己只使用移除、交换两种针对棋子的技能，规划时同时考虑对手冷却就绪的移除、交换和重置
+     *
+     * @return 执行技能后的棋盘，未使用技能时原样返回
+     */
+    private String playSkill(Game game, AiSession session, String boardState) {
+        Map<SkillEffectType, Skill> ownSkills = new EnumMap<>(SkillEffectType.class);
+        Map<SkillEffectType, Skill> opponentSkills = new EnumMap<>(SkillEffectType.class);
+        Long opponentId = game.getPlayer1() != null ? game.getPlayer1().getId() : null;
+        for (Skill skill : skillService.findAllEnabled()) {
+            SkillEffectType type = skill.getEffectType();
+            if (type != SkillEffectType.REMOVE_PIECE && type != SkillEffectType.SWAP_PIECES
+                    && type != SkillEffectType.BOARD_RESET) {
+                continue;
+            }
+            if (type != SkillEffectType.BOARD_RESET
+                    && skillService.isSkillAvailable(skill.getId(), AI_USER_ID, game.getId())) {
+                ownSkills.putIfAbsent(type, skill);
+            }
+            if (opponentId != null && skillService.isSkillAvailable(skill.getId(), opponentId, game.getId())) {
+                opponentSkills.putIfAbsent(type, skill);
+            }
+        }
+        if (ownSkills.isEmpty()) {
+            return boardState;
+        }
 
-            game.setEndTime(java.time.LocalDateTime.now());
-        } else if (isDraw(newBoardState)) {
-            game.setWinner("draw");
-           game.setStatus(GameStatus.FINISHED);
-            game.setEndTime(java.time.LocalDateTime.now());
-        } else {
-            game.setCurrentPlayer(1); // 切换回玩家1
+        SkillPlanner.Plan plan;
+        synchronized (session) {
+            session.stopPonder();
+            SearchBoard searchBoard = session.sync(boardState);
+            if (searchBoard.isFull()) {
+                return boardState;
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(skillTimeBudgetMs);
+            SkillPlanner planner = new SkillPlanner(session.getTable(), skillTargetLimit, skillSearchDepth);
+            plan = planner.plan(searchBoard, BitBoard.WHITE, ownSkills.keySet(), opponentSkills.keySet(), deadline);
+        }
+        if (plan == null || plan.getSkill() == null) {
+            return boardState;
         }
 
-        Game savedGame = gameRepository.save(game);
-        
-        // 广播游戏状态更新
-        gameService.broadcastGameUpdate(savedGame);
-        
-        return savedGame;
+        SkillAction action = plan.getSkill();
+        Skill skill = ownSkills.get(action.getType());
+        String params = action.getSecond() >= 0 ? String.valueOf(action.getSecond()) : null;
+        skillManagerService.executeSkillEffect(game, skill, AI_USER_ID, action.getFirst(), params);
+        skillService.startSkillCooldown(skill.getId(), AI_USER_ID, game.getId());
+        logger.debug("AI使用技能 - 游戏ID: {}, 技能: {}, 规划评分: {}", game.getId(), action, plan.getScore());
+        return game.getBoardState();
     }
 
     @Override
@@ -356,12 +273,11 @@ public class EnhancedAiServiceImpl implements AiService {
 
     @Override
     public void setDifficulty(int difficulty) {
-        if (difficulty >= 1 && difficulty <= 3) {
-            this.difficulty = difficulty;
-        }
+        sessionManager.setDefaultDifficulty(difficulty);
     }
 
-    private boolean isDraw(String board) {
-        return board.indexOf(GameUtil.EMPTY) == -1;
+    @Override
+    public void setDifficulty(Long gameId, int difficulty) {
+        sessionManager.setDifficulty(gameId, difficulty);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.skillfive.backend.service.impl;
 
+import com.skillfive.backend.config.AiProperties;
 import com.skillfive.backend.entity.Game;
 import com.skillfive.backend.enums.GameStatus;
 import com.skillfive.backend.entity.User;
@@ -7,8 +8,12 @@ import com.skillfive.backend.enums.GameMode;
 import com.skillfive.backend.enums.GameType;
 import com.skillfive.backend.repository.GameRepository;
 import com.skillfive.backend.repository.UserRepository;
+import com.skillfive.backend.service.AiSessionManager;
+import com.skillfive.backend.service.GameRecordService;
 import com.skillfive.backend.service.GameService;
 import com.skillfive.backend.service.SkillService;
+import com.skillfive.backend.service.ai.AiSession;
+import com.skillfive.backend.service.ai.SearchStats;
 import com.skillfive.backend.utils.GameUtil;
 import com.skillfive.backend.utils.JsonUtil;
 import com.skillfive.backend.websocket.WebSocketSessionManager;
@@ -38,6 +43,16 @@ public class GameServiceImpl implements GameService {
     @Autowired
     private WebSocketSessionManager webSocketSessionManager;
 
+    @Autowired
+    private AiSessionManager aiSessionManager;
+
+    @Autowired
+    private GameRecordService gameRecordService;
+
+    // 调试模式（ai.debug.search-stats）：游戏更新中附带AI最近一步的计算统计
+    @Autowired
+    private AiProperties aiProperties;
+
     public GameServiceImpl(GameRepository gameRepository, UserRepository userRepository, SkillService skillService) {
         this.gameRepository = gameRepository;
         this.userRepository = userRepository;
@@ -82,15 +97,18 @@ public class GameServiceImpl implements GameService {
         
         // 保存游戏状态
         Game savedGame = gameRepository.save(game);
-        
-        // 广播游戏更新
+        // 广播游戏更新，之后再移除已结束对局的AI会话
         broadcastGameUpdate(savedGame);
+        if (savedGame.getStatus() == GameStatus.FINISHED) {
+            aiSessionManager.evict(savedGame.getId());
+        }
         
         return savedGame;
     }
     
     /**
      * 广播游戏更新
+     * 调试模式下附带AI会话中最近一步的统计，对局结束时调用方须在广播之后再移除会话
      */
     public void broadcastGameUpdate(Game game) {
         try {
@@ -121,6 +139,14 @@ public class GameServiceImpl implements GameService {
                 gameData.put("player2Nickname", "AI");
                 gameData.put("player2AvatarUrl", "https://via.placeholder.com/40");
             }
+
+            if (aiProperties.getDebug().isSearchStats() && game.getType() == GameType.VS_AI) {
+                AiSession session = aiSessionManager.find(game.getId());
+                SearchStats stats = session != null ? session.getLastStats() : null;
+                if (stats != null) {
+                    gameData.put("aiStats", stats.toMap());
+                }
+            }
             
             // 通过WebSocket广播游戏更新
             try {
@@ -167,7 +193,7 @@ public class GameServiceImpl implements GameService {
         game.setBoardState(newBoardState);
         
         // 检查是否有获胜者
-        if (GameUtil.hasWinner(newBoardState, currentSymbol)) {
+        if (GameUtil.checkWinAt(newBoardState, x, y)) {
             // 游戏结束，设置获胜者
             game.setStatus(GameStatus.FINISHED);
             game.setWinner(game.getCurrentPlayer() == 1 ? "player1" : "player2");
@@ -184,9 +210,12 @@ public class GameServiceImpl implements GameService {
         
         // 保存游戏状态
         Game savedGame = gameRepository.save(game);
-        
-        // 广播游戏更新
+        gameRecordService.recordMove(savedGame, x, y);
+        // 广播游戏更新，之后再移除已结束对局的AI会话
         broadcastGameUpdate(savedGame);
+        if (savedGame.getStatus() == GameStatus.FINISHED) {
+            aiSessionManager.evict(savedGame.getId());
+        }
         
         return savedGame;
     }
@@ -234,9 +263,11 @@ public class GameServiceImpl implements GameService {
         
         // 保存游戏状态
         Game savedGame = gameRepository.save(game);
-        
-        // 广播游戏更新
+        // 广播游戏更新，之后再移除已结束对局的AI会话
         broadcastGameUpdate(savedGame);
+        if (savedGame.getStatus() == GameStatus.FINISHED) {
+            aiSessionManager.evict(savedGame.getId());
+        }
         
         return savedGame;
     }
@@ -259,9 +290,12 @@ public class GameServiceImpl implements GameService {
         
         // 保存游戏状态
         Game savedGame = gameRepository.save(game);
-        
-        // 广播游戏更新
+        gameRecordService.recordResult(savedGame);
+        // 广播游戏更新，之后再移除已结束对局的AI会话
         broadcastGameUpdate(savedGame);
+        if (savedGame.getStatus() == GameStatus.FINISHED) {
+            aiSessionManager.evict(savedGame.getId());
+        }
         
         return savedGame;
     }
@@ -0,0 +1,166 @@
+package com.skillfive.backend.service.impl;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.enums.GameStatus;
+import com.skillfive.backend.enums.GameType;
+import com.skillfive.backend.repository.GameRepository;
+import com.skillfive.backend.service.AiMoveApplier;
+import com.skillfive.backend.service.AiSearchMetrics;
+import com.skillfive.backend.service.AiService;
+import com.skillfive.backend.service.AiSessionManager;
+import com.skillfive.backend.service.ai.AiSession;
+import com.skillfive.backend.service.ai.BitBoard;
+import com.skillfive.backend.service.ai.MctsSearch;
+import com.skillfive.backend.service.ai.SearchBoard;
+import com.skillfive.backend.service.ai.SearchStats;
+import com.skillfive.backend.utils.GameUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 蒙特卡洛树搜索AI服务实现类
+ * ai.engine=mcts 时替代Alpha-Beta引擎。难度对应不同的模拟次数，
+ * 所有难度同时受每步时间预算限制；搜索树保存在对局会话中，下一回合复用对应子树
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "ai.engine", havingValue = "mcts")
+public class MctsAiServiceImpl implements AiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MctsAiServiceImpl.class);
+
+    private final GameRepository gameRepository;
+    private final AiMoveApplier moveApplier;
+    private final AiSessionManager sessionManager;
+    private final AiSearchMetrics searchMetrics;
+    private final ForkJoinPool searchPool;
+    private final Random random = new Random();
+
+    // 简单/中等/困难三档难度的模拟次数，0表示只受时间预算限制；
+    // 模拟次数与Alpha-Beta的节点预算不可比，因此不使用DifficultyProfiles
+    private final long[] iterations;
+    private final long timeBudgetMs;
+    private final int threads;
+    private final long maxNodes; // 每局搜索树的节点上限
+
+    // 树策略参数
+    private final double exploration;
+    private final int maxChildren;
+    private final int expandThreshold;
+    private final int maxPlayoutPlies;
+
+    public MctsAiServiceImpl(GameRepository gameRepository, AiMoveApplier moveApplier,
+                             AiSessionManager sessionManager, AiSearchMetrics searchMetrics,
+                             @Qualifier("aiSearchPool") ForkJoinPool searchPool, AiProperties properties) {
+        AiProperties.Mcts mcts = properties.getMcts();
+        this.gameRepository = gameRepository;
+        this.moveApplier = moveApplier;
+        this.sessionManager = sessionManager;
+        this.searchMetrics = searchMetrics;
+        this.searchPool = searchPool;
+        this.iterations = new long[]{mcts.getIterations().getEasy(), mcts.getIterations().getMedium(),
+                mcts.getIterations().getHard()};
+        this.timeBudgetMs = mcts.getTimeBudgetMs();
+        this.threads = mcts.getThreads();
+        this.maxNodes = mcts.getMaxNodes();
+        this.exploration = mcts.getExploration();
+        this.maxChildren = mcts.getMaxChildren();
+        this.expandThreshold = mcts.getExpandThreshold();
+        this.maxPlayoutPlies = mcts.getMaxPlayoutPlies();
+    }
+
+    /**
+     * 不关联对局的单次计算，使用默认难度的临时会话
+     */
+    @Override
+    public int[] getBestMove(String board, char aiSymbol, char humanSymbol) {
+        return getBestMove(sessionManager.detached(), board, aiSymbol);
+    }
+
+    /**
+     * 在对局会话上搜索，同一局的计算串行执行
+     */
+    private int[] getBestMove(AiSession session, String board, char aiSymbol) {
+        synchronized (session) {
+            SearchBoard searchBoard = session.sync(board);
+            if (searchBoard.isFull()) {
+                return null;
+            }
+            MctsSearch search = session.getMcts();
+            if (search == null) {
+                search = new MctsSearch(exploration, maxChildren, expandThreshold, maxPlayoutPlies, random.nextLong());
+                search.setMaxNodes(maxNodes);
+                session.setMcts(search);
+            }
+            boolean reused = search.setRoot(searchBoard.getBoard(), BitBoard.colourOf(aiSymbol));
+
+            int difficulty = Math.max(1, Math.min(3, session.getDifficulty()));
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+            int pos = search.search(searchPool, threads, iterations[difficulty - 1], deadline);
+
+            // MCTS的节点数记为模拟次数，没有深度和置换表
+            SearchStats stats = new SearchStats("mcts", difficulty);
+            stats.setSource(SearchStats.Source.SEARCH);
+            stats.addNodes(search.getIterations());
+            stats.setCandidates(searchBoard.generateMoves(new int[BitBoard.CELLS]));
+            stats.setWallNanos(System.nanoTime() - start);
+            session.setLastStats(stats);
+            searchMetrics.record(stats);
+            logger.debug("MCTS搜索完成 - 难度: {}, 模拟次数: {}, 根节点访问: {}, 复用子树: {}",
+                    difficulty, search.getIterations(), search.getRootVisits(), reused);
+            return pos < 0 ? null : new int[]{pos / GameUtil.BOARD_SIZE, pos % GameUtil.BOARD_SIZE};
+        }
+    }
+
+    @Override
+    public Game makeAiMove(Long gameId) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new RuntimeException("游戏不存在"));
+
+        if (game.getStatus() != GameStatus.IN_PROGRESS || game.getCurrentPlayer() != 2) {
+            return game;
+        }
+
+        String boardState = game.getBoardState();
+        if (boardState == null || boardState.isEmpty() || "{}".equals(boardState)) {
+            boardState = GameUtil.createEmptyBoard();
+            game.setBoardState(boardState);
+        }
+
+        long startTime = System.currentTimeMillis();
+        int[] move = getBestMove(sessionManager.getOrCreate(gameId), boardState, GameUtil.PLAYER2);
+        Game savedGame = moveApplier.apply(game, boardState, move);
+        moveApplier.broadcast(savedGame, startTime);
+        return savedGame;
+    }
+
+    @Override
+    public boolean shouldAiMove(Long gameId) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new RuntimeException("游戏不存在"));
+
+        return game.getType() == GameType.VS_AI &&
+               game.getStatus() == GameStatus.IN_PROGRESS &&
+               game.getCurrentPlayer() == 2;
+    }
+
+    @Override
+    public void setDifficulty(int difficulty) {
+        sessionManager.setDefaultDifficulty(difficulty);
+    }
+
+    @Override
+    public void setDifficulty(Long gameId, int difficulty) {
+        sessionManager.setDifficulty(gameId, difficulty);
+    }
+}
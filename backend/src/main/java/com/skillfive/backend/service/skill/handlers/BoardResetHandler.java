@@ -3,6 +3,7 @@ package com.skillfive.backend.service.skill.handlers;
 import com.skillfive.backend.entity.Game;
 import com.skillfive.backend.entity.Skill;
 import com.skillfive.backend.service.skill.SkillEffectHandler;
+import com.skillfive.backend.utils.GameUtil;
 
 /**
  * 重置棋盘技能处理器
@@ -17,12 +18,8 @@ public class BoardResetHandler implements SkillEffectHandler {
     
     @Override
     public Game executeEffect(Game game, Skill skill, Long userId, Integer targetPosition, String params) {
-        // 清空棋盘 - 将所有位置重置为0
-        StringBuilder newBoard = new StringBuilder();
-        for (int i = 0; i < 225; i++) { // 15x15棋盘
-            newBoard.append("0");
-        }
-        game.setBoardState(newBoard.toString());
+        // 清空棋盘 - 将所有位置重置为空位
+        game.setBoardState(GameUtil.createEmptyBoard());
         
         // 重置当前玩家为玩家1
         game.setCurrentPlayer(1);
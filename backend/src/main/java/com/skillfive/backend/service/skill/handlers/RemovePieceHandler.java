@@ -3,6 +3,7 @@ package com.skillfive.backend.service.skill.handlers;
 import com.skillfive.backend.entity.Game;
 import com.skillfive.backend.entity.Skill;
 import com.skillfive.backend.service.skill.SkillEffectHandler;
+import com.skillfive.backend.utils.GameUtil;
 
 /**
  * 移除棋子技能处理器
@@ -22,13 +23,13 @@ public class RemovePieceHandler implements SkillEffectHandler {
         }
         
         String boardState = game.getBoardState();
-        if (boardState.charAt(targetPosition) == '0') {
+        if (boardState.charAt(targetPosition) == GameUtil.EMPTY) {
             throw new IllegalStateException("目标位置没有棋子");
         }
         
         // 移除指定位置的棋子
         StringBuilder newBoard = new StringBuilder(boardState);
-        newBoard.setCharAt(targetPosition, '0');
+        newBoard.setCharAt(targetPosition, GameUtil.EMPTY);
         game.setBoardState(newBoard.toString());
         
         // 添加技能使用记录
@@ -46,7 +47,7 @@ public class RemovePieceHandler implements SkillEffectHandler {
         
         // 检查目标位置是否有棋子
         String boardState = game.getBoardState();
-        return boardState.charAt(targetPosition) != '0';
+        return boardState.charAt(targetPosition) != GameUtil.EMPTY;
     }
     
     @Override
@@ -3,6 +3,7 @@ package com.skillfive.backend.service.skill.handlers;
 import com.skillfive.backend.entity.Game;
 import com.skillfive.backend.entity.Skill;
 import com.skillfive.backend.service.skill.SkillEffectHandler;
+import com.skillfive.backend.utils.GameUtil;
 
 /**
  * 交换棋子技能处理器
@@ -45,7 +46,7 @@ public class SwapPiecesHandler implements SkillEffectHandler {
         char firstPiece = boardState.charAt(targetPosition);
         char secondPiece = boardState.charAt(secondPosition);
         
-        if (firstPiece == '0' || secondPiece == '0') {
+        if (firstPiece == GameUtil.EMPTY || secondPiece == GameUtil.EMPTY) {
             throw new IllegalStateException("目标位置必须有棋子才能交换");
         }
         
@@ -72,7 +73,7 @@ public class SwapPiecesHandler implements SkillEffectHandler {
         String boardState = game.getBoardState();
         char firstPiece = boardState.charAt(targetPosition);
         
-        return firstPiece != '0'; // 第一个位置有棋子即可开始交换
+        return firstPiece != GameUtil.EMPTY; // 第一个位置有棋子即可开始交换
     }
     
     @Override
@@ -7,7 +7,7 @@ import java.util.Random;
 
 /**
  * 游戏工具类
- * 提供五子棋游戏的核心逻辑
+ * 提供字符串棋盘的基本操作和落子后的胜负判断；整盘扫描和评估依赖AI引擎，见service.ai.BoardRules
  */
 public class GameUtil {
     
@@ -91,80 +91,51 @@ public class GameUtil {
     }
     
     /**
-     * 检查是否有玩家获胜（五子棋规则）
+     * 检查最后一步是否形成五连
+     * 只检查经过(x, y)的四条线，适用于每步落子后的胜负判断
      */
-    public static boolean hasWinner(String board, char playerSymbol) {
-        char[][] board2D = boardTo2DArray(board);
-        
-        // 检查所有方向：水平、垂直、对角线
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board2D[i][j] == playerSymbol) {
-                    // 检查水平方向
-                    if (checkDirection(board2D, i, j, 0, 1, playerSymbol)) {
-                        return true;
-                    }
-                    // 检查垂直方向
-                    if (checkDirection(board2D, i, j, 1, 0, playerSymbol)) {
-                        return true;
-                    }
-                    // 检查对角线方向（左上到右下）
-                    if (checkDirection(board2D, i, j, 1, 1, playerSymbol)) {
-                        return true;
-                    }
-                    // 检查对角线方向（右上到左下）
-                    if (checkDirection(board2D, i, j, 1, -1, playerSymbol)) {
-                        return true;
-                    }
-                }
-            }
+    public static boolean checkWinAt(String board, int x, int y) {
+        if (x < 0 || x >= BOARD_SIZE || y < 0 || y >= BOARD_SIZE) {
+            return false;
+        }
+        char playerSymbol = board.charAt(x * BOARD_SIZE + y);
+        if (playerSymbol != PLAYER1 && playerSymbol != PLAYER2) {
+            return false;
         }
-        return false;
+        return countLine(board, x, y, 0, 1, playerSymbol) >= WIN_COUNT
+                || countLine(board, x, y, 1, 0, playerSymbol) >= WIN_COUNT
+                || countLine(board, x, y, 1, 1, playerSymbol) >= WIN_COUNT
+                || countLine(board, x, y, 1, -1, playerSymbol) >= WIN_COUNT;
     }
-    
+
     /**
-     * 检查指定方向是否有5子连线
+     * 统计经过(x, y)的某条线上连续同色棋子数
      */
-    private static boolean checkDirection(char[][] board, int startX, int startY, 
-                                        int deltaX, int deltaY, char playerSymbol) {
+    private static int countLine(String board, int startX, int startY,
+                                 int deltaX, int deltaY, char playerSymbol) {
         int count = 1;
-        
-        // 向正方向检查
+
         int x = startX + deltaX;
         int y = startY + deltaY;
-        while (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE && 
-               board[x][y] == playerSymbol && count < WIN_COUNT) {
+        while (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE &&
+               board.charAt(x * BOARD_SIZE + y) == playerSymbol && count < WIN_COUNT) {
             count++;
             x += deltaX;
             y += deltaY;
         }
-        
-        // 向负方向检查
+
         x = startX - deltaX;
         y = startY - deltaY;
-        while (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE && 
-               board[x][y] == playerSymbol && count < WIN_COUNT) {
+        while (x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE &&
+               board.charAt(x * BOARD_SIZE + y) == playerSymbol && count < WIN_COUNT) {
             count++;
             x -= deltaX;
             y -= deltaY;
         }
-        
-        return count >= WIN_COUNT;
-    }
-    
-    /**
-     * 获取获胜的玩家符号，如果没有获胜者返回'-'
-     */
-    public static char getWinner(String board) {
-        if (hasWinner(board, PLAYER1)) {
-            return PLAYER1;
-        }
-        if (hasWinner(board, PLAYER2)) {
-            return PLAYER2;
-        }
-        return EMPTY;
+
+        return count;
     }
-    
+
     /**
      * 检查棋盘是否已满
      */
@@ -198,125 +169,6 @@ public class GameUtil {
         return new String(boardArray);
     }
     
-    /**
-     * 评估棋盘得分（用于AI决策）
-     * 考虑连子数量、阻挡对手、控制中心等因素
-     */
-    public static int evaluateBoard(String board, char aiSymbol, char humanSymbol) {
-        char[][] board2D = boardTo2DArray(board);
-        int score = 0;
-        
-        // 评估每个位置
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board2D[i][j] == aiSymbol) {
-                    score += evaluatePosition(board2D, i, j, aiSymbol, humanSymbol);
-                } else if (board2D[i][j] == humanSymbol) {
-                    score -= evaluatePosition(board2D, i, j, humanSymbol, aiSymbol);
-                }
-            }
-        }
-        
-        return score;
-    }
-    
-    /**
-     * 评估单个位置的得分
-     */
-    private static int evaluatePosition(char[][] board, int x, int y, char player, char opponent) {
-        int score = 0;
-        
-        // 中心位置加分
-        if (x >= 5 && x < 10 && y >= 5 && y < 10) {
-            score += 10;
-        }
-        
-        // 检查四个方向
-        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-        
-        for (int[] dir : directions) {
-            int count = 1;
-            int block = 0;
-            
-            // 正方向
-            int nx = x + dir[0];
-            int ny = y + dir[1];
-            while (nx >= 0 && nx < BOARD_SIZE && ny >= 0 && ny < BOARD_SIZE) {
-                if (board[nx][ny] == player) {
-                    count++;
-                } else if (board[nx][ny] == opponent) {
-                    block++;
-                    break;
-                } else {
-                    break;
-                }
-                nx += dir[0];
-                ny += dir[1];
-            }
-            
-            // 负方向
-            nx = x - dir[0];
-            ny = y - dir[1];
-            while (nx >= 0 && nx < BOARD_SIZE && ny >= 0 && ny < BOARD_SIZE) {
-                if (board[nx][ny] == player) {
-                    count++;
-                } else if (board[nx][ny] == opponent) {
-                    block++;
-                    break;
-                } else {
-                    break;
-                }
-                nx -= dir[0];
-                ny -= dir[1];
-            }
-            
-            // 根据连子数量和阻挡情况评分
-            if (count >= 5) {
-                score += 10000; // 获胜
-            } else if (count == 4 && block == 0) {
-                score += 1000; // 活四
-            } else if (count == 4 && block == 1) {
-                score += 100; // 冲四
-            } else if (count == 3 && block == 0) {
-                score += 50; // 活三
-            } else if (count == 3 && block == 1) {
-                score += 10; // 眠三
-            } else if (count == 2 && block == 0) {
-                score += 5; // 活二
-            } else if (count == 2 && block == 1) {
-                score += 2; // 眠二
-            }
-        }
-        
-        return score;
-    }
-    
-    /**
-     * 获取AI的最佳移动（简化版Minimax算法）
-     */
-    public static int[] getBestMove(String board, char aiSymbol, char humanSymbol) {
-        List<int[]> availablePositions = getAvailablePositions(board);
-        if (availablePositions.isEmpty()) {
-            return null;
-        }
-        
-        int bestScore = Integer.MIN_VALUE;
-        int[] bestMove = availablePositions.get(0);
-        
-        // 遍历所有可能的移动
-        for (int[] move : availablePositions) {
-            String newBoard = makeMove(board, move[0], move[1], aiSymbol);
-            int score = evaluateBoard(newBoard, aiSymbol, humanSymbol);
-            
-            if (score > bestScore) {
-                bestScore = score;
-                bestMove = move;
-            }
-        }
-        
-        return bestMove;
-    }
-    
     /**
      * 将一维棋盘转换为二维数组
      */
@@ -356,26 +208,4 @@ public class GameUtil {
     public static int coordinateToPosition(int x, int y) {
         return x * BOARD_SIZE + y;
     }
-    
-    /**
-     * 检查游戏是否结束
-     */
-    public static boolean isGameOver(String board) {
-        return hasWinner(board, PLAYER1) || hasWinner(board, PLAYER2) || isBoardFull(board);
-    }
-    
-    /**
-     * 获取游戏状态
-     */
-    public static String getGameStatus(String board) {
-        if (hasWinner(board, PLAYER1)) {
-            return "PLAYER1_WINS";
-        } else if (hasWinner(board, PLAYER2)) {
-            return "PLAYER2_WINS";
-        } else if (isBoardFull(board)) {
-            return "DRAW";
-        } else {
-            return "IN_PROGRESS";
-        }
-    }
 }
\ No newline at end of file
@@ -39,6 +39,9 @@ public class WebSocketController {
     @Autowired
     private com.skillfive.backend.service.AiService aiService;
 
+    @Autowired
+    private com.skillfive.backend.service.AiMoveDispatcher aiMoveDispatcher;
+
     /**
      * 游戏消息处理
      * 客户端发送到 /app/game/message
@@ -88,11 +91,9 @@ public class WebSocketController {
                 // 执行玩家移动
                 gameService.makeMove(gameId, userId, position);
                 
-                // 检查是否需要AI移动
+                // 检查是否需要AI移动，在AI线程池中异步执行，避免阻塞WebSocket线程
                 if (aiService.shouldAiMove(gameId)) {
-                    // 异步执行AI移动，避免阻塞WebSocket线程太久
-                    // 这里简单起见直接同步调用，因为AI计算目前比较快
-                    aiService.makeAiMove(gameId);
+                    aiMoveDispatcher.dispatch(gameId);
                 }
                 
                 return new ApiResponse<>(200, "移动成功", message);
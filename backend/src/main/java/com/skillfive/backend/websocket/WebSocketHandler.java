@@ -4,6 +4,8 @@ import com.skillfive.backend.utils.JsonUtil;
 import com.skillfive.backend.dto.SkillEffectResponse;
 import com.skillfive.backend.dto.SkillUseRequest;
 import com.skillfive.backend.controller.SkillController;
+import com.skillfive.backend.exception.BusinessException;
+import com.skillfive.backend.service.AnalysisService;
 import com.skillfive.backend.service.GameService;
 import com.skillfive.backend.entity.User;
 import com.skillfive.backend.entity.Game;
@@ -45,6 +47,9 @@ public class WebSocketHandler extends TextWebSocketHandler {
     @Autowired
     private WebSocketSessionManager webSocketSessionManager;
     
+    @Autowired
+    private AnalysisService analysisService;
+    
     // 存储会话ID与用户ID的映射
     private static final Map<String, String> SESSION_USER_MAPPING = new ConcurrentHashMap<>();
 
@@ -56,8 +61,8 @@ public class WebSocketHandler extends TextWebSocketHandler {
         String userId = getUserIdFromSession(session);
         
         if (userId != null) {
-            // 存储会话信息
-            webSocketSessionManager.addUserSession(userId, session);
+            // 存储会话信息，之后的消息都经线程安全的包装会话发送
+            session = webSocketSessionManager.addUserSession(userId, session);
             SESSION_USER_MAPPING.put(session.getId(), userId);
             
             // 发送连接成功消息
@@ -96,6 +101,9 @@ public class WebSocketHandler extends TextWebSocketHandler {
             return;
         }
         
+        // 回复经已登记的线程安全会话发送，不与其他线程的推送并发写同一连接
+        session = webSocketSessionManager.getSendSession(userId, session);
+        
         try {
             // 解析消息
             Map<String, Object> msgData = JsonUtil.fromJson(payload, Map.class);
@@ -127,6 +135,14 @@ public class WebSocketHandler extends TextWebSocketHandler {
                     // 聊天消息
                     handleChat(userId, msgData);
                     break;
+                case "analyze":
+                    // 局面分析（提示/复盘）
+                    handleAnalyze(session, userId, msgData);
+                    break;
+                case "cancel_analysis":
+                    // 取消局面分析
+                    analysisService.cancel(userId);
+                    break;
                 default:
                     logger.warn("未知消息类型 - type: {}", type);
                     sendErrorMessage(session, "未知消息类型");
@@ -148,6 +164,7 @@ public class WebSocketHandler extends TextWebSocketHandler {
         // 移除用户会话，添加null检查
         if (userId != null) {
             webSocketSessionManager.removeUserSession(userId);
+            analysisService.onDisconnect(userId);
         }
     }
 
@@ -494,6 +511,23 @@ public class WebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * 处理局面分析请求，analysis_started及之后的逐层结果由AnalysisService在分析线程上按顺序推送
+     */
+    private void handleAnalyze(WebSocketSession session, String userId, Map<String, Object> data) {
+        String boardState = (String) data.get("boardState");
+        Object player = data.get("player");
+        Object lines = data.get("lines");
+        try {
+            analysisService.start(userId, boardState,
+                    player != null && !player.toString().isEmpty() ? player.toString().charAt(0) : null,
+                    lines instanceof Number ? ((Number) lines).intValue() : null);
+        } catch (BusinessException e) {
+            logger.info("分析请求被拒绝 - userId: {}, 原因: {}", userId, e.getMessage());
+            sendErrorMessage(session, e.getMessage());
+        }
+    }
+
     /**
      * 广播消息到游戏内所有用户
      */
@@ -5,6 +5,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
 
 import java.io.IOException;
 import java.util.Map;
@@ -20,6 +22,10 @@ public class WebSocketSessionManager {
     
     private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionManager.class);
     
+    // 单条消息的最长发送时间和待发送消息的缓冲上限，超过时关闭该连接
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+    
     // 用户ID到WebSocket会话的映射
     private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
     
@@ -31,10 +37,24 @@ public class WebSocketSessionManager {
     
     /**
      * 添加用户会话
+     * 游戏广播、AI回合和分析线程会同时向同一连接推送消息，会话包装为线程安全的发送装饰器后保存
+     *
+     * @return 包装后的会话，处理器回复消息也应使用它
      */
-    public void addUserSession(String userId, WebSocketSession session) {
-        userSessions.put(userId, session);
+    public WebSocketSession addUserSession(String userId, WebSocketSession session) {
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+                SEND_BUFFER_SIZE_LIMIT);
+        userSessions.put(userId, concurrent);
         logger.info("用户 {} WebSocket会话已添加", userId);
+        return concurrent;
+    }
+    
+    /**
+     * 取得用于回复的会话：session是该用户已登记的连接时返回包装后的会话，否则返回session本身
+     */
+    public WebSocketSession getSendSession(String userId, WebSocketSession session) {
+        WebSocketSession registered = userId != null ? userSessions.get(userId) : null;
+        return registered != null && registered.getId().equals(session.getId()) ? registered : session;
     }
     
     /**
@@ -138,9 +158,9 @@ public class WebSocketSessionManager {
                 session.sendMessage(new TextMessage(message));
                 logger.debug("消息已发送给用户 {}: {}", userId, message);
                 return true;
-            } catch (IOException e) {
+            } catch (IOException | SessionLimitExceededException e) {
                 logger.error("发送消息给用户 {} 失败", userId, e);
-                userSessions.remove(userId);
+                userSessions.remove(userId, session);
                 return false;
             }
         }
@@ -175,7 +195,7 @@ public class WebSocketSessionManager {
             if (session.isOpen()) {
                 try {
                     session.sendMessage(new TextMessage(message));
-                } catch (IOException e) {
+                } catch (IOException | SessionLimitExceededException e) {
                     logger.error("广播消息给用户 {} 失败", userId, e);
                 }
             }
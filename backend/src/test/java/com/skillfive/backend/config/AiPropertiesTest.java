@@ -0,0 +1,48 @@
+package com.skillfive.backend.config;
+
+import com.skillfive.backend.service.ai.DifficultyProfile;
+import com.skillfive.backend.service.ai.DifficultyProfiles;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AiProperties测试类
+ */
+public class AiPropertiesTest {
+
+    @Test
+    public void testDefaultsMatchDifficultyProfiles() {
+        DifficultyProfiles profiles = new AiProperties().getDifficulty().toProfiles();
+        DifficultyProfiles defaults = DifficultyProfiles.defaults();
+        for (int level = 1; level <= DifficultyProfiles.TIERS.length; level++) {
+            assertEquals(defaults.get(level).toString(), profiles.get(level).toString());
+        }
+    }
+
+    @Test
+    public void testBindsPartialDifficultyOverride() {
+        AiProperties properties = bind(Map.of(
+                "ai.difficulty.hard.time-budget-ms", "3000",
+                "ai.difficulty.easy.threat-search", "true",
+                "ai.transposition-table.shallow-size-kb", "64",
+                "ai.mcts.iterations.medium", "800"));
+
+        DifficultyProfile hard = properties.getDifficulty().toProfiles().get(3);
+        assertEquals(3000, hard.getTimeBudgetMs());
+        assertEquals(DifficultyProfiles.defaults().get(3).getMaxDepth(), hard.getMaxDepth());
+        assertTrue(properties.getDifficulty().toProfiles().get(1).isThreatSearch());
+        assertEquals(64, properties.getTranspositionTable().getShallowSizeKb());
+        assertEquals(4, properties.getTranspositionTable().getSizeMb());
+        assertEquals(800, properties.getMcts().getIterations().getMedium());
+    }
+
+    private static AiProperties bind(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values)).bind("ai", AiProperties.class)
+                .orElseGet(AiProperties::new);
+    }
+}
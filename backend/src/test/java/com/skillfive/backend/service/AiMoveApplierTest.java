@@ -0,0 +1,96 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.entity.Game;
+import com.skillfive.backend.enums.GameStatus;
+import com.skillfive.backend.repository.GameRepository;
+import com.skillfive.backend.utils.GameUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AiMoveApplier测试类
+ */
+public class AiMoveApplierTest {
+
+    private GameRepository gameRepository;
+    private GameService gameService;
+    private GameRecordService gameRecordService;
+    private AiSessionManager sessionManager;
+    private AiMoveApplier applier;
+
+    @BeforeEach
+    public void setUp() {
+        gameRepository = mock(GameRepository.class);
+        when(gameRepository.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        gameService = mock(GameService.class);
+        gameRecordService = mock(GameRecordService.class);
+        sessionManager = mock(AiSessionManager.class);
+        // 不模拟思考时间，广播在当前线程完成
+        AiProperties properties = new AiProperties();
+        properties.getThinkDelay().setMinMs(0);
+        properties.getThinkDelay().setMaxMs(0);
+        applier = new AiMoveApplier(gameRepository, gameService, gameRecordService, sessionManager, properties);
+    }
+
+    @Test
+    public void testNoMoveFinishesAsDraw() {
+        Game game = createGame(GameUtil.createEmptyBoard());
+
+        Game saved = applier.apply(game, game.getBoardState(), null);
+        applier.broadcast(saved, System.currentTimeMillis());
+
+        assertEquals("draw", saved.getWinner());
+        assertEquals(GameStatus.FINISHED, saved.getStatus());
+        assertNotNull(saved.getEndTime());
+        verify(gameRecordService).recordResult(saved);
+        InOrder order = inOrder(gameService, sessionManager);
+        order.verify(gameService).broadcastGameUpdate(saved);
+        order.verify(sessionManager).evict(9L);
+    }
+
+    @Test
+    public void testWinningMoveFinishesGame() {
+        String board = GameUtil.createEmptyBoard();
+        for (int col = 3; col < 7; col++) {
+            board = GameUtil.makeMove(board, 7, col, GameUtil.PLAYER2);
+        }
+        Game game = createGame(board);
+
+        Game saved = applier.apply(game, board, new int[]{7, 7});
+        applier.broadcast(saved, System.currentTimeMillis());
+
+        assertEquals("player2", saved.getWinner());
+        assertNotNull(saved.getEndTime());
+        verify(gameRecordService).recordMove(saved, 7, 7);
+        verify(sessionManager).evict(9L);
+    }
+
+    @Test
+    public void testOrdinaryMoveSwitchesPlayer() {
+        Game game = createGame(GameUtil.createEmptyBoard());
+
+        Game saved = applier.apply(game, game.getBoardState(), new int[]{7, 7});
+        applier.broadcast(saved, System.currentTimeMillis());
+
+        assertEquals(GameStatus.IN_PROGRESS, saved.getStatus());
+        assertEquals(1, saved.getCurrentPlayer());
+        assertEquals(GameUtil.PLAYER2, saved.getBoardState().charAt(7 * GameUtil.BOARD_SIZE + 7));
+        verify(gameService).broadcastGameUpdate(saved);
+        verify(sessionManager, never()).evict(any());
+    }
+
+    private static Game createGame(String board) {
+        Game game = new Game();
+        game.setId(9L);
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setCurrentPlayer(2);
+        game.setBoardState(board);
+        return game;
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * AiMoveDispatcher测试类
+ */
+public class AiMoveDispatcherTest {
+
+    @Test
+    public void testNotifiesPlayersWhenMoveFails() {
+        AiService aiService = mock(AiService.class);
+        when(aiService.shouldAiMove(7L)).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(aiService).makeAiMove(7L);
+        WebSocketSessionManager sessions = mock(WebSocketSessionManager.class);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        try {
+            new AiMoveDispatcher(aiService, sessions, executor, new SimpleMeterRegistry()).dispatch(7L);
+            verify(sessions, timeout(2000)).sendMessageToGame(eq("7"), contains("\"type\":\"error\""));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetriesThenNotifiesWhenRejected() {
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+        WebSocketSessionManager sessions = mock(WebSocketSessionManager.class);
+
+        new AiMoveDispatcher(mock(AiService.class), sessions, executor, new SimpleMeterRegistry()).dispatch(7L);
+
+        verify(sessions, timeout(5000)).sendMessageToGame(eq("7"), contains("\"type\":\"error\""));
+        verify(executor, times(4)).execute(any(Runnable.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.service.ai.AiSession;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AiSessionManager测试类
+ */
+public class AiSessionManagerTest {
+
+    @Test
+    public void testEvictsOldestWhenFull() throws InterruptedException {
+        AiSessionManager manager = new AiSessionManager(properties(2));
+        AiSession first = manager.getOrCreate(1L);
+        Thread.sleep(5);
+        manager.getOrCreate(2L).sync("-".repeat(225));
+        manager.getOrCreate(3L);
+
+        assertEquals(2, manager.size());
+        assertNull(manager.find(1L));
+        assertNotNull(manager.find(2L));
+        assertNotSame(first, manager.getOrCreate(1L));
+    }
+
+    @Test
+    public void testDetachedSessionNotRetained() {
+        AiSessionManager manager = new AiSessionManager(properties(10));
+        AiSession session = manager.detached();
+        assertNotSame(session, manager.detached());
+        assertEquals(2, session.getDifficulty());
+        assertEquals(0, manager.size());
+
+        manager.setDefaultDifficulty(3);
+        assertEquals(3, manager.detached().getDifficulty());
+        assertEquals(0, manager.size());
+    }
+
+    @Test
+    public void testSetDifficultyPerGame() {
+        AiSessionManager manager = new AiSessionManager(properties(10));
+        manager.setDifficulty(7L, 3);
+        manager.setDifficulty(8L, 5);
+
+        assertEquals(3, manager.find(7L).getDifficulty());
+        assertNull(manager.find(8L));
+        assertEquals(2, manager.getOrCreate(9L).getDifficulty());
+    }
+
+    private static AiProperties properties(int maxSessions) {
+        AiProperties properties = new AiProperties();
+        properties.getTranspositionTable().setSizeMb(1);
+        properties.getTranspositionTable().setShallowSizeKb(16);
+        properties.getSession().setMaxSessions(maxSessions);
+        properties.getThreatSolver().setNodeLimit(1000);
+        properties.getThreatSolver().setMaxDepth(8);
+        return properties;
+    }
+}
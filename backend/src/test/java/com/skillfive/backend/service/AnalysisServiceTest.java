@@ -0,0 +1,67 @@
+package com.skillfive.backend.service;
+
+import com.skillfive.backend.config.AiProperties;
+import com.skillfive.backend.exception.BusinessException;
+import com.skillfive.backend.service.ai.SearchFeatures;
+import com.skillfive.backend.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AnalysisService测试类
+ */
+public class AnalysisServiceTest {
+
+    private static final String EMPTY_BOARD = "-".repeat(225);
+
+    private final ThreadPoolTaskExecutor executor = createExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRejectsWithinMinInterval() {
+        AnalysisService service = createService(60_000);
+        assertNotNull(service.start("1", EMPTY_BOARD, null, 1));
+        assertThrows(BusinessException.class, () -> service.start("1", EMPTY_BOARD, null, 1));
+        assertNotNull(service.start("2", EMPTY_BOARD, null, 1));
+
+        service.expireRateLimits();
+        assertEquals(2, service.rateLimitEntries());
+    }
+
+    @Test
+    public void testExpiresStaleRateLimits() throws InterruptedException {
+        AnalysisService service = createService(1);
+        service.start("1", EMPTY_BOARD, null, 1);
+        Thread.sleep(5);
+
+        service.expireRateLimits();
+        assertEquals(0, service.rateLimitEntries());
+        assertNotNull(service.start("1", EMPTY_BOARD, null, 1));
+    }
+
+    private AnalysisService createService(long minIntervalMs) {
+        AiProperties properties = new AiProperties();
+        properties.getAnalysis().setMinIntervalMs(minIntervalMs);
+        properties.getAnalysis().setMaxDepth(1);
+        properties.getAnalysis().setTableSizeMb(1);
+        return new AnalysisService(new WebSocketSessionManager(), executor, SearchFeatures.DEFAULT,
+                new SimpleMeterRegistry(), properties);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setQueueCapacity(8);
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
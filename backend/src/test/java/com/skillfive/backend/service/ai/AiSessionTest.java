@@ -0,0 +1,71 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AiSession测试类
+ */
+public class AiSessionTest {
+
+    @Test
+    public void testPredictedMoveFollowsPrincipalVariation() {
+        AiSession session = new AiSession(1L, 3, 1, 1000, 8);
+        int own = BitBoard.toPosition(7, 8);
+        int reply = BitBoard.toPosition(7, 9);
+        int next = BitBoard.toPosition(8, 8);
+        session.setPrincipalVariation(new int[]{own, reply, next}, 3);
+
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.place(own, BitBoard.WHITE);
+        session.sync(board.toBoardString());
+        // 对手尚未应对
+        assertEquals(-1, session.predictedMove());
+
+        board.place(reply, BitBoard.BLACK);
+        session.sync(board.toBoardString());
+        assertEquals(next, session.predictedMove());
+
+        // 对手走了别处
+        board.remove(reply);
+        board.place(BitBoard.toPosition(6, 6), BitBoard.BLACK);
+        session.sync(board.toBoardString());
+        assertEquals(-1, session.predictedMove());
+    }
+
+    @Test
+    public void testSyncKeepsBoardAcrossTurns() {
+        AiSession session = new AiSession(2L, 2, 1, 1000, 8);
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        SearchBoard first = session.sync(board.toBoardString());
+        board.place(BitBoard.toPosition(8, 8), BitBoard.WHITE);
+        SearchBoard second = session.sync(board.toBoardString());
+
+        assertSame(first, second);
+        assertEquals(board.getHash(), second.getHash());
+        assertEquals(2, session.getDifficulty());
+    }
+
+    @Test
+    public void testTableSizedByDifficulty() {
+        AiSession session = new AiSession(3L, 1, level -> level >= 3 ? 1024 : 16, 1000, 8);
+        assertFalse(session.hasTable());
+
+        TranspositionTable small = session.getTable();
+        assertSame(small, session.getTable());
+        assertEquals(16 * 1024 / 16, small.capacity());
+
+        session.setDifficulty(3);
+        TranspositionTable full = session.getTable();
+        assertNotSame(small, full);
+        assertEquals(1024 * 1024 / 16, full.capacity());
+
+        // 难度2与难度1的表大小相同，不必重新分配
+        session.setDifficulty(1);
+        TranspositionTable again = session.getTable();
+        session.setDifficulty(2);
+        assertSame(again, session.getTable());
+    }
+}
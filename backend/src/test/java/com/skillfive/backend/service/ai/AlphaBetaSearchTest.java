@@ -0,0 +1,64 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AlphaBetaSearch测试类
+ * 胜负分数带有距根节点的层数，经置换表复用时仍然正确
+ */
+public class AlphaBetaSearchTest {
+
+    @Test
+    public void testWinScoreCountsPlies() {
+        SearchBoard board = createBoard();
+
+        // 黑棋活四，黑棋走一步成五；白棋先走时只能堵一端，黑棋第二步成五
+        AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(1));
+        int win = search.search(board, BitBoard.BLACK, 3, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, -1);
+        assertEquals(AlphaBetaSearch.WIN_SCORE - 1, win);
+
+        search = new AlphaBetaSearch(new TranspositionTable(1));
+        int loss = search.search(board, BitBoard.WHITE, 4, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, -1);
+        assertEquals(-(AlphaBetaSearch.WIN_SCORE - 2), loss);
+        assertTrue(AlphaBetaSearch.isWinScore(win) && AlphaBetaSearch.isWinScore(loss));
+    }
+
+    @Test
+    public void testTableConvertsWinScoreBetweenPlies() {
+        SearchBoard board = createBoard();
+        // 在其他棋盘上落两子，把层数推进到2，被搜索的局面不变
+        SearchBoard filler = new SearchBoard();
+
+        AlphaBetaSearch fresh = new AlphaBetaSearch(new TranspositionTable(1));
+        fresh.make(filler, BitBoard.toPosition(0, 0), BitBoard.BLACK);
+        fresh.make(filler, BitBoard.toPosition(0, 1), BitBoard.WHITE);
+        int expected = fresh.search(board, BitBoard.BLACK, 1, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, -1);
+        assertEquals(AlphaBetaSearch.WIN_SCORE - 3, expected);
+
+        // 同一局面先在根节点搜索写入置换表，再在第2层命中，分数应换算到第2层
+        TranspositionTable table = new TranspositionTable(1);
+        new AlphaBetaSearch(table).search(board, BitBoard.BLACK, 1, -AlphaBetaSearch.INFINITY,
+                AlphaBetaSearch.INFINITY, -1);
+        filler = new SearchBoard();
+        AlphaBetaSearch search = new AlphaBetaSearch(table);
+        search.make(filler, BitBoard.toPosition(0, 0), BitBoard.BLACK);
+        search.make(filler, BitBoard.toPosition(0, 1), BitBoard.WHITE);
+        int score = search.search(board, BitBoard.BLACK, 1, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, -1);
+        assertEquals(1, search.getTtHits());
+        assertEquals(expected, score);
+    }
+
+    private static SearchBoard createBoard() {
+        SearchBoard board = new SearchBoard();
+        for (int col = 3; col < 7; col++) {
+            board.make(BitBoard.toPosition(7, col), BitBoard.BLACK);
+        }
+        board.make(BitBoard.toPosition(2, 2), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(2, 12), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(12, 2), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(12, 12), BitBoard.WHITE);
+        return board;
+    }
+}
@@ -0,0 +1,91 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.utils.GameUtil;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BitBoard测试类
+ */
+public class BitBoardTest {
+
+    @Test
+    public void testRoundTripWithBoardString() {
+        String board = GameUtil.createEmptyBoard();
+        board = GameUtil.makeMove(board, 0, 0, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER2);
+        board = GameUtil.makeMove(board, 14, 14, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 3, 11, GameUtil.PLAYER2);
+
+        BitBoard bitBoard = BitBoard.fromBoardString(board);
+        assertEquals(4, bitBoard.getStoneCount());
+        assertEquals(board, bitBoard.toBoardString());
+        assertEquals(BitBoard.BLACK, bitBoard.get(BitBoard.toPosition(14, 14)));
+        assertEquals(BitBoard.WHITE, bitBoard.get(BitBoard.toPosition(3, 11)));
+    }
+
+    @Test
+    public void testPlaceAndRemove() {
+        BitBoard bitBoard = new BitBoard();
+        int pos = BitBoard.toPosition(7, 8);
+        bitBoard.place(pos, BitBoard.WHITE);
+        assertFalse(bitBoard.isEmpty(pos));
+        assertEquals(1 << 8, bitBoard.lineBits(BitBoard.WHITE, BitBoard.DIR_ROW, 7));
+        assertEquals(1 << 7, bitBoard.lineBits(BitBoard.WHITE, BitBoard.DIR_COL, 8));
+
+        assertEquals(BitBoard.WHITE, bitBoard.remove(pos));
+        assertTrue(bitBoard.isEmpty(pos));
+        assertEquals(0, bitBoard.lineBits(BitBoard.WHITE, BitBoard.DIR_ROW, 7));
+        assertEquals(GameUtil.createEmptyBoard(), bitBoard.toBoardString());
+        assertThrows(IllegalStateException.class, () -> bitBoard.remove(pos));
+    }
+
+    @Test
+    public void testHasFiveOnAntiDiagonal() {
+        BitBoard bitBoard = new BitBoard();
+        for (int i = 0; i < 4; i++) {
+            bitBoard.place(BitBoard.toPosition(2 + i, 12 - i), BitBoard.BLACK);
+        }
+        assertFalse(bitBoard.hasFive(BitBoard.BLACK));
+        bitBoard.place(BitBoard.toPosition(6, 8), BitBoard.BLACK);
+        assertTrue(bitBoard.hasFive(BitBoard.BLACK));
+        assertFalse(bitBoard.hasFive(BitBoard.WHITE));
+    }
+
+    @Test
+    public void testCheckWinAtOnlyLooksThroughLastMove() {
+        BitBoard bitBoard = new BitBoard();
+        for (int col = 2; col < 7; col++) {
+            bitBoard.place(BitBoard.toPosition(9, col), BitBoard.WHITE);
+        }
+        bitBoard.place(BitBoard.toPosition(9, 8), BitBoard.WHITE);
+
+        assertTrue(bitBoard.checkWinAt(BitBoard.toPosition(9, 2)));
+        assertTrue(bitBoard.checkWinAt(BitBoard.toPosition(9, 6)));
+        // 同一行上但不在五连内
+        assertFalse(bitBoard.checkWinAt(BitBoard.toPosition(9, 8)));
+        assertFalse(bitBoard.checkWinAt(BitBoard.toPosition(9, 7)));
+    }
+
+    @Test
+    public void testHashIsIndependentOfMoveOrder() {
+        BitBoard first = new BitBoard();
+        first.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        first.place(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        first.place(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+
+        BitBoard second = new BitBoard();
+        second.place(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+        second.place(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        second.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(BitBoard.fromBoardString(first.toBoardString()).getHash(), first.getHash());
+
+        second.remove(BitBoard.toPosition(7, 8));
+        assertNotEquals(first.getHash(), second.getHash());
+        second.remove(BitBoard.toPosition(7, 7));
+        second.remove(BitBoard.toPosition(8, 8));
+        assertEquals(0L, second.getHash());
+    }
+}
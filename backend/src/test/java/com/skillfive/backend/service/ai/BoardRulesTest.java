@@ -0,0 +1,72 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.utils.GameUtil;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BoardRules测试类
+ */
+public class BoardRulesTest {
+
+    @Test
+    public void testHasWinnerHorizontal() {
+        String board = GameUtil.createEmptyBoard();
+        // 创建水平五连
+        board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 8, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 9, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 10, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 11, GameUtil.PLAYER1);
+        
+        assertTrue(BoardRules.hasWinner(board, GameUtil.PLAYER1));
+    }
+
+    @Test
+    public void testHasWinnerVertical() {
+        String board = GameUtil.createEmptyBoard();
+        // 创建垂直五连
+        board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 8, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 9, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 10, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 11, 7, GameUtil.PLAYER1);
+        
+        assertTrue(BoardRules.hasWinner(board, GameUtil.PLAYER1));
+    }
+
+    @Test
+    public void testHasWinnerDiagonal() {
+        String board = GameUtil.createEmptyBoard();
+        // 创建对角线五连
+        board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 8, 8, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 9, 9, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 10, 10, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 11, 11, GameUtil.PLAYER1);
+        
+        assertTrue(BoardRules.hasWinner(board, GameUtil.PLAYER1));
+    }
+
+    @Test
+    public void testNoWinner() {
+        String board = GameUtil.createEmptyBoard();
+        // 创建四连（不是五连）
+        board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 8, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 9, GameUtil.PLAYER1);
+        board = GameUtil.makeMove(board, 7, 10, GameUtil.PLAYER1);
+        
+        assertFalse(BoardRules.hasWinner(board, GameUtil.PLAYER1));
+    }
+
+    @Test
+    public void testEvaluateFavorsStrongerSide() {
+        String board = GameUtil.createEmptyBoard();
+        for (int col = 3; col < 7; col++) {
+            board = GameUtil.makeMove(board, 7, col, GameUtil.PLAYER1);
+        }
+        board = GameUtil.makeMove(board, 7, 2, GameUtil.PLAYER2);
+        assertTrue(BoardRules.evaluate(board, GameUtil.PLAYER1) > BoardRules.evaluate(board, GameUtil.PLAYER2));
+    }
+}
@@ -0,0 +1,58 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CandidateGenerator测试类
+ */
+public class CandidateGeneratorTest {
+
+    @Test
+    public void testEmptyBoardReturnsCenter() {
+        BitBoard board = new BitBoard();
+        int[] buffer = new int[BitBoard.CELLS];
+        int count = CandidateGenerator.fromBoard(board).generate(board, buffer);
+        assertEquals(1, count);
+        assertEquals(BitBoard.toPosition(7, 7), buffer[0]);
+    }
+
+    @Test
+    public void testNeighbourhoodWithinDistanceTwo() {
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        CandidateGenerator generator = CandidateGenerator.fromBoard(board);
+
+        int[] buffer = new int[BitBoard.CELLS];
+        assertEquals(24, generator.generate(board, buffer));
+
+        // 角落的棋子邻域被棋盘边界截断
+        board.place(0, BitBoard.WHITE);
+        generator.add(0);
+        assertEquals(24 + 8, generator.generate(board, buffer));
+        assertTrue(generator.isNear(BitBoard.toPosition(2, 2)));
+        assertFalse(generator.isNear(BitBoard.toPosition(3, 3)));
+    }
+
+    @Test
+    public void testIncrementalUpdateMatchesReset() {
+        BitBoard board = new BitBoard();
+        CandidateGenerator generator = new CandidateGenerator();
+        int[] moves = {112, 113, 128, 97, 14, 210};
+        for (int i = 0; i < moves.length; i++) {
+            board.place(moves[i], i % 2);
+            generator.add(moves[i]);
+        }
+        board.remove(128);
+        generator.remove(128);
+
+        int[] incremental = new int[BitBoard.CELLS];
+        int[] fresh = new int[BitBoard.CELLS];
+        int count = generator.generate(board, incremental);
+        assertEquals(CandidateGenerator.fromBoard(board).generate(board, fresh), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(fresh[i], incremental[i]);
+            assertTrue(board.isEmpty(incremental[i]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DifficultyProfile测试类
+ */
+public class DifficultyProfileTest {
+
+    @Test
+    public void testNarrowKeepsHighestBonus() {
+        DifficultyProfile profile = new DifficultyProfile(2, 3, 1000, 100, 2, 0, 1, false);
+        int[] bonus = new int[BitBoard.CELLS];
+        bonus[10] = 5;
+        bonus[20] = 50;
+        bonus[30] = 20;
+        int[] moves = {10, 20, 30};
+        assertEquals(2, profile.narrow(moves, 3, bonus));
+        assertEquals(20, moves[0]);
+        assertEquals(30, moves[1]);
+
+        // 宽度为0时不截断，只排序
+        DifficultyProfile unlimited = new DifficultyProfile(3, 8, 0, 1000, 0, 0, 4, true);
+        int[] all = {10, 20, 30};
+        assertEquals(3, unlimited.narrow(all, 3, bonus));
+        assertArrayEquals(new int[]{20, 30, 10}, all);
+    }
+
+    @Test
+    public void testInvalidProfileRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyProfile(1, 0, 1000, 100, 0, 0, 1, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyProfile(1, AlphaBetaSearch.MAX_PLY, 1000, 100, 0, 0, 1, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyProfile(1, 2, 1000, 0, 0, 0, 1, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyProfile(1, 2, -1, 100, 0, 0, 1, false));
+    }
+
+    @Test
+    public void testDefaultsOrderedByStrength() {
+        DifficultyProfiles profiles = DifficultyProfiles.defaults();
+        for (int level = 1; level <= 3; level++) {
+            assertEquals(level, profiles.get(level).getLevel());
+        }
+        assertTrue(profiles.get(1).getMaxDepth() < profiles.get(2).getMaxDepth());
+        assertTrue(profiles.get(2).getMaxDepth() < profiles.get(3).getMaxDepth());
+        assertEquals(0, profiles.get(3).getRandomness());
+        // 超出范围时取最近的一档
+        assertSame(profiles.get(1), profiles.get(0));
+        assertSame(profiles.get(3), profiles.get(7));
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalEvaluator测试类
+ */
+public class IncrementalEvaluatorTest {
+
+    @Test
+    public void testIncrementalMatchesFullEvaluation() {
+        BitBoard board = new BitBoard();
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        evaluator.reset(board);
+        Random random = new Random(42);
+        int[] placed = new int[60];
+
+        // 随机落子，每一步都与整盘评估比较
+        for (int i = 0; i < placed.length; i++) {
+            int pos;
+            do {
+                pos = BitBoard.toPosition(3 + random.nextInt(9), 3 + random.nextInt(9));
+            } while (!board.isEmpty(pos));
+            board.place(pos, i % 2);
+            evaluator.update(board, pos);
+            placed[i] = pos;
+            assertEquals(PatternTable.evaluate(board, BitBoard.BLACK), evaluator.score(BitBoard.BLACK));
+            assertEquals(PatternTable.evaluate(board, BitBoard.WHITE), evaluator.score(BitBoard.WHITE));
+        }
+
+        // 逆序提子后回到空棋盘的评估值
+        for (int i = placed.length - 1; i >= 0; i--) {
+            board.remove(placed[i]);
+            evaluator.update(board, placed[i]);
+            assertEquals(PatternTable.evaluate(board, BitBoard.BLACK), evaluator.score(BitBoard.BLACK));
+        }
+        assertEquals(0, evaluator.score(BitBoard.BLACK));
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LineScanner测试类
+ * 标量和向量实现（模块可用时）都与位棋盘的逐线检查对照
+ */
+public class LineScannerTest {
+
+    private static List<LineScanner> scanners() {
+        List<LineScanner> scanners = new ArrayList<>();
+        scanners.add(LineScanner.scalar());
+        if (LineScanner.vector() != null) {
+            scanners.add(LineScanner.vector());
+        }
+        return scanners;
+    }
+
+    @Test
+    public void testFivesInEveryDirection() {
+        int[][] starts = {{3, 10}, {10, 2}, {0, 0}, {2, 14}};
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            BitBoard board = new BitBoard();
+            for (int i = 0; i < 5; i++) {
+                int row = starts[dir][0] + i * BitBoard.DELTA_ROW[dir];
+                int col = starts[dir][1] + i * BitBoard.DELTA_COL[dir];
+                board.place(BitBoard.toPosition(row, col), BitBoard.WHITE);
+            }
+            int[] own = LineScanner.newRows();
+            int[] empty = LineScanner.newRows();
+            LineScanner.load(board, BitBoard.WHITE, own, empty);
+            for (LineScanner scanner : scanners()) {
+                assertTrue(scanner.hasFive(own), scanner.getName() + " 方向" + dir);
+            }
+        }
+    }
+
+    @Test
+    public void testFourAtEdgeIsNotFive() {
+        BitBoard board = new BitBoard();
+        // 副对角线贴着右边界只有4格连子，第5格在棋盘外
+        for (int i = 0; i < 4; i++) {
+            board.place(BitBoard.toPosition(i, 3 - i), BitBoard.BLACK);
+        }
+        int[] own = LineScanner.newRows();
+        int[] empty = LineScanner.newRows();
+        int[] points = LineScanner.newRows();
+        LineScanner.load(board, BitBoard.BLACK, own, empty);
+        for (LineScanner scanner : scanners()) {
+            assertFalse(scanner.hasFive(own));
+            scanner.fivePoints(own, empty, points);
+            // 两端延伸的(-1, 4)和(4, -1)都在棋盘外，没有成五点
+            for (int row = 0; row < LineScanner.ROWS; row++) {
+                assertEquals(0, points[row], scanner.getName() + " 第" + row + "行");
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesBitBoardOnRandomBoards() {
+        Random random = new Random(11);
+        int[] own = LineScanner.newRows();
+        int[] empty = LineScanner.newRows();
+        int[] points = LineScanner.newRows();
+        for (int round = 0; round < 300; round++) {
+            SearchBoard board = new SearchBoard();
+            int stones = 20 + random.nextInt(120);
+            for (int i = 0; i < stones; i++) {
+                int pos = random.nextInt(BitBoard.CELLS);
+                if (board.isEmpty(pos)) {
+                    board.make(pos, random.nextInt(2));
+                }
+            }
+            for (int colour = 0; colour < 2; colour++) {
+                LineScanner.load(board.getBoard(), colour, own, empty);
+                for (LineScanner scanner : scanners()) {
+                    assertEquals(board.getBoard().hasFive(colour), scanner.hasFive(own), scanner.getName());
+                    scanner.fivePoints(own, empty, points);
+                    for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+                        boolean expected = board.isEmpty(pos) && board.isWinningMove(pos, colour);
+                        boolean actual = (points[pos / BitBoard.SIZE] & (1 << (pos % BitBoard.SIZE))) != 0;
+                        assertEquals(expected, actual, scanner.getName() + " 位置" + pos);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MctsSearch测试类
+ */
+public class MctsSearchTest {
+
+    @Test
+    public void testTakesImmediateWin() {
+        BitBoard board = new BitBoard();
+        for (int col = 3; col < 7; col++) {
+            board.place(BitBoard.toPosition(7, col), BitBoard.WHITE);
+            board.place(BitBoard.toPosition(9, col), BitBoard.BLACK);
+        }
+        MctsSearch search = new MctsSearch(1.4, 20, 1, 40, 1L);
+        search.setRoot(board, BitBoard.WHITE);
+        int best = search.search(null, 1, 100, Long.MAX_VALUE);
+
+        assertTrue(best == BitBoard.toPosition(7, 2) || best == BitBoard.toPosition(7, 7));
+    }
+
+    @Test
+    public void testBlocksOpenThreeWithParallelPlayouts() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MctsSearch search = new MctsSearch(1.4, 20, 1, 40, 7L);
+            search.setRoot(createBoard(), BitBoard.WHITE);
+            int best = search.search(pool, 4, 20000, Long.MAX_VALUE);
+
+            // 黑棋(7,6)(7,7)(7,8)为活三，白棋必须堵在两端之一
+            assertTrue(best == BitBoard.toPosition(7, 5) || best == BitBoard.toPosition(7, 9));
+            assertEquals(20000, search.getIterations());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFixedSeedIsReproducible() {
+        MctsSearch first = new MctsSearch(1.4, 20, 1, 40, 42L);
+        MctsSearch second = new MctsSearch(1.4, 20, 1, 40, 42L);
+        first.setRoot(createBoard(), BitBoard.WHITE);
+        second.setRoot(createBoard(), BitBoard.WHITE);
+        int a = first.search(null, 1, 2000, Long.MAX_VALUE);
+        int b = second.search(null, 1, 2000, Long.MAX_VALUE);
+
+        assertEquals(a, b);
+        assertEquals(first.getVisits(a), second.getVisits(b));
+    }
+
+    @Test
+    public void testReusesSubtreeAfterTwoPlies() {
+        BitBoard board = createBoard();
+        MctsSearch search = new MctsSearch(1.4, 20, 1, 40, 3L);
+        search.setRoot(board, BitBoard.WHITE);
+        int aiMove = search.search(null, 1, 5000, Long.MAX_VALUE);
+
+        // AI走出搜索结果，对手按访问最多的应对落子后，新根应继承已有访问
+        board.place(aiMove, BitBoard.WHITE);
+        assertTrue(search.setRoot(board, BitBoard.BLACK));
+        int reply = search.bestMove();
+        assertTrue(search.getRootVisits() > 0);
+        board.place(reply, BitBoard.BLACK);
+        assertTrue(search.setRoot(board, BitBoard.WHITE));
+
+        // 无关局面不复用
+        assertFalse(search.setRoot(new BitBoard(), BitBoard.BLACK));
+        assertEquals(0, search.getRootVisits());
+    }
+
+    @Test
+    public void testNodeLimitBoundsTree() {
+        BitBoard board = createBoard();
+        MctsSearch search = new MctsSearch(1.4, 20, 1, 40, 3L);
+        search.setMaxNodes(300);
+        search.setRoot(board, BitBoard.WHITE);
+        int aiMove = search.search(null, 1, 5000, Long.MAX_VALUE);
+
+        // 达到上限后只模拟不展开，迭代次数不受影响
+        assertEquals(5000, search.getIterations());
+        assertTrue(search.getNodeCount() < 300 + 20);
+
+        // 树已达上限，复用的子树仍超过上限时重建
+        board.place(aiMove, BitBoard.WHITE);
+        if (search.setRoot(board, BitBoard.BLACK)) {
+            assertTrue(search.getNodeCount() < 300);
+        } else {
+            assertEquals(1, search.getNodeCount());
+        }
+
+        // 上限为1时任何子树都超过上限
+        search.setMaxNodes(1);
+        search.setRoot(createBoard(), BitBoard.WHITE);
+        search.search(null, 1, 100, Long.MAX_VALUE);
+        assertFalse(search.setRoot(createBoard(), BitBoard.WHITE));
+        assertEquals(1, search.getNodeCount());
+    }
+
+    private static BitBoard createBoard() {
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(6, 8), BitBoard.WHITE);
+        board.place(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        return board;
+    }
+}
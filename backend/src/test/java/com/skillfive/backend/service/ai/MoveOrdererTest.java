@@ -0,0 +1,33 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MoveOrderer测试类
+ */
+public class MoveOrdererTest {
+
+    @Test
+    public void testWinsBlocksKillersThenHistory() {
+        SearchBoard board = new SearchBoard();
+        // 白棋第3行四连，黑棋第10行四连
+        for (int col = 3; col < 7; col++) {
+            board.make(BitBoard.toPosition(3, col), BitBoard.WHITE);
+            board.make(BitBoard.toPosition(10, col), BitBoard.BLACK);
+        }
+        int win = BitBoard.toPosition(3, 7);
+        int block = BitBoard.toPosition(10, 7);
+        int killer = BitBoard.toPosition(7, 7);
+        int history = BitBoard.toPosition(7, 8);
+        int quiet = BitBoard.toPosition(7, 9);
+
+        MoveOrderer orderer = new MoveOrderer(4);
+        orderer.recordCutoff(BitBoard.WHITE, 1, killer, 1);
+        orderer.recordCutoff(BitBoard.WHITE, 2, history, 3);
+
+        int[] moves = {quiet, history, killer, block, win};
+        orderer.order(board, BitBoard.WHITE, 1, moves, moves.length);
+        assertArrayEquals(new int[]{win, block, killer, history, quiet}, moves);
+    }
+}
@@ -0,0 +1,118 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MultiPvSearch测试类
+ */
+public class MultiPvSearchTest {
+
+    @Test
+    public void testStreamsDeeperIterations() {
+        SearchBoard board = createBoard();
+        String before = board.getBoard().toBoardString();
+        List<MultiPvSearch.Iteration> iterations = new ArrayList<>();
+        MultiPvSearch search = new MultiPvSearch(board, BitBoard.WHITE, 3, 4, 60000, 1, iterations::add);
+        search.run();
+
+        assertEquals(4, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            MultiPvSearch.Iteration iteration = iterations.get(i);
+            assertEquals(i + 1, iteration.getDepth());
+            assertEquals(3, iteration.getLines().size());
+            for (int k = 1; k < 3; k++) {
+                assertTrue(iteration.getLines().get(k - 1).getScore() >= iteration.getLines().get(k).getScore());
+            }
+            for (MultiPvSearch.Line line : iteration.getLines()) {
+                assertEquals(line.getPos(), line.getPv()[0]);
+            }
+        }
+        // 黑棋(7,6)(7,7)(7,8)为活三，白棋必须堵在两端之一
+        int best = iterations.get(3).getLines().get(0).getPos();
+        assertTrue(best == BitBoard.toPosition(7, 5) || best == BitBoard.toPosition(7, 9));
+        assertEquals(4, search.getCompletedDepth());
+        assertEquals(AlphaBetaSearch.Limit.DEPTH, search.getLimit());
+        assertEquals(before, board.getBoard().toBoardString());
+    }
+
+    @Test
+    public void testBestLineMatchesRootSearch() {
+        SearchBoard board = createBoard();
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        AlphaBetaSearch root = new AlphaBetaSearch(new TranspositionTable(1));
+        root.setFeatures(SearchFeatures.NONE);
+        root.searchRoot(board, BitBoard.WHITE, moves, count, null, 3, Long.MAX_VALUE);
+
+        List<MultiPvSearch.Iteration> iterations = new ArrayList<>();
+        MultiPvSearch search = new MultiPvSearch(board, BitBoard.WHITE, 2, 3, 60000, 1, iterations::add);
+        search.setFeatures(SearchFeatures.NONE);
+        search.run();
+
+        assertEquals(root.getBestScore(), iterations.get(2).getLines().get(0).getScore());
+    }
+
+    @Test
+    public void testStopsAtWin() {
+        SearchBoard board = new SearchBoard();
+        for (int col = 3; col < 7; col++) {
+            board.make(BitBoard.toPosition(7, col), BitBoard.BLACK);
+            board.make(BitBoard.toPosition(0, col * 2), BitBoard.WHITE);
+        }
+        List<MultiPvSearch.Iteration> iterations = new ArrayList<>();
+        MultiPvSearch search = new MultiPvSearch(board, BitBoard.BLACK, 3, 8, 60000, 1, iterations::add);
+        search.run();
+
+        assertEquals(1, iterations.size());
+        MultiPvSearch.Line best = iterations.get(0).getLines().get(0);
+        assertEquals(AlphaBetaSearch.WIN_SCORE - 1, best.getScore());
+        assertTrue(best.getPos() == BitBoard.toPosition(7, 2) || best.getPos() == BitBoard.toPosition(7, 7));
+    }
+
+    @Test
+    public void testCancelBeforeRun() {
+        List<MultiPvSearch.Iteration> iterations = new ArrayList<>();
+        MultiPvSearch search = new MultiPvSearch(createBoard(), BitBoard.WHITE, 3, 4, 60000, 1, iterations::add);
+        search.cancel();
+        search.run();
+
+        assertTrue(search.isCancelled());
+        assertTrue(iterations.isEmpty());
+        assertEquals(AlphaBetaSearch.Limit.STOPPED, search.getLimit());
+    }
+
+    @Test
+    public void testNodeLimit() {
+        List<MultiPvSearch.Iteration> iterations = new ArrayList<>();
+        MultiPvSearch search = new MultiPvSearch(createBoard(), BitBoard.WHITE, 3, 12, 60000, 1, iterations::add);
+        search.setNodeLimit(20000);
+        search.run();
+
+        assertEquals(AlphaBetaSearch.Limit.NODES, search.getLimit());
+        assertTrue(search.getCompletedDepth() < 12);
+        assertEquals(search.getCompletedDepth(), iterations.get(iterations.size() - 1).getDepth());
+    }
+
+    @Test
+    public void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiPvSearch(createBoard(), BitBoard.WHITE, 0, 4, 1000, 1, iteration -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiPvSearch(createBoard(), BitBoard.WHITE, 3, AlphaBetaSearch.MAX_PLY, 1000, 1, iteration -> { }));
+    }
+
+    private static SearchBoard createBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        return board;
+    }
+}
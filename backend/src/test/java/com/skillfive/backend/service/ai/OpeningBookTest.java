@@ -0,0 +1,75 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OpeningBook测试类
+ */
+public class OpeningBookTest {
+
+    @Test
+    public void testSymmetricPositionsShareEntry() {
+        // 白方获胜的对局：黑天元，白斜向贴靠(6,8)
+        OpeningBookBuilder builder = new OpeningBookBuilder(4, 1);
+        builder.addGame(new int[]{BitBoard.toPosition(7, 7), BitBoard.toPosition(6, 8)}, BitBoard.WHITE);
+        OpeningBook book = builder.build();
+        assertEquals(1, book.size());
+
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        int move = book.lookup(board, BitBoard.WHITE);
+        // 天元局面的8种对称都等价，命中的应为四个斜向贴靠点之一
+        int row = move / BitBoard.SIZE;
+        int col = move % BitBoard.SIZE;
+        assertEquals(1, Math.abs(row - 7));
+        assertEquals(1, Math.abs(col - 7));
+        // 轮到黑方时不命中
+        assertEquals(-1, book.lookup(board, BitBoard.BLACK));
+    }
+
+    @Test
+    public void testLookupMapsMoveBackThroughSymmetry() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(4, 1);
+        builder.addGame(new int[]{BitBoard.toPosition(7, 7), BitBoard.toPosition(7, 8),
+                BitBoard.toPosition(8, 8)}, BitBoard.BLACK);
+        OpeningBook book = builder.build();
+
+        // 把同一局面旋转90度后查询，着法也应随之旋转：(r, c) -> (c, 14 - r)
+        BitBoard rotated = new BitBoard();
+        rotated.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        rotated.place(BitBoard.toPosition(8, 7), BitBoard.WHITE);
+        assertEquals(BitBoard.toPosition(8, 6), book.lookup(rotated, BitBoard.BLACK));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 1);
+        builder.addGame(OpeningBookBuilder.parseMoveRecords(
+                "[{\"x\":7,\"y\":7},{\"x\":6,\"y\":8},{\"x\":8,\"y\":6},{\"x\":5,\"y\":9}]"), BitBoard.WHITE);
+        OpeningBook book = builder.build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out);
+        OpeningBook loaded = OpeningBook.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(book.size(), loaded.size());
+
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        assertEquals(book.lookup(board, BitBoard.WHITE), loaded.lookup(board, BitBoard.WHITE));
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(new byte[12])));
+    }
+
+    @Test
+    public void testParseMoveRecords() {
+        assertArrayEquals(new int[]{BitBoard.toPosition(7, 7), BitBoard.toPosition(6, 8)},
+                OpeningBookBuilder.parseMoveRecords("[{\"x\":7,\"y\":7},{\"x\":6,\"y\":8}]"));
+        assertArrayEquals(new int[]{BitBoard.toPosition(7, 7)}, OpeningBookBuilder.parseMoveRecords("[[7,7]]"));
+        assertEquals(0, OpeningBookBuilder.parseMoveRecords("not json").length);
+        assertEquals(0, OpeningBookBuilder.parseMoveRecords("[{\"x\":15,\"y\":0}]").length);
+        assertEquals(0, OpeningBookBuilder.parseMoveRecords(null).length);
+    }
+}
@@ -0,0 +1,112 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelSearch测试类
+ */
+public class ParallelSearchTest {
+
+    @Test
+    public void testSingleThreadMatchesSerialSearch() {
+        SearchBoard board = createBoard();
+        int[] serialMoves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(serialMoves);
+        int[] parallelMoves = serialMoves.clone();
+
+        int serial = new AlphaBetaSearch(new TranspositionTable(1))
+                .searchRoot(board, BitBoard.WHITE, serialMoves, count, null, 3, Long.MAX_VALUE);
+        ParallelSearch search = new ParallelSearch(null, new TranspositionTable(1), 4);
+        int parallel = search.searchRoot(board, BitBoard.WHITE, parallelMoves, count, null, 3, Long.MAX_VALUE);
+
+        assertEquals(1, search.getThreads());
+        assertEquals(serial, parallel);
+        assertArrayEquals(serialMoves, parallelMoves);
+    }
+
+    @Test
+    public void testSearchCountersAggregated() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SearchBoard board = createBoard();
+            int[] moves = new int[BitBoard.CELLS];
+            int count = board.generateMoves(moves);
+            ParallelSearch search = new ParallelSearch(pool, new TranspositionTable(1), 2);
+            search.searchRoot(board, BitBoard.WHITE, moves, count, null, 3, Long.MAX_VALUE);
+
+            SearchStats stats = new SearchStats("alphabeta", 3);
+            stats.addSearch(search);
+            assertEquals(search.getNodes(), stats.getNodes());
+            assertEquals(3, stats.getDepth());
+            assertTrue(stats.getCutoffs() > 0);
+            assertTrue(stats.getTtProbes() > 0);
+            assertTrue(stats.getTtHits() <= stats.getTtProbes());
+            assertTrue(stats.getTtHitRate() >= 0 && stats.getTtHitRate() <= 1);
+            assertEquals(3, stats.toMap().get("depth"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testNodeLimitStopsSearch() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SearchBoard board = createBoard();
+            int[] moves = new int[BitBoard.CELLS];
+            int count = board.generateMoves(moves);
+            ParallelSearch search = new ParallelSearch(pool, new TranspositionTable(1), 2);
+            search.setNodeLimit(20000);
+            int best = search.searchRoot(board, BitBoard.WHITE, moves, count, null, 12, Long.MAX_VALUE);
+
+            assertTrue(board.isEmpty(best));
+            assertEquals(AlphaBetaSearch.Limit.NODES, search.getLimit());
+            assertTrue(search.getCompletedDepth() < 12);
+            // 每个线程在节点数达到份额后的下一次检查时停止
+            assertTrue(search.getNodes() <= 20000 + 2 * 1024, "nodes=" + search.getNodes());
+
+            SearchStats stats = new SearchStats("alphabeta", 3);
+            stats.addSearch(search);
+            assertEquals("NODES", stats.toMap().get("limit"));
+
+            ParallelSearch unlimited = new ParallelSearch(null, new TranspositionTable(1), 1);
+            unlimited.searchRoot(board, BitBoard.WHITE, moves, count, null, 2, Long.MAX_VALUE);
+            assertEquals(AlphaBetaSearch.Limit.DEPTH, unlimited.getLimit());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMultiThreadBlocksOpenThree() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SearchBoard board = createBoard();
+            String before = board.getBoard().toBoardString();
+            int[] moves = new int[BitBoard.CELLS];
+            int count = board.generateMoves(moves);
+
+            ParallelSearch search = new ParallelSearch(pool, new TranspositionTable(4), 4);
+            int best = search.searchRoot(board, BitBoard.WHITE, moves, count, null, 4, Long.MAX_VALUE);
+
+            // 黑棋(7,6)(7,7)(7,8)为活三，白棋必须堵在两端之一
+            assertTrue(best == BitBoard.toPosition(7, 5) || best == BitBoard.toPosition(7, 9));
+            assertEquals(4, search.getThreads());
+            assertEquals(before, board.getBoard().toBoardString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static SearchBoard createBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        return board;
+    }
+}
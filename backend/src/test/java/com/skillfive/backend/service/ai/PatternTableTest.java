@@ -0,0 +1,55 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PatternTable测试类
+ */
+public class PatternTableTest {
+
+    @Test
+    public void testOpenAndBlockedShapes() {
+        BitBoard board = new BitBoard();
+        // 第7行：_XXX_ 中心为(7,7)，活三
+        board.place(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        int key = PatternTable.keyOf(board, BitBoard.DIR_ROW, BitBoard.toPosition(7, 7));
+        assertEquals(PatternTable.OPEN_THREE, PatternTable.score(BitBoard.BLACK, key));
+        // 对白棋来说中心两侧都是对方棋子
+        assertEquals(0, PatternTable.score(BitBoard.WHITE, key));
+
+        // 一端被堵后变为眠三
+        board.place(BitBoard.toPosition(7, 5), BitBoard.WHITE);
+        key = PatternTable.keyOf(board, BitBoard.DIR_ROW, BitBoard.toPosition(7, 7));
+        assertEquals(PatternTable.THREE, PatternTable.score(BitBoard.BLACK, key));
+    }
+
+    @Test
+    public void testEdgeCountsAsBlocked() {
+        BitBoard board = new BitBoard();
+        // 第0列：XXX_ 贴着上边界，只能是冲四
+        for (int row = 0; row < 3; row++) {
+            board.place(BitBoard.toPosition(row, 0), BitBoard.WHITE);
+        }
+        int key = PatternTable.keyOf(board, BitBoard.DIR_COL, BitBoard.toPosition(3, 0));
+        assertEquals(PatternTable.FOUR, PatternTable.score(BitBoard.WHITE, key));
+
+        // 连成五子后任意一颗都查出成五
+        board.place(BitBoard.toPosition(3, 0), BitBoard.WHITE);
+        board.place(BitBoard.toPosition(4, 0), BitBoard.WHITE);
+        key = PatternTable.keyOf(board, BitBoard.DIR_COL, BitBoard.toPosition(0, 0));
+        assertEquals(PatternTable.FIVE, PatternTable.score(BitBoard.WHITE, key));
+    }
+
+    @Test
+    public void testEvaluateIsAntisymmetric() {
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(3, 3), BitBoard.WHITE);
+        int black = PatternTable.evaluate(board, BitBoard.BLACK);
+        assertTrue(black > 0);
+        assertEquals(-black, PatternTable.evaluate(board, BitBoard.WHITE));
+    }
+}
@@ -0,0 +1,72 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ponder测试类
+ */
+public class PonderTest {
+
+    private static SearchBoard predictedBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+        return board;
+    }
+
+    private static Ponder newPonder(SearchBoard board, TranspositionTable table, int maxDepth) {
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        return new Ponder(table, board, BitBoard.WHITE, moves, count, null, maxDepth, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testHitMatchesRegularSearch() {
+        SearchBoard board = predictedBoard();
+        long hash = board.getHash();
+        Ponder ponder = newPonder(board, new TranspositionTable(1), 3);
+        ponder.run();
+        ponder.stop();
+
+        SearchBoard fresh = predictedBoard();
+        int[] moves = new int[BitBoard.CELLS];
+        int count = fresh.generateMoves(moves);
+        int expected = new AlphaBetaSearch(new TranspositionTable(1))
+                .searchRoot(fresh, BitBoard.WHITE, moves, count, null, 3, Long.MAX_VALUE);
+
+        assertEquals(3, ponder.getCompletedDepth());
+        assertEquals(expected, ponder.moveFor(hash, 3));
+        // 深度不足或局面不同都不命中
+        assertEquals(-1, ponder.moveFor(hash, 4));
+        assertEquals(-1, ponder.moveFor(hash ^ 1L, 1));
+    }
+
+    @Test
+    public void testStopBeforeStartCancels() {
+        SearchBoard board = predictedBoard();
+        long hash = board.getHash();
+        Ponder ponder = newPonder(board, new TranspositionTable(1), 3);
+        ponder.stop();
+        ponder.run();
+
+        assertEquals(0, ponder.getNodes());
+        assertEquals(-1, ponder.moveFor(hash, 1));
+    }
+
+    @Test
+    public void testStopInterruptsRunningSearch() throws InterruptedException {
+        SearchBoard board = predictedBoard();
+        Ponder ponder = newPonder(board, new TranspositionTable(1), AlphaBetaSearch.MAX_PLY);
+        Thread thread = new Thread(ponder);
+        thread.start();
+        Thread.sleep(50);
+        ponder.stop();
+
+        // stop返回时搜索线程已经退出搜索
+        thread.join(1000);
+        assertFalse(thread.isAlive());
+        assertTrue(ponder.getCompletedDepth() < AlphaBetaSearch.MAX_PLY);
+    }
+}
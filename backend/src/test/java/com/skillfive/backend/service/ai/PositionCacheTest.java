@@ -0,0 +1,100 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PositionCache测试类
+ */
+public class PositionCacheTest {
+
+    private static BitBoard sampleBoard() {
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        board.place(BitBoard.toPosition(8, 9), BitBoard.BLACK);
+        return board;
+    }
+
+    /**
+     * 沿主对角线翻转（行列互换）后的同一局面
+     */
+    private static BitBoard transposed() {
+        BitBoard board = new BitBoard();
+        board.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.place(BitBoard.toPosition(8, 7), BitBoard.WHITE);
+        board.place(BitBoard.toPosition(9, 8), BitBoard.BLACK);
+        return board;
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        PositionCache cache = new PositionCache(1);
+        BitBoard board = sampleBoard();
+        cache.store(board, BitBoard.WHITE, 3, BitBoard.toPosition(6, 6), 120, 6, 50_000);
+
+        long entry = cache.probe(board, BitBoard.WHITE, 3, 4);
+        assertNotEquals(0L, entry);
+        assertEquals(BitBoard.toPosition(6, 6), PositionCache.moveOf(entry));
+        assertEquals(120, PositionCache.scoreOf(entry));
+        assertEquals(6, PositionCache.depthOf(entry));
+
+        // 行棋方、难度不同或深度不足都不命中
+        assertEquals(0L, cache.probe(board, BitBoard.BLACK, 3, 4));
+        assertEquals(0L, cache.probe(board, BitBoard.WHITE, 2, 4));
+        assertEquals(0L, cache.probe(board, BitBoard.WHITE, 3, 7));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testSymmetricPositionSharesEntry() {
+        PositionCache cache = new PositionCache(1);
+        cache.store(sampleBoard(), BitBoard.WHITE, 3, BitBoard.toPosition(6, 9), 0, 5, 1000);
+
+        long entry = cache.probe(transposed(), BitBoard.WHITE, 3, 1);
+        assertNotEquals(0L, entry);
+        assertEquals(BitBoard.toPosition(9, 6), PositionCache.moveOf(entry));
+    }
+
+    @Test
+    public void testCheapEntriesEvictedFirst() {
+        // 最小容量下塞入大量局面，昂贵的条目应留在缓存中
+        PositionCache cache = new PositionCache(1);
+        BitBoard expensive = sampleBoard();
+        cache.store(expensive, BitBoard.WHITE, 3, BitBoard.toPosition(0, 0), 0, 8, 1L << 40);
+        BitBoard board = new BitBoard();
+        for (int pos = 0; pos < BitBoard.CELLS; pos++) {
+            if (pos == BitBoard.toPosition(0, 0)) {
+                continue;
+            }
+            board.place(pos, BitBoard.BLACK);
+            for (int difficulty = 0; difficulty < 1000; difficulty++) {
+                cache.store(board, BitBoard.WHITE, difficulty, BitBoard.toPosition(0, 0), 0, 4, 10);
+            }
+        }
+        assertNotEquals(0L, cache.probe(expensive, BitBoard.WHITE, 3, 1));
+        assertTrue(cache.size() <= cache.capacity());
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        PositionCache cache = new PositionCache(1);
+        cache.store(sampleBoard(), BitBoard.WHITE, 3, BitBoard.toPosition(6, 6), -40, 5, 1000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(out);
+
+        PositionCache warmed = new PositionCache(1);
+        assertEquals(1, warmed.read(new ByteArrayInputStream(out.toByteArray())));
+        long entry = warmed.probe(sampleBoard(), BitBoard.WHITE, 3, 1);
+        assertEquals(BitBoard.toPosition(6, 6), PositionCache.moveOf(entry));
+        assertEquals(-40, PositionCache.scoreOf(entry));
+
+        assertThrows(IOException.class, () -> warmed.read(new ByteArrayInputStream(new byte[12])));
+    }
+}
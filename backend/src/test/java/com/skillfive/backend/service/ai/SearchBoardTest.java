@@ -0,0 +1,88 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchBoard测试类
+ */
+public class SearchBoardTest {
+
+    @Test
+    public void testMakeUnmakeRestoresState() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        long hash = board.getHash();
+        int score = board.evaluate(BitBoard.BLACK);
+        int[] before = new int[BitBoard.CELLS];
+        int beforeCount = board.generateMoves(before);
+
+        int pos = BitBoard.toPosition(8, 9);
+        board.make(pos, BitBoard.WHITE);
+        assertEquals(BitBoard.WHITE, board.unmake(pos));
+
+        int[] after = new int[BitBoard.CELLS];
+        assertEquals(beforeCount, board.generateMoves(after));
+        assertEquals(hash, board.getHash());
+        assertEquals(score, board.evaluate(BitBoard.BLACK));
+    }
+
+    @Test
+    public void testSyncToMatchesFreshLoad() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(3, 3), BitBoard.BLACK);
+
+        // 新增两手，同时有一子被技能移除
+        BitBoard target = new BitBoard();
+        target.place(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        target.place(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        target.place(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+        target.place(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        String state = target.toBoardString();
+        board.syncTo(state);
+        SearchBoard fresh = SearchBoard.fromBoardString(state);
+
+        assertEquals(fresh.getHash(), board.getHash());
+        assertEquals(fresh.getStoneCount(), board.getStoneCount());
+        assertEquals(fresh.evaluate(BitBoard.BLACK), board.evaluate(BitBoard.BLACK));
+        int[] expected = new int[BitBoard.CELLS];
+        int[] actual = new int[BitBoard.CELLS];
+        int count = fresh.generateMoves(expected);
+        assertEquals(count, board.generateMoves(actual));
+        Arrays.sort(expected, 0, count);
+        Arrays.sort(actual, 0, count);
+        assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(actual, count));
+    }
+
+    @Test
+    public void testSearchDoesNotAllocateAfterWarmUp() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+        TranspositionTable table = new TranspositionTable(1);
+        AlphaBetaSearch search = new AlphaBetaSearch(table);
+        int[] rootMoves = new int[BitBoard.CELLS];
+        int rootCount = board.generateMoves(rootMoves);
+
+        // 预热：完成类加载和JIT
+        search.searchRoot(board, BitBoard.WHITE, rootMoves, rootCount, null, 3, Long.MAX_VALUE);
+        table.clear();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long nodesBefore = search.getNodes();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        search.searchRoot(board, BitBoard.WHITE, rootMoves, rootCount, null, 3, Long.MAX_VALUE);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue(search.getNodes() - nodesBefore > 1000);
+        // 只允许与节点数无关的少量测量开销
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
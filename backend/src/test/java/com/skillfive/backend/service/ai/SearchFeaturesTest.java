@@ -0,0 +1,94 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchFeatures测试类
+ * 选择性搜索在相同节点预算下搜得更深，且不会裁掉必须应对的威胁
+ */
+public class SearchFeaturesTest {
+
+    @Test
+    public void testSelectiveSearchReachesDeeper() {
+        SearchBoard board = createBoard();
+        assertTrue(completedDepth(board, SearchFeatures.DEFAULT) >= completedDepth(board, SearchFeatures.NONE));
+    }
+
+    @Test
+    public void testEveryFeatureBlocksOpenThree() {
+        SearchFeatures[] variants = {
+                SearchFeatures.NONE,
+                new SearchFeatures(true, false, false, false),
+                new SearchFeatures(false, true, false, false),
+                new SearchFeatures(false, false, true, false),
+                new SearchFeatures(false, false, false, true),
+                SearchFeatures.DEFAULT,
+                SearchFeatures.ALL
+        };
+        for (SearchFeatures features : variants) {
+            SearchBoard board = createBoard();
+            String before = board.getBoard().toBoardString();
+            int[] moves = new int[BitBoard.CELLS];
+            int count = board.generateMoves(moves);
+            AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(1));
+            search.setFeatures(features);
+            int best = search.searchRoot(board, BitBoard.WHITE, moves, count, null, 4, Long.MAX_VALUE);
+
+            // 黑棋(7,6)(7,7)(7,8)为活三，白棋必须堵在两端之一
+            assertTrue(best == BitBoard.toPosition(7, 5) || best == BitBoard.toPosition(7, 9), features.toString());
+            assertEquals(before, board.getBoard().toBoardString(), features.toString());
+        }
+    }
+
+    @Test
+    public void testNullMoveDoesNotHideFour() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 4), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(7, 3), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 5), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(5, 5), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(1));
+        search.setFeatures(SearchFeatures.ALL);
+        int best = search.searchRoot(board, BitBoard.WHITE, moves, count, null, 5, Long.MAX_VALUE);
+
+        // 黑棋冲四，白棋只能堵(7,8)
+        assertEquals(BitBoard.toPosition(7, 8), best);
+    }
+
+    @Test
+    public void testPresets() {
+        assertTrue(SearchFeatures.ALL.isThreatExtensions());
+        assertFalse(SearchFeatures.DEFAULT.isThreatExtensions());
+        assertTrue(SearchFeatures.DEFAULT.isPrincipalVariation());
+        assertTrue(SearchFeatures.DEFAULT.isLateMoveReductions());
+        assertTrue(SearchFeatures.DEFAULT.isNullMove());
+        assertFalse(SearchFeatures.NONE.isNullMove());
+    }
+
+    private static int completedDepth(SearchBoard board, SearchFeatures features) {
+        int[] moves = new int[BitBoard.CELLS];
+        int count = board.generateMoves(moves);
+        AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(1));
+        search.setFeatures(features);
+        search.setNodeLimit(100000);
+        search.searchRoot(board, BitBoard.WHITE, moves, count, null, 12, Long.MAX_VALUE);
+        return search.getCompletedDepth();
+    }
+
+    private static SearchBoard createBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        return board;
+    }
+}
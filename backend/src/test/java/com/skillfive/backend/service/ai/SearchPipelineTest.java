@@ -0,0 +1,100 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchPipeline测试类
+ */
+public class SearchPipelineTest {
+
+    private static final DifficultyProfile HARD = new DifficultyProfile(3, 3, 0, 60_000, 0, 0, 1, true);
+
+    @Test
+    public void testTakesImmediateWin() {
+        SearchBoard board = new SearchBoard();
+        for (int col = 3; col < 7; col++) {
+            board.make(BitBoard.toPosition(7, col), BitBoard.BLACK);
+            board.make(BitBoard.toPosition(0, col * 2), BitBoard.WHITE);
+        }
+        SearchStats stats = new SearchStats(EngineSpec.ALPHA_BETA, 3);
+        int move = pipeline().selectMove(session(), board, HARD, BitBoard.BLACK, Long.MAX_VALUE, stats);
+
+        assertTrue(move == BitBoard.toPosition(7, 2) || move == BitBoard.toPosition(7, 7));
+        assertEquals(SearchStats.Source.HEURISTIC, stats.getSource());
+    }
+
+    @Test
+    public void testOpeningBookFromMedium() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(4, 1);
+        builder.addGame(new int[]{BitBoard.toPosition(7, 7), BitBoard.toPosition(6, 8)}, BitBoard.WHITE);
+        SearchPipeline pipeline = pipeline();
+        pipeline.setOpeningBook(builder.build(), 8);
+
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        DifficultyProfile medium = new DifficultyProfile(2, 2, 0, 60_000, 0, 0, 1, false);
+        SearchStats stats = new SearchStats(EngineSpec.ALPHA_BETA, 2);
+        int move = pipeline.selectMove(session(), board, medium, BitBoard.WHITE, Long.MAX_VALUE, stats);
+        assertEquals(SearchStats.Source.BOOK, stats.getSource());
+        // 开局库按对称局面存储，查到的是(6,8)的某个对称位置
+        assertEquals(1, Math.abs(move / BitBoard.SIZE - 7));
+        assertEquals(1, Math.abs(move % BitBoard.SIZE - 7));
+
+        DifficultyProfile easy = new DifficultyProfile(1, 1, 0, 60_000, 0, 0, 1, false);
+        SearchStats easyStats = new SearchStats(EngineSpec.ALPHA_BETA, 1);
+        pipeline.selectMove(session(), board, easy, BitBoard.WHITE, Long.MAX_VALUE, easyStats);
+        assertEquals(SearchStats.Source.SEARCH, easyStats.getSource());
+    }
+
+    @Test
+    public void testPositionCacheSharedAcrossSessions() {
+        SearchPipeline pipeline = pipeline();
+        pipeline.setPositionCache(new PositionCache(1), 2);
+        SearchBoard board = createBoard();
+        String before = board.getBoard().toBoardString();
+
+        SearchStats first = new SearchStats(EngineSpec.ALPHA_BETA, 3);
+        int searched = pipeline.selectMove(session(), board, HARD, BitBoard.WHITE, Long.MAX_VALUE, first);
+        assertEquals(SearchStats.Source.SEARCH, first.getSource());
+        assertEquals(before, board.getBoard().toBoardString());
+
+        SearchStats second = new SearchStats(EngineSpec.ALPHA_BETA, 3);
+        AiSession other = session();
+        assertEquals(searched, pipeline.selectMove(other, board, HARD, BitBoard.WHITE, Long.MAX_VALUE, second));
+        assertEquals(SearchStats.Source.CACHE, second.getSource());
+        assertEquals(searched, other.getPrincipalVariation()[0]);
+    }
+
+    @Test
+    public void testNarrowsCandidates() {
+        DifficultyProfile narrow = new DifficultyProfile(2, 1, 0, 60_000, 3, 0, 1, false);
+        SearchStats stats = new SearchStats(EngineSpec.ALPHA_BETA, 2);
+        int move = pipeline().selectMove(session(), createBoard(), narrow, BitBoard.WHITE, Long.MAX_VALUE, stats);
+
+        assertEquals(3, stats.getCandidates());
+        // 黑棋(7,6)(7,7)(7,8)为活三，白棋必须堵在两端之一
+        assertTrue(move == BitBoard.toPosition(7, 5) || move == BitBoard.toPosition(7, 9));
+    }
+
+    private static SearchPipeline pipeline() {
+        return new SearchPipeline(null, SearchFeatures.DEFAULT, new Random(1));
+    }
+
+    private static AiSession session() {
+        return new AiSession(null, 3, 1, 20000, 12);
+    }
+
+    private static SearchBoard createBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 6), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.BLACK);
+        return board;
+    }
+}
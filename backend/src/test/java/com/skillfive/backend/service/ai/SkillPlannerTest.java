@@ -0,0 +1,76 @@
+package com.skillfive.backend.service.ai;
+
+import com.skillfive.backend.enums.SkillEffectType;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SkillPlanner测试类
+ */
+public class SkillPlannerTest {
+
+    private static final Set<SkillEffectType> NONE = EnumSet.noneOf(SkillEffectType.class);
+
+    /**
+     * 白棋第7行3~6列四连，blockRight为true时第7列被黑棋挡住
+     */
+    private static SearchBoard fourInRow(boolean blockRight) {
+        SearchBoard board = new SearchBoard();
+        for (int col = 3; col <= 6; col++) {
+            board.make(BitBoard.toPosition(7, col), BitBoard.WHITE);
+        }
+        board.make(BitBoard.toPosition(7, 2), BitBoard.BLACK);
+        if (blockRight) {
+            board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        }
+        board.make(BitBoard.toPosition(10, 10), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(11, 10), BitBoard.BLACK);
+        return board;
+    }
+
+    @Test
+    public void testRemovesBlockerToWin() {
+        SearchBoard board = fourInRow(true);
+        long hash = board.getHash();
+        SkillPlanner planner = new SkillPlanner(new TranspositionTable(1), 8, 2);
+
+        SkillPlanner.Plan plan = planner.plan(board, BitBoard.WHITE, EnumSet.of(SkillEffectType.REMOVE_PIECE),
+                NONE, Long.MAX_VALUE);
+
+        assertNotNull(plan.getSkill());
+        assertEquals(SkillEffectType.REMOVE_PIECE, plan.getSkill().getType());
+        assertEquals(AlphaBetaSearch.WIN_SCORE, plan.getScore());
+        // 移除的挡子就是成五点
+        assertEquals(plan.getSkill().getFirst(), plan.getMove());
+        assertEquals(hash, board.getHash());
+    }
+
+    @Test
+    public void testPrefersNoSkillOnTie() {
+        SearchBoard board = fourInRow(false);
+        SkillPlanner planner = new SkillPlanner(new TranspositionTable(1), 8, 2);
+
+        SkillPlanner.Plan plan = planner.plan(board, BitBoard.WHITE,
+                EnumSet.of(SkillEffectType.REMOVE_PIECE, SkillEffectType.SWAP_PIECES), NONE, Long.MAX_VALUE);
+
+        assertNull(plan.getSkill());
+        assertEquals(BitBoard.toPosition(7, 7), plan.getMove());
+        assertEquals(AlphaBetaSearch.WIN_SCORE, plan.getScore());
+    }
+
+    @Test
+    public void testGenerateActionsPrunesTargets() {
+        SearchBoard board = fourInRow(true);
+        SkillPlanner planner = new SkillPlanner(new TranspositionTable(1), 2, 2);
+
+        // 黑方视角：移除2颗白棋 + 2颗白棋×2颗黑棋的交换 + 重置
+        assertEquals(2 + 4 + 1, planner.generateActions(board, BitBoard.BLACK,
+                EnumSet.of(SkillEffectType.REMOVE_PIECE, SkillEffectType.SWAP_PIECES,
+                        SkillEffectType.BOARD_RESET)).size());
+        assertTrue(planner.generateActions(board, BitBoard.BLACK, NONE).isEmpty());
+    }
+}
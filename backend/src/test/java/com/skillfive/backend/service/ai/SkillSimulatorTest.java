@@ -0,0 +1,93 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SkillSimulator测试类
+ */
+public class SkillSimulatorTest {
+
+    private static SearchBoard sampleBoard() {
+        SearchBoard board = new SearchBoard();
+        board.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(7, 8), BitBoard.WHITE);
+        board.make(BitBoard.toPosition(8, 8), BitBoard.BLACK);
+        board.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        return board;
+    }
+
+    @Test
+    public void testRemoveAndUndo() {
+        SearchBoard board = sampleBoard();
+        long hash = board.getHash();
+        int eval = board.evaluate(BitBoard.BLACK);
+        SkillSimulator simulator = new SkillSimulator();
+
+        assertTrue(simulator.apply(board, SkillAction.remove(BitBoard.toPosition(7, 7))));
+        assertTrue(board.isEmpty(BitBoard.toPosition(7, 7)));
+        assertEquals(3, board.getStoneCount());
+
+        simulator.undo(board);
+        assertEquals(BitBoard.BLACK, board.get(BitBoard.toPosition(7, 7)));
+        assertEquals(hash, board.getHash());
+        assertEquals(eval, board.evaluate(BitBoard.BLACK));
+    }
+
+    @Test
+    public void testSwapAndUndo() {
+        SearchBoard board = sampleBoard();
+        long hash = board.getHash();
+        SkillSimulator simulator = new SkillSimulator();
+        int black = BitBoard.toPosition(8, 8);
+        int white = BitBoard.toPosition(7, 8);
+
+        assertTrue(simulator.apply(board, SkillAction.swap(black, white)));
+        assertEquals(BitBoard.WHITE, board.get(black));
+        assertEquals(BitBoard.BLACK, board.get(white));
+        // 哈希和增量评估与直接摆出该局面一致
+        SearchBoard expected = new SearchBoard();
+        expected.make(BitBoard.toPosition(7, 7), BitBoard.BLACK);
+        expected.make(white, BitBoard.BLACK);
+        expected.make(black, BitBoard.WHITE);
+        expected.make(BitBoard.toPosition(6, 6), BitBoard.WHITE);
+        assertEquals(expected.getHash(), board.getHash());
+        assertEquals(expected.evaluate(BitBoard.WHITE), board.evaluate(BitBoard.WHITE));
+
+        simulator.undo(board);
+        assertEquals(hash, board.getHash());
+        assertEquals(BitBoard.BLACK, board.get(black));
+    }
+
+    @Test
+    public void testNestedResetAndUndo() {
+        SearchBoard board = sampleBoard();
+        long hash = board.getHash();
+        SkillSimulator simulator = new SkillSimulator();
+
+        assertTrue(simulator.apply(board, SkillAction.remove(BitBoard.toPosition(6, 6))));
+        assertTrue(simulator.apply(board, SkillAction.reset()));
+        assertEquals(0, board.getStoneCount());
+
+        simulator.undo(board);
+        assertEquals(3, board.getStoneCount());
+        simulator.undo(board);
+        assertEquals(hash, board.getHash());
+        assertThrows(IllegalStateException.class, () -> simulator.undo(board));
+    }
+
+    @Test
+    public void testInvalidActionsRejected() {
+        SearchBoard board = sampleBoard();
+        long hash = board.getHash();
+        SkillSimulator simulator = new SkillSimulator();
+        int stone = BitBoard.toPosition(7, 7);
+        int empty = BitBoard.toPosition(0, 0);
+
+        assertFalse(simulator.apply(board, SkillAction.remove(empty)));
+        assertFalse(simulator.apply(board, SkillAction.swap(stone, empty)));
+        assertFalse(simulator.apply(board, SkillAction.swap(stone, stone)));
+        assertEquals(hash, board.getHash());
+        assertThrows(IllegalStateException.class, () -> simulator.undo(board));
+    }
+}
@@ -0,0 +1,87 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ThreatSolver测试类
+ */
+public class ThreatSolverTest {
+
+    @Test
+    public void testVcfSequenceEndsInFive() {
+        BitBoard board = new BitBoard();
+        // 白棋两个被黑棋堵住一端的三，需要连续冲四才能取胜
+        place(board, BitBoard.WHITE, 3, 3, 4, 4, 5, 5, 6, 2, 6, 3, 6, 4);
+        place(board, BitBoard.BLACK, 2, 2, 6, 1, 10, 10, 11, 10, 12, 12, 12, 13);
+
+        int[] sequence = new ThreatSolver(20000, 12).solveVcf(board, BitBoard.WHITE);
+        assertNotNull(sequence);
+        assertEquals(1, sequence.length % 2);
+
+        // 按手顺交替落子，最后一步必须成五
+        for (int i = 0; i < sequence.length; i++) {
+            board.place(sequence[i], i % 2 == 0 ? BitBoard.WHITE : BitBoard.BLACK);
+            if (i < sequence.length - 1) {
+                assertFalse(board.checkWinAt(sequence[i]));
+            }
+        }
+        assertTrue(board.checkWinAt(sequence[sequence.length - 1]));
+    }
+
+    @Test
+    public void testVctFindsDoubleThree() {
+        BitBoard board = new BitBoard();
+        place(board, BitBoard.WHITE, 7, 6, 7, 7, 5, 8, 6, 8);
+        place(board, BitBoard.BLACK, 0, 0, 0, 14, 14, 0, 14, 14);
+
+        ThreatSolver solver = new ThreatSolver(20000, 12);
+        assertNull(solver.solveVcf(board, BitBoard.WHITE));
+        int[] sequence = solver.solveVct(board, BitBoard.WHITE);
+        assertNotNull(sequence);
+        assertEquals(BitBoard.toPosition(7, 8), sequence[0]);
+    }
+
+    @Test
+    public void testRepeatedSolveUsesProofCache() {
+        BitBoard board = new BitBoard();
+        place(board, BitBoard.WHITE, 3, 3, 4, 4, 5, 5, 6, 2, 6, 3, 6, 4);
+        place(board, BitBoard.BLACK, 2, 2, 6, 1, 10, 10, 11, 10, 12, 12, 12, 13);
+
+        // 第二次求解时根节点命中证明缓存，仍要给出完整的取胜手顺
+        ThreatSolver solver = new ThreatSolver(20000, 12);
+        int[] first = solver.solveVcf(board, BitBoard.WHITE);
+        long firstNodes = solver.getNodes();
+        int[] second = solver.solveVcf(board, BitBoard.WHITE);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertArrayEquals(first, second);
+        assertTrue(solver.getNodes() <= firstNodes);
+
+        BitBoard vctBoard = new BitBoard();
+        place(vctBoard, BitBoard.WHITE, 7, 6, 7, 7, 5, 8, 6, 8);
+        place(vctBoard, BitBoard.BLACK, 0, 0, 0, 14, 14, 0, 14, 14);
+        int[] firstVct = solver.solveVct(vctBoard, BitBoard.WHITE);
+        int[] secondVct = solver.solveVct(vctBoard, BitBoard.WHITE);
+        assertNotNull(firstVct);
+        assertArrayEquals(firstVct, secondVct);
+    }
+
+    @Test
+    public void testQuietPositionHasNoWin() {
+        BitBoard board = new BitBoard();
+        place(board, BitBoard.WHITE, 7, 7);
+        place(board, BitBoard.BLACK, 7, 8);
+
+        ThreatSolver solver = new ThreatSolver(20000, 12);
+        assertNull(solver.solveVcf(board, BitBoard.WHITE));
+        assertNull(solver.solveVct(board, BitBoard.WHITE));
+        assertFalse(solver.isExhausted());
+    }
+
+    private static void place(BitBoard board, int colour, int... coords) {
+        for (int i = 0; i < coords.length; i += 2) {
+            board.place(BitBoard.toPosition(coords[i], coords[i + 1]), colour);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tournament测试类
+ */
+public class TournamentTest {
+
+    // 只受深度限制的串行引擎，结果与机器速度无关
+    private static final EngineSpec SHALLOW = EngineSpec.parse("alphabeta:depth=1,threats=false,tt=1");
+    private static final EngineSpec DEEPER = EngineSpec.parse("alphabeta:depth=2,threats=false,tt=1");
+
+    private static Tournament tournament(int games, long seed) {
+        return new Tournament(DEEPER, SHALLOW, games, 60_000, 2, seed, 2, null);
+    }
+
+    @Test
+    public void testResultTotals() throws InterruptedException {
+        TournamentResult result = tournament(4, 7).run();
+
+        assertEquals(4, result.getGames());
+        assertEquals(4, result.getWins() + result.getDraws() + result.getLosses());
+        assertTrue(result.getScore() >= 0 && result.getScore() <= 1);
+        assertTrue(result.getConfidence95() >= 0);
+        assertTrue(result.getMoves(TournamentResult.FIRST) > 0);
+        assertTrue(result.getMoves(TournamentResult.SECOND) > 0);
+        assertTrue(result.getP99ThinkMs(TournamentResult.FIRST) >= result.getAverageThinkMs(TournamentResult.FIRST)
+                || result.getMoves(TournamentResult.FIRST) < 2);
+        assertNotNull(result.toString());
+    }
+
+    @Test
+    public void testSameSeedIsReproducible() {
+        Tournament tournament = tournament(2, 3);
+        for (int index = 0; index < 2; index++) {
+            TournamentResult.GameResult a = tournament.playGame(index);
+            TournamentResult.GameResult b = tournament(2, 3).playGame(index);
+            assertEquals(a.outcome, b.outcome);
+            assertEquals(a.plies, b.plies);
+        }
+    }
+
+    @Test
+    public void testEngineSpecParsing() {
+        EngineSpec spec = EngineSpec.parse(" MCTS:iterations=500, threads=2 ");
+        assertEquals(EngineSpec.MCTS, spec.getEngine());
+        assertEquals(2, spec.getThreads());
+        assertEquals(EngineSpec.ALPHA_BETA, EngineSpec.parse("alphabeta").getEngine());
+
+        assertThrows(IllegalArgumentException.class, () -> EngineSpec.parse("minimax"));
+        assertThrows(IllegalArgumentException.class, () -> EngineSpec.parse("alphabeta:depth"));
+        assertThrows(IllegalArgumentException.class, () -> EngineSpec.parse("alphabeta:depth=deep"));
+        assertThrows(IllegalArgumentException.class, () -> EngineSpec.parse("mcts:speed=1"));
+        assertThrows(IllegalArgumentException.class, () -> EngineSpec.parse("alphabeta:width=wide"));
+        assertEquals(EngineSpec.ALPHA_BETA, EngineSpec.parse("alphabeta:width=10,noise=20,book=true").getEngine());
+    }
+}
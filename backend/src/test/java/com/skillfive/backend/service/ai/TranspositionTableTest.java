@@ -0,0 +1,50 @@
+package com.skillfive.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TranspositionTable测试类
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(0L, table.probe(key));
+
+        table.store(key, 4, TranspositionTable.LOWER, -321, 112);
+        long entry = table.probe(key);
+        assertNotEquals(0L, entry);
+        assertEquals(-321, TranspositionTable.scoreOf(entry));
+        assertEquals(4, TranspositionTable.depthOf(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.flagOf(entry));
+        assertEquals(112, TranspositionTable.moveOf(entry));
+
+        // 不同局面落在同一槽位时校验失败
+        assertEquals(0L, table.probe(key + table.capacity()));
+    }
+
+    @Test
+    public void testDepthPreferredReplacement() {
+        TranspositionTable table = new TranspositionTable(1);
+        long deep = 42L;
+        long shallow = 42L + table.capacity(); // 同一槽位的另一个局面
+
+        table.store(deep, 6, TranspositionTable.EXACT, 10, 1);
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, 2);
+        assertNotEquals(0L, table.probe(deep));
+        assertEquals(0L, table.probe(shallow));
+
+        // 新一轮搜索后旧条目可以被替换
+        table.newSearch();
+        table.store(shallow, 2, TranspositionTable.EXACT, 20, 2);
+        assertEquals(0L, table.probe(deep));
+        assertEquals(20, TranspositionTable.scoreOf(table.probe(shallow)));
+
+        // 没有最佳着法时读回-1
+        table.store(7L, 1, TranspositionTable.UPPER, 0, -1);
+        assertEquals(-1, TranspositionTable.moveOf(table.probe(7L)));
+    }
+}
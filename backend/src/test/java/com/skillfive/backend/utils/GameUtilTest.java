@@ -26,7 +26,27 @@ public class GameUtilTest {
     }
 
     @Test
-    public void testHasWinnerHorizontal() {
+    public void testCheckWinAt() {
+        String board = GameUtil.createEmptyBoard();
+        // 创建反对角线五连
+        board = GameUtil.makeMove(board, 3, 10, GameUtil.PLAYER2);
+        board = GameUtil.makeMove(board, 4, 9, GameUtil.PLAYER2);
+        board = GameUtil.makeMove(board, 5, 8, GameUtil.PLAYER2);
+        board = GameUtil.makeMove(board, 6, 7, GameUtil.PLAYER2);
+        assertFalse(GameUtil.checkWinAt(board, 6, 7));
+
+        board = GameUtil.makeMove(board, 7, 6, GameUtil.PLAYER2);
+        assertTrue(GameUtil.checkWinAt(board, 7, 6));
+        assertTrue(GameUtil.checkWinAt(board, 5, 8));
+
+        // 不经过五连的棋子和空位都不算获胜
+        board = GameUtil.makeMove(board, 0, 0, GameUtil.PLAYER2);
+        assertFalse(GameUtil.checkWinAt(board, 0, 0));
+        assertFalse(GameUtil.checkWinAt(board, 7, 7));
+    }
+
+    @Test
+    public void testCheckWinAtHorizontal() {
         String board = GameUtil.createEmptyBoard();
         // 创建水平五连
         board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
@@ -34,13 +54,15 @@ public class GameUtilTest {
         board = GameUtil.makeMove(board, 7, 9, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 7, 10, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 7, 11, GameUtil.PLAYER1);
-        
-        assertTrue(GameUtil.hasWinner(board, GameUtil.PLAYER1));
-        assertEquals(GameUtil.PLAYER1, GameUtil.getWinner(board));
+
+        // 五连上的任意一子都能判定获胜
+        for (int col = 7; col <= 11; col++) {
+            assertTrue(GameUtil.checkWinAt(board, 7, col));
+        }
     }
 
     @Test
-    public void testHasWinnerVertical() {
+    public void testCheckWinAtVertical() {
         String board = GameUtil.createEmptyBoard();
         // 创建垂直五连
         board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
@@ -48,13 +70,13 @@ public class GameUtilTest {
         board = GameUtil.makeMove(board, 9, 7, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 10, 7, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 11, 7, GameUtil.PLAYER1);
-        
-        assertTrue(GameUtil.hasWinner(board, GameUtil.PLAYER1));
-        assertEquals(GameUtil.PLAYER1, GameUtil.getWinner(board));
+
+        assertTrue(GameUtil.checkWinAt(board, 11, 7));
+        assertTrue(GameUtil.checkWinAt(board, 9, 7));
     }
 
     @Test
-    public void testHasWinnerDiagonal() {
+    public void testCheckWinAtDiagonal() {
         String board = GameUtil.createEmptyBoard();
         // 创建对角线五连
         board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
@@ -62,22 +84,70 @@ public class GameUtilTest {
         board = GameUtil.makeMove(board, 9, 9, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 10, 10, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 11, 11, GameUtil.PLAYER1);
-        
-        assertTrue(GameUtil.hasWinner(board, GameUtil.PLAYER1));
-        assertEquals(GameUtil.PLAYER1, GameUtil.getWinner(board));
+
+        assertTrue(GameUtil.checkWinAt(board, 7, 7));
+        assertTrue(GameUtil.checkWinAt(board, 11, 11));
     }
 
     @Test
-    public void testNoWinner() {
+    public void testCheckWinAtNoWinner() {
         String board = GameUtil.createEmptyBoard();
         // 创建四连（不是五连）
         board = GameUtil.makeMove(board, 7, 7, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 7, 8, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 7, 9, GameUtil.PLAYER1);
         board = GameUtil.makeMove(board, 7, 10, GameUtil.PLAYER1);
-        
-        assertFalse(GameUtil.hasWinner(board, GameUtil.PLAYER1));
-        assertEquals(GameUtil.EMPTY, GameUtil.getWinner(board));
+        assertFalse(GameUtil.checkWinAt(board, 7, 10));
+
+        // 隔着对方棋子的同色棋子不连成五
+        board = GameUtil.makeMove(board, 7, 11, GameUtil.PLAYER2);
+        board = GameUtil.makeMove(board, 7, 12, GameUtil.PLAYER1);
+        assertFalse(GameUtil.checkWinAt(board, 7, 12));
+        assertFalse(GameUtil.checkWinAt(board, 7, 11));
+    }
+
+    @Test
+    public void testCheckWinAtEdgesAndCorners() {
+        String board = GameUtil.createEmptyBoard();
+        // 右边缘垂直五连，最后一子落在右下角
+        for (int row = 10; row < 15; row++) {
+            board = GameUtil.makeMove(board, row, 14, GameUtil.PLAYER1);
+        }
+        assertTrue(GameUtil.checkWinAt(board, 14, 14));
+
+        // 从左上角出发的对角线五连
+        for (int i = 0; i < 5; i++) {
+            board = GameUtil.makeMove(board, i, i, GameUtil.PLAYER2);
+        }
+        assertTrue(GameUtil.checkWinAt(board, 0, 0));
+
+        // 从右上角出发的反对角线五连
+        for (int i = 0; i < 5; i++) {
+            board = GameUtil.makeMove(board, i, 14 - i, GameUtil.PLAYER2);
+        }
+        assertTrue(GameUtil.checkWinAt(board, 0, 14));
+
+        // 顶边只有四子，不能越界补足
+        for (int col = 6; col < 10; col++) {
+            board = GameUtil.makeMove(board, 0, col, GameUtil.PLAYER1);
+        }
+        assertFalse(GameUtil.checkWinAt(board, 0, 9));
+
+        // 棋盘外的坐标不算获胜
+        assertFalse(GameUtil.checkWinAt(board, -1, 0));
+        assertFalse(GameUtil.checkWinAt(board, 0, 15));
+    }
+
+    @Test
+    public void testCheckWinAtSixInARow() {
+        String board = GameUtil.createEmptyBoard();
+        // 长连（六子）也算获胜，落子在中间或两端都一样
+        for (int col = 2; col < 8; col++) {
+            board = GameUtil.makeMove(board, 4, col, GameUtil.PLAYER2);
+        }
+        assertTrue(GameUtil.checkWinAt(board, 4, 2));
+        assertTrue(GameUtil.checkWinAt(board, 4, 5));
+        assertTrue(GameUtil.checkWinAt(board, 4, 7));
     }
 
     @Test
@@ -93,17 +163,6 @@ public class GameUtilTest {
         assertTrue(GameUtil.isBoardFull(fullBoard.toString()));
     }
 
-    @Test
-    public void testGetBestMove() {
-        String board = GameUtil.createEmptyBoard();
-        int[] bestMove = GameUtil.getBestMove(board, GameUtil.PLAYER1, GameUtil.PLAYER2);
-        
-        assertNotNull(bestMove);
-        assertEquals(2, bestMove.length);
-        assertTrue(bestMove[0] >= 0 && bestMove[0] < 15);
-        assertTrue(bestMove[1] >= 0 && bestMove[1] < 15);
-    }
-
     @Test
     public void testPositionConversion() {
         int position = 120; // 第120个位置
@@ -0,0 +1,124 @@
+package com.skillfive.backend.service.ai;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * 连线扫描的Vector API实现
+ * 每条通道处理一行，一次加载连续LANES行；第r+k行的对齐就是从偏移r+k处加载再整体移位。
+ * 只能经LineScanner反射创建，运行时缺少jdk.incubator.vector模块时加载失败并退回标量实现
+ */
+final class VectorLineScanner extends LineScanner {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    VectorLineScanner() {
+        // 少于4条通道时没有并行收益；超过16条通道时最后一段加载会越过ROWS
+        if (LANES < 4 || LANES > 16) {
+            throw new IllegalStateException("不支持的向量长度: " + LANES);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector-" + LANES;
+    }
+
+    @Override
+    public boolean hasFive(int[] rows) {
+        for (int r = 0; r < SIZE; r += LANES) {
+            IntVector h = IntVector.fromArray(SPECIES, rows, r);
+            IntVector a = IntVector.fromArray(SPECIES, rows, r + 1);
+            IntVector b = IntVector.fromArray(SPECIES, rows, r + 2);
+            IntVector c = IntVector.fromArray(SPECIES, rows, r + 3);
+            IntVector d = IntVector.fromArray(SPECIES, rows, r + 4);
+            IntVector horizontal = h.and(shr(h, 1)).and(shr(h, 2)).and(shr(h, 3)).and(shr(h, 4));
+            IntVector vertical = h.and(a).and(b).and(c).and(d);
+            IntVector diag = h.and(shr(a, 1)).and(shr(b, 2)).and(shr(c, 3)).and(shr(d, 4));
+            IntVector anti = h.and(shl(a, 1)).and(shl(b, 2)).and(shl(c, 3)).and(shl(d, 4));
+            if (horizontal.or(vertical).or(diag).or(anti).compare(VectorOperators.NE, 0).anyTrue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void fivePoints(int[] own, int[] empty, int[] out) {
+        Arrays.fill(out, 0);
+        for (int r = 0; r < SIZE; r += LANES) {
+            IntVector o0 = IntVector.fromArray(SPECIES, own, r);
+            IntVector o1 = IntVector.fromArray(SPECIES, own, r + 1);
+            IntVector o2 = IntVector.fromArray(SPECIES, own, r + 2);
+            IntVector o3 = IntVector.fromArray(SPECIES, own, r + 3);
+            IntVector o4 = IntVector.fromArray(SPECIES, own, r + 4);
+            IntVector e0 = IntVector.fromArray(SPECIES, empty, r);
+            IntVector e1 = IntVector.fromArray(SPECIES, empty, r + 1);
+            IntVector e2 = IntVector.fromArray(SPECIES, empty, r + 2);
+            IntVector e3 = IntVector.fromArray(SPECIES, empty, r + 3);
+            IntVector e4 = IntVector.fromArray(SPECIES, empty, r + 4);
+
+            // 水平：同一行移位对齐，空位移回原列后都落在第r行
+            IntVector h1 = shr(o0, 1);
+            IntVector h2 = shr(o0, 2);
+            IntVector h3 = shr(o0, 3);
+            IntVector h4 = shr(o0, 4);
+            IntVector row = window(h1, h2, h3, h4, e0)
+                    .or(shl(window(o0, h2, h3, h4, shr(e0, 1)), 1))
+                    .or(shl(window(o0, h1, h3, h4, shr(e0, 2)), 2))
+                    .or(shl(window(o0, h1, h2, h4, shr(e0, 3)), 3))
+                    .or(shl(window(o0, h1, h2, h3, shr(e0, 4)), 4));
+
+            // 主对角线和副对角线：第r+k行右移/左移k位对齐
+            IntVector d1 = shr(o1, 1);
+            IntVector d2 = shr(o2, 2);
+            IntVector d3 = shr(o3, 3);
+            IntVector d4 = shr(o4, 4);
+            IntVector a1 = shl(o1, 1);
+            IntVector a2 = shl(o2, 2);
+            IntVector a3 = shl(o3, 3);
+            IntVector a4 = shl(o4, 4);
+
+            // 空位在窗口第j格时落在第r+j行
+            merge(out, r, row
+                    .or(window(o1, o2, o3, o4, e0))
+                    .or(window(d1, d2, d3, d4, e0))
+                    .or(window(a1, a2, a3, a4, e0)));
+            merge(out, r + 1, window(o0, o2, o3, o4, e1)
+                    .or(shl(window(o0, d2, d3, d4, shr(e1, 1)), 1))
+                    .or(shr(window(o0, a2, a3, a4, shl(e1, 1)), 1)));
+            merge(out, r + 2, window(o0, o1, o3, o4, e2)
+                    .or(shl(window(o0, d1, d3, d4, shr(e2, 2)), 2))
+                    .or(shr(window(o0, a1, a3, a4, shl(e2, 2)), 2)));
+            merge(out, r + 3, window(o0, o1, o2, o4, e3)
+                    .or(shl(window(o0, d1, d2, d4, shr(e3, 3)), 3))
+                    .or(shr(window(o0, a1, a2, a4, shl(e3, 3)), 3)));
+            merge(out, r + 4, window(o0, o1, o2, o3, e4)
+                    .or(shl(window(o0, d1, d2, d3, shr(e4, 4)), 4))
+                    .or(shr(window(o0, a1, a2, a3, shl(e4, 4)), 4)));
+        }
+    }
+
+    /**
+     * 4颗己方棋子加1个空位的窗口起点
+     */
+    private static IntVector window(IntVector a, IntVector b, IntVector c, IntVector d, IntVector hole) {
+        return hole.and(a).and(b).and(c).and(d);
+    }
+
+    private static IntVector shr(IntVector v, int bits) {
+        return v.lanewise(VectorOperators.LSHR, bits);
+    }
+
+    private static IntVector shl(IntVector v, int bits) {
+        return v.lanewise(VectorOperators.LSHL, bits);
+    }
+
+    private static void merge(int[] out, int offset, IntVector bits) {
+        IntVector.fromArray(SPECIES, out, offset).or(bits).intoArray(out, offset);
+    }
+}
@@ -130,8 +130,8 @@ export const gameAPI = {
   makeAiMove: (gameId) => 
     api.post('/game/ai-move', { gameId }),
   
-  setAiDifficulty: (difficulty) => 
-    api.post('/game/ai-difficulty', { difficulty })
+  setAiDifficulty: (gameId, difficulty) => 
+    api.post('/game/ai-difficulty', { gameId, difficulty })
 };
 
 // 技能相关API